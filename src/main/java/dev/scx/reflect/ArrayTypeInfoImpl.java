@@ -30,6 +30,14 @@ final class ArrayTypeInfoImpl implements ArrayTypeInfo {
         this.hashCode = this._hashCode();
     }
 
+    ArrayTypeInfoImpl(TypeInfo componentType) {
+        // 程序化构建 (见 TypeFactory.typeOfArray)
+        this.componentType = componentType;
+        this.rawClass = this.componentType.rawClass().arrayType();
+        // 缓存 hashCode
+        this.hashCode = this._hashCode();
+    }
+
     @Override
     public Class<?> rawClass() {
         return rawClass;
@@ -52,6 +60,16 @@ final class ArrayTypeInfoImpl implements ArrayTypeInfo {
     }
 
     private int _hashCode() {
+        return hashCode(componentType);
+    }
+
+    /// 与 [#equals(Object)] 一致, 但无需先创建 ArrayTypeInfoImpl.
+    public boolean equals(TypeInfo componentType) {
+        return this.componentType.equals(componentType);
+    }
+
+    /// 与 [#hashCode()] 一致, 但无需先创建 ArrayTypeInfoImpl.
+    public static int hashCode(TypeInfo componentType) {
         var result = ArrayTypeInfoImpl.class.hashCode();
         result = 31 * result + componentType.hashCode();
         return result;
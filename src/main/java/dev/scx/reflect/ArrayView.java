@@ -0,0 +1,38 @@
+package dev.scx.reflect;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/// 数组的只读 List 视图, 不会复制数组.
+///
+/// 仅用于包装 ClassInfo, ExecutableInfo 内部缓存的 (不可变的) 成员数组.
+///
+/// @author scx567888
+/// @version 0.0.1
+final class ArrayView<E> extends AbstractList<E> implements RandomAccess {
+
+    private final E[] array;
+
+    ArrayView(E[] array) {
+        this.array = array;
+    }
+
+    @Override
+    public E get(int index) {
+        return array[index];
+    }
+
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        for (var e : array) {
+            action.accept(e);
+        }
+    }
+
+}
@@ -1,6 +1,9 @@
 package dev.scx.reflect;
 
 import java.lang.reflect.AnnotatedElement;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static dev.scx.reflect.ClassKind.ENUM;
 
@@ -50,6 +53,34 @@ public sealed interface ClassInfo extends TypeInfo, AccessModifierOwner, Annotat
 
     RecordComponentInfo[] recordComponents();
 
+    // ************** 免复制的成员访问 ********************
+    // 上面返回数组的方法每次都会复制一份, 以下方法直接访问内部缓存的成员, 适合在热路径中使用.
+
+    /// 等同于 `fields().length`.
+    int fieldCount();
+
+    /// 等同于 `fields()[index]`.
+    FieldInfo field(int index);
+
+    /// 等同于 `methods().length`.
+    int methodCount();
+
+    /// 等同于 `methods()[index]`.
+    MethodInfo method(int index);
+
+    /// [#interfaces()] 的只读视图.
+    List<ClassInfo> interfaceList();
+
+    /// [#fields()] 的只读视图.
+    List<FieldInfo> fieldList();
+
+    /// [#methods()] 的只读视图.
+    List<MethodInfo> methodList();
+
+    void forEachField(Consumer<? super FieldInfo> action);
+
+    void forEachMethod(Consumer<? super MethodInfo> action);
+
     // ************* 辅助方法 **************
 
     /// 类在声明链中可见的全部类型绑定.
@@ -67,6 +98,49 @@ public sealed interface ClassInfo extends TypeInfo, AccessModifierOwner, Annotat
     /// 类及其继承体系中未被 Override 的全部方法.
     MethodInfo[] allMethods();
 
+    /// [#allFields()] 的只读视图.
+    List<FieldInfo> allFieldList();
+
+    /// [#allMethods()] 的只读视图.
+    List<MethodInfo> allMethodList();
+
+    /// 与 [#allSuperClasses()] 顺序相同, 但沿 superClass 逐级惰性遍历.
+    Stream<ClassInfo> allSuperClassStream();
+
+    /// 与 [#allInterfaces()] 顺序相同, 不复制数组.
+    Stream<ClassInfo> allInterfaceStream();
+
+    /// 与 [#allFields()] 顺序相同, 不复制数组.
+    Stream<FieldInfo> allFieldStream();
+
+    /// 与 [#allMethods()] 顺序相同, 不复制数组.
+    Stream<MethodInfo> allMethodStream();
+
+    // ************* 按名称查找 **************
+    // 基于首次调用时构建的哈希索引, 之后的查找不分配对象 (可变参数数组除外).
+
+    /// 按名称查找字段, 范围同 [#allFields()], 不存在时返回 null.
+    /// 同名字段 (字段隐藏) 时, 返回声明类型在继承体系中最近的字段: 当前类 > 父类 (由近及远) > 接口.
+    FieldInfo findField(String name);
+
+    /// 按名称查找方法, 范围及顺序同 [#allMethods()], 不存在时返回空列表.
+    List<MethodInfo> findMethods(String name);
+
+    /// 按名称和参数类型查找方法, 范围同 [#allMethods()], 不存在时返回 null.
+    /// 参数类型与 [MethodSignature] 一致, 为解析泛型之后的原始类型 (例如 `List<String>` 的 `add(E)` 需要以 `String.class` 查找).
+    MethodInfo findMethod(String name, Class<?>... parameterTypes);
+
+    /// 按方法签名查找当前类型实际生效的实例方法 (即调用时分派到的方法), 范围同 [#allMethods()], 不存在时返回 null.
+    /// 例如以接口方法的签名查找实现类中的实现. 注意签名中的参数类型是解析泛型之后的,
+    /// 泛型接口应使用 `findSuperType(接口)` 得到的参数化视图中的方法签名.
+    ///
+    /// allMethods 中同一签名存在多个方法时 (例如多个接口的抽象方法), 按以下顺序选择:
+    /// 当前类声明的方法 > 父类中 (由近及远) 可继承的方法 > 接口的 default 方法 > 接口的抽象方法.
+    MethodInfo resolveMethod(MethodSignature signature);
+
+    /// 按参数类型查找构造函数, 范围同 [#constructors()], 不存在时返回 null. 参数类型的规则同 [#findMethod(String, Class\[\])].
+    ConstructorInfo findConstructor(Class<?>... parameterTypes);
+
     /// 无参 构造函数, 可能为空.
     ConstructorInfo defaultConstructor();
 
@@ -81,28 +155,9 @@ public sealed interface ClassInfo extends TypeInfo, AccessModifierOwner, Annotat
         return isAnonymousClass() ? superClass() : this;
     }
 
-    /// 在当前类型的继承体系中查找指定 raw type 对应的 ClassInfo.
-    default ClassInfo findSuperType(Class<?> rawTarget) {
-        if (rawTarget == rawClass()) {
-            return this;
-        }
-
-        if (rawTarget.isInterface()) {
-            for (var i : allInterfaces()) {
-                if (i.rawClass() == rawTarget) {
-                    return i;
-                }
-            }
-            return null;
-        }
-
-        for (var c : allSuperClasses()) {
-            if (c.rawClass() == rawTarget) {
-                return c;
-            }
-        }
-        return null;
-    }
+    /// 在当前类型的继承体系中查找指定 raw type 对应的 ClassInfo (包括当前类型自身), 不存在时返回 null.
+    /// 基于首次调用时构建的索引, 之后的查找不分配对象.
+    ClassInfo findSuperType(Class<?> rawTarget);
 
     @Override
     default boolean isRaw() {
@@ -1,13 +1,18 @@
 package dev.scx.reflect;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.TypeVariable;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static dev.scx.reflect.ReflectSupport.*;
 import static dev.scx.reflect.TypeBindingsImpl.EMPTY_BINDINGS;
-import static java.lang.reflect.AccessFlag.*;
+import static dev.scx.reflect.WarmupRecorder.*;
 
 /// ClassInfoImpl
 ///
@@ -15,31 +20,64 @@ import static java.lang.reflect.AccessFlag.*;
 /// @version 0.0.1
 final class ClassInfoImpl implements ClassInfo {
 
+    // 可能为 null 的延迟成员 (superClass, defaultConstructor, recordConstructor) 使用 NULL 表示 "已加载, 但不存在"
+    private static final Object NULL = new Object();
+
+    // 延迟成员的 VarHandle, 见 publish
+    private static final VarHandle SUPER_CLASS_HANDLE;
+    private static final VarHandle INTERFACES_HANDLE;
+    private static final VarHandle CONSTRUCTORS_HANDLE;
+    private static final VarHandle FIELDS_HANDLE;
+    private static final VarHandle METHODS_HANDLE;
+    private static final VarHandle RECORD_COMPONENTS_HANDLE;
+    private static final VarHandle ALL_SUPER_CLASSES_HANDLE;
+    private static final VarHandle ALL_INTERFACES_HANDLE;
+    private static final VarHandle ALL_FIELDS_HANDLE;
+    private static final VarHandle ALL_METHODS_HANDLE;
+    private static final VarHandle DEFAULT_CONSTRUCTOR_HANDLE;
+    private static final VarHandle RECORD_CONSTRUCTOR_HANDLE;
+    private static final VarHandle FIELD_INDEX_HANDLE;
+    private static final VarHandle METHOD_INDEX_HANDLE;
+    private static final VarHandle METHOD_TABLE_HANDLE;
+    private static final VarHandle SUPER_TYPE_INDEX_HANDLE;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+            SUPER_CLASS_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "superClass", Object.class);
+            INTERFACES_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "interfaces", ClassInfo[].class);
+            CONSTRUCTORS_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "constructors", ConstructorInfo[].class);
+            FIELDS_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "fields", FieldInfo[].class);
+            METHODS_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "methods", MethodInfo[].class);
+            RECORD_COMPONENTS_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "recordComponents", RecordComponentInfo[].class);
+            ALL_SUPER_CLASSES_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "allSuperClasses", ClassInfo[].class);
+            ALL_INTERFACES_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "allInterfaces", ClassInfo[].class);
+            ALL_FIELDS_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "allFields", FieldInfo[].class);
+            ALL_METHODS_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "allMethods", MethodInfo[].class);
+            DEFAULT_CONSTRUCTOR_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "defaultConstructor", Object.class);
+            RECORD_CONSTRUCTOR_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "recordConstructor", Object.class);
+            FIELD_INDEX_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "fieldIndex", LookupTable.class);
+            METHOD_INDEX_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "methodIndex", LookupTable.class);
+            METHOD_TABLE_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "methodTable", LookupTable.class);
+            SUPER_TYPE_INDEX_HANDLE = lookup.findVarHandle(ClassInfoImpl.class, "superTypeIndex", LookupTable.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     // TypeInfo
     private final Class<?> rawClass;
     private final TypeBindings bindings;
     private final ClassInfo declaringClass;
 
-    // 访问修饰符
-    private final AccessModifier accessModifier;
-
-    // 类的基本信息
-    private final ClassKind classKind;
-
-    // 类属性
-    private final boolean isStatic;
-    private final boolean isFinal;
-    private final boolean isAbstract;
-
-    // 锁
-    private final Lock LOCK;
+    // 访问修饰符, 类的种类 以及 static, final, abstract, 参见 InfoFlags
+    private final int flags;
 
     // 缓存的 hashCode
     private final int hashCode;
 
     // 继承结构
-    private volatile boolean superClassLoaded;
-    private volatile ClassInfo superClass;
+    private volatile Object superClass;
     private volatile ClassInfo[] interfaces;
 
     // 类成员
@@ -49,15 +87,23 @@ final class ClassInfoImpl implements ClassInfo {
     private volatile RecordComponentInfo[] recordComponents;
 
     // 快捷属性
-    private volatile TypeBindings allBindings;
+    private final TypeBindings allBindings;
+    // 解析成员类型时共享的上下文, allBindings 为空时为所有实例共用的同一个对象
+    private final TypeResolutionContext resolutionContext;
     private volatile ClassInfo[] allSuperClasses;
     private volatile ClassInfo[] allInterfaces;
     private volatile FieldInfo[] allFields;
     private volatile MethodInfo[] allMethods;
-    private volatile boolean defaultConstructorLoaded;
-    private volatile ConstructorInfo defaultConstructor;
-    private volatile boolean recordConstructorLoaded;
-    private volatile ConstructorInfo recordConstructor;
+    private volatile Object defaultConstructor;
+    private volatile Object recordConstructor;
+
+    // 名称索引, 由 allFields, allMethods 推导而来
+    private volatile LookupTable<String, FieldInfo> fieldIndex;
+    private volatile LookupTable<String, List<MethodInfo>> methodIndex;
+    // 签名 -> 实际生效的实例方法, 由 allMethods 推导而来
+    private volatile LookupTable<MethodSignature, MethodInfo> methodTable;
+    // 父类型索引, 由 直接接口 和 直接父类 的索引推导而来
+    private volatile LookupTable<Class<?>, ClassInfo> superTypeIndex;
 
     ClassInfoImpl(Class<?> clazz) {
 
@@ -66,15 +112,11 @@ final class ClassInfoImpl implements ClassInfo {
         this.bindings = EMPTY_BINDINGS;
         this.declaringClass = _findDeclaringClass(clazz, null);
 
-        var accessFlags = this.rawClass.accessFlags();
-
-        this.accessModifier = _findAccessModifier(accessFlags);
-        this.classKind = _findClassKind(this.rawClass, accessFlags);
-        this.isStatic = accessFlags.contains(STATIC);
-        this.isFinal = accessFlags.contains(FINAL);
-        this.isAbstract = accessFlags.contains(ABSTRACT);
+        this.flags = InfoFlags._findClassFlags(this.rawClass);
+        // allBindings 在构造时直接计算, 因为 TypeFactory 在构建过程中会用到它 (例如 isRaw), 构建路径中不能出现实例锁.
+        this.allBindings = _findAllBindings(this);
+        this.resolutionContext = TypeResolutionContext.shared(this.allBindings);
 
-        this.LOCK = new ReentrantLock();
         // 缓存 hashCode
         this.hashCode = this._hashCode();
     }
@@ -91,19 +133,35 @@ final class ClassInfoImpl implements ClassInfo {
         // 移除半成品对象.
         context.inProgressTypes().remove(parameterizedType);
 
-        var accessFlags = this.rawClass.accessFlags();
+        this.flags = InfoFlags._findClassFlags(this.rawClass);
+        // allBindings 在构造时直接计算, 因为 TypeFactory 在构建过程中会用到它 (例如 isRaw), 构建路径中不能出现实例锁.
+        this.allBindings = _findAllBindings(this);
+        this.resolutionContext = TypeResolutionContext.shared(this.allBindings);
 
-        this.accessModifier = _findAccessModifier(accessFlags);
-        this.classKind = _findClassKind(this.rawClass, accessFlags);
-        this.isStatic = accessFlags.contains(STATIC);
-        this.isFinal = accessFlags.contains(FINAL);
-        this.isAbstract = accessFlags.contains(ABSTRACT);
+        // 缓存 hashCode
+        this.hashCode = this._hashCode();
+    }
+
+    ClassInfoImpl(Class<?> rawClass, TypeBindings bindings, ClassInfo declaringClass) {
+        // 程序化构建 (见 TypeFactory.typeOfParameterized), 参数已由调用方校验.
+        this.rawClass = rawClass;
+        this.bindings = bindings;
+        this.declaringClass = declaringClass;
+
+        this.flags = InfoFlags._findClassFlags(this.rawClass);
+        // allBindings 在构造时直接计算, 因为 TypeFactory 在构建过程中会用到它 (例如 isRaw), 构建路径中不能出现实例锁.
+        this.allBindings = _findAllBindings(this);
+        this.resolutionContext = TypeResolutionContext.shared(this.allBindings);
 
-        this.LOCK = new ReentrantLock();
         // 缓存 hashCode
         this.hashCode = this._hashCode();
     }
 
+    /// 解析成员 (字段, 方法, 参数 等) 类型时使用的共享上下文.
+    public TypeResolutionContext resolutionContext() {
+        return resolutionContext;
+    }
+
     @Override
     public Class<?> rawClass() {
         return rawClass;
@@ -121,7 +179,7 @@ final class ClassInfoImpl implements ClassInfo {
 
     @Override
     public AccessModifier accessModifier() {
-        return accessModifier;
+        return InfoFlags.accessModifier(flags);
     }
 
     @Override
@@ -131,22 +189,22 @@ final class ClassInfoImpl implements ClassInfo {
 
     @Override
     public ClassKind classKind() {
-        return classKind;
+        return InfoFlags.classKind(flags);
     }
 
     @Override
     public boolean isStatic() {
-        return isStatic;
+        return InfoFlags.has(flags, InfoFlags.STATIC);
     }
 
     @Override
     public boolean isFinal() {
-        return isFinal;
+        return InfoFlags.has(flags, InfoFlags.FINAL);
     }
 
     @Override
     public boolean isAbstract() {
-        return isAbstract;
+        return InfoFlags.has(flags, InfoFlags.ABSTRACT);
     }
 
     @Override
@@ -166,201 +224,331 @@ final class ClassInfoImpl implements ClassInfo {
 
     @Override
     public ClassInfo superClass() {
-        // 此处 superClass == null 无法确定是 未加载 还是 不存在, 所以使用 superClassLoaded 字段标识.
-        if (!superClassLoaded) {
-            LOCK.lock();
-            try {
-                if (!superClassLoaded) {
-                    superClass = _findSuperClass(this.rawClass, this.allBindings());
-                    superClassLoaded = true;
-                }
-            } finally {
-                LOCK.unlock();
-            }
+        // 此处 superClass == null 表示未加载, 不存在时为 NULL.
+        var superClass = this.superClass;
+        if (superClass == null) {
+            var result = _findSuperClass(this.rawClass, this.resolutionContext);
+            superClass = publish(SUPER_CLASS_HANDLE, result != null ? result : NULL, SUPER_CLASS);
         }
-        return superClass;
+        touched(this, SUPER_CLASS);
+        return superClass != NULL ? (ClassInfo) superClass : null;
     }
 
     @Override
     public ClassInfo[] interfaces() {
+        return cachedInterfaces().clone();
+    }
+
+    private ClassInfo[] cachedInterfaces() {
+        var interfaces = this.interfaces;
         if (interfaces == null) {
-            LOCK.lock();
-            try {
-                if (interfaces == null) {
-                    interfaces = _findInterfaces(this.rawClass, this.allBindings());
-                }
-            } finally {
-                LOCK.unlock();
-            }
+            interfaces = publish(INTERFACES_HANDLE, _findInterfaces(this.rawClass, this.resolutionContext), INTERFACES);
         }
-        return interfaces.clone();
+        touched(this, INTERFACES);
+        return interfaces;
     }
 
     @Override
     public ConstructorInfo[] constructors() {
+        return cachedConstructors().clone();
+    }
+
+    private ConstructorInfo[] cachedConstructors() {
+        var constructors = this.constructors;
         if (constructors == null) {
-            LOCK.lock();
-            try {
-                if (constructors == null) {
-                    constructors = _findConstructors(this.rawClass, this);
-                }
-            } finally {
-                LOCK.unlock();
-            }
+            constructors = publish(CONSTRUCTORS_HANDLE, _findConstructors(this.rawClass, this), CONSTRUCTORS);
         }
-        return constructors.clone();
+        touched(this, CONSTRUCTORS);
+        return constructors;
     }
 
     @Override
     public FieldInfo[] fields() {
+        return cachedFields().clone();
+    }
+
+    private FieldInfo[] cachedFields() {
+        var fields = this.fields;
         if (fields == null) {
-            LOCK.lock();
-            try {
-                if (fields == null) {
-                    fields = _findFields(this.rawClass, this);
-                }
-            } finally {
-                LOCK.unlock();
-            }
+            fields = publish(FIELDS_HANDLE, _findFields(this.rawClass, this), FIELDS);
         }
-        return fields.clone();
+        touched(this, FIELDS);
+        return fields;
     }
 
     @Override
     public MethodInfo[] methods() {
+        return cachedMethods().clone();
+    }
+
+    private MethodInfo[] cachedMethods() {
+        var methods = this.methods;
         if (methods == null) {
-            LOCK.lock();
-            try {
-                if (methods == null) {
-                    methods = _findMethods(this.rawClass, this);
-                }
-            } finally {
-                LOCK.unlock();
-            }
+            methods = publish(METHODS_HANDLE, _findMethods(this.rawClass, this), METHODS);
         }
-        return methods.clone();
+        touched(this, METHODS);
+        return methods;
     }
 
     @Override
     public RecordComponentInfo[] recordComponents() {
+        var recordComponents = this.recordComponents;
         if (recordComponents == null) {
-            LOCK.lock();
-            try {
-                if (recordComponents == null) {
-                    recordComponents = _findRecordComponents(this);
-                }
-            } finally {
-                LOCK.unlock();
-            }
+            recordComponents = publish(RECORD_COMPONENTS_HANDLE, _findRecordComponents(this), RECORD_COMPONENTS);
         }
+        touched(this, RECORD_COMPONENTS);
         return recordComponents.clone();
     }
 
     @Override
     public TypeBindings allBindings() {
-        if (allBindings == null) {
-            LOCK.lock();
-            try {
-                if (allBindings == null) {
-                    allBindings = _findAllBindings(this);
-                }
-            } finally {
-                LOCK.unlock();
-            }
-        }
         return allBindings;
     }
 
     @Override
     public ClassInfo[] allSuperClasses() {
+        var allSuperClasses = this.allSuperClasses;
         if (allSuperClasses == null) {
-            LOCK.lock();
-            try {
-                if (allSuperClasses == null) {
-                    allSuperClasses = _findAllSuperClasses(this);
-                }
-            } finally {
-                LOCK.unlock();
-            }
+            allSuperClasses = publish(ALL_SUPER_CLASSES_HANDLE, _findAllSuperClasses(this), ALL_SUPER_CLASSES);
         }
+        touched(this, ALL_SUPER_CLASSES);
         return allSuperClasses.clone();
     }
 
     @Override
     public ClassInfo[] allInterfaces() {
+        return cachedAllInterfaces().clone();
+    }
+
+    private ClassInfo[] cachedAllInterfaces() {
+        var allInterfaces = this.allInterfaces;
         if (allInterfaces == null) {
-            LOCK.lock();
-            try {
-                if (allInterfaces == null) {
-                    allInterfaces = _findAllInterfaces(this);
-                }
-            } finally {
-                LOCK.unlock();
-            }
+            allInterfaces = publish(ALL_INTERFACES_HANDLE, _findAllInterfaces(this), ALL_INTERFACES);
         }
-        return allInterfaces.clone();
+        touched(this, ALL_INTERFACES);
+        return allInterfaces;
     }
 
     @Override
     public FieldInfo[] allFields() {
+        return cachedAllFields().clone();
+    }
+
+    private FieldInfo[] cachedAllFields() {
+        var allFields = this.allFields;
         if (allFields == null) {
-            LOCK.lock();
-            try {
-                if (allFields == null) {
-                    allFields = _findAllFields(this);
-                }
-            } finally {
-                LOCK.unlock();
-            }
+            allFields = publish(ALL_FIELDS_HANDLE, _findAllFields(this), ALL_FIELDS);
         }
-        return allFields.clone();
+        touched(this, ALL_FIELDS);
+        return allFields;
     }
 
     @Override
     public MethodInfo[] allMethods() {
+        return cachedAllMethods().clone();
+    }
+
+    private MethodInfo[] cachedAllMethods() {
+        var allMethods = this.allMethods;
         if (allMethods == null) {
-            LOCK.lock();
-            try {
-                if (allMethods == null) {
-                    allMethods = _findAllMethods(this);
-                }
-            } finally {
-                LOCK.unlock();
-            }
+            allMethods = publish(ALL_METHODS_HANDLE, _findAllMethods(this), ALL_METHODS);
         }
-        return allMethods.clone();
+        touched(this, ALL_METHODS);
+        return allMethods;
+    }
+
+    @Override
+    public int fieldCount() {
+        return cachedFields().length;
+    }
+
+    @Override
+    public FieldInfo field(int index) {
+        return cachedFields()[index];
+    }
+
+    @Override
+    public int methodCount() {
+        return cachedMethods().length;
+    }
+
+    @Override
+    public MethodInfo method(int index) {
+        return cachedMethods()[index];
+    }
+
+    @Override
+    public List<ClassInfo> interfaceList() {
+        return new ArrayView<>(cachedInterfaces());
+    }
+
+    @Override
+    public List<FieldInfo> fieldList() {
+        return new ArrayView<>(cachedFields());
+    }
+
+    @Override
+    public List<MethodInfo> methodList() {
+        return new ArrayView<>(cachedMethods());
+    }
+
+    @Override
+    public void forEachField(Consumer<? super FieldInfo> action) {
+        for (var field : cachedFields()) {
+            action.accept(field);
+        }
+    }
+
+    @Override
+    public void forEachMethod(Consumer<? super MethodInfo> action) {
+        for (var method : cachedMethods()) {
+            action.accept(method);
+        }
+    }
+
+    @Override
+    public List<FieldInfo> allFieldList() {
+        return new ArrayView<>(cachedAllFields());
+    }
+
+    @Override
+    public List<MethodInfo> allMethodList() {
+        return new ArrayView<>(cachedAllMethods());
+    }
+
+    @Override
+    public Stream<ClassInfo> allSuperClassStream() {
+        // 不依赖 allSuperClasses, 只在消费时才逐级解析父类
+        return Stream.iterate(superClass(), Objects::nonNull, ClassInfo::superClass);
+    }
+
+    @Override
+    public Stream<ClassInfo> allInterfaceStream() {
+        return Arrays.stream(cachedAllInterfaces());
+    }
+
+    @Override
+    public Stream<FieldInfo> allFieldStream() {
+        return Arrays.stream(cachedAllFields());
+    }
+
+    @Override
+    public Stream<MethodInfo> allMethodStream() {
+        return Arrays.stream(cachedAllMethods());
+    }
+
+    @Override
+    public FieldInfo findField(String name) {
+        return fieldIndex().get(name);
+    }
+
+    @Override
+    public List<MethodInfo> findMethods(String name) {
+        var methods = methodIndex().get(name);
+        return methods != null ? methods : List.of();
+    }
+
+    @Override
+    public MethodInfo findMethod(String name, Class<?>... parameterTypes) {
+        var methods = methodIndex().get(name);
+        return methods != null ? _findMethod(methods, parameterTypes) : null;
+    }
+
+    @Override
+    public MethodInfo resolveMethod(MethodSignature signature) {
+        return methodTable().get(signature);
+    }
+
+    @Override
+    public ConstructorInfo findConstructor(Class<?>... parameterTypes) {
+        // 构造函数通常很少, 直接线性查找
+        return _findConstructor(cachedConstructors(), parameterTypes);
+    }
+
+    private LookupTable<String, FieldInfo> fieldIndex() {
+        var fieldIndex = this.fieldIndex;
+        if (fieldIndex == null) {
+            fieldIndex = publish(FIELD_INDEX_HANDLE, _findFieldIndex(this, cachedAllFields()), 0);
+        }
+        return fieldIndex;
+    }
+
+    private LookupTable<String, List<MethodInfo>> methodIndex() {
+        var methodIndex = this.methodIndex;
+        if (methodIndex == null) {
+            methodIndex = publish(METHOD_INDEX_HANDLE, _findMethodIndex(cachedAllMethods()), 0);
+        }
+        return methodIndex;
+    }
+
+    private LookupTable<MethodSignature, MethodInfo> methodTable() {
+        var methodTable = this.methodTable;
+        if (methodTable == null) {
+            methodTable = publish(METHOD_TABLE_HANDLE, _findMethodTable(this, cachedAllMethods()), 0);
+        }
+        return methodTable;
+    }
+
+    @Override
+    public ClassInfo findSuperType(Class<?> rawTarget) {
+        if (rawTarget == this.rawClass) {
+            return this;
+        }
+        return superTypeIndex().get(rawTarget);
+    }
+
+    LookupTable<Class<?>, ClassInfo> superTypeIndex() {
+        var superTypeIndex = this.superTypeIndex;
+        if (superTypeIndex == null) {
+            superTypeIndex = publish(SUPER_TYPE_INDEX_HANDLE, _findSuperTypeIndex(this), 0);
+        }
+        return superTypeIndex;
     }
 
     @Override
     public ConstructorInfo defaultConstructor() {
-        if (!defaultConstructorLoaded) {
-            LOCK.lock();
-            try {
-                if (!defaultConstructorLoaded) {
-                    defaultConstructor = _findDefaultConstructor(this);
-                    defaultConstructorLoaded = true;
-                }
-            } finally {
-                LOCK.unlock();
-            }
+        var defaultConstructor = this.defaultConstructor;
+        if (defaultConstructor == null) {
+            var result = _findDefaultConstructor(this);
+            defaultConstructor = publish(DEFAULT_CONSTRUCTOR_HANDLE, result != null ? result : NULL, DEFAULT_CONSTRUCTOR);
         }
-        return defaultConstructor;
+        touched(this, DEFAULT_CONSTRUCTOR);
+        return defaultConstructor != NULL ? (ConstructorInfo) defaultConstructor : null;
     }
 
     @Override
     public ConstructorInfo recordConstructor() {
-        if (!recordConstructorLoaded) {
-            LOCK.lock();
-            try {
-                if (!recordConstructorLoaded) {
-                    recordConstructor = _findRecordConstructor(this);
-                    recordConstructorLoaded = true;
-                }
-            } finally {
-                LOCK.unlock();
-            }
+        var recordConstructor = this.recordConstructor;
+        if (recordConstructor == null) {
+            var result = _findRecordConstructor(this);
+            recordConstructor = publish(RECORD_CONSTRUCTOR_HANDLE, result != null ? result : NULL, RECORD_CONSTRUCTOR);
+        }
+        touched(this, RECORD_CONSTRUCTOR);
+        return recordConstructor != NULL ? (ConstructorInfo) recordConstructor : null;
+    }
+
+    /// 发布延迟成员的计算结果.
+    ///
+    /// 多个线程可能同时计算同一个成员 (良性竞争), 但只有第一个结果会被发布, 其余线程丢弃自己的结果并返回已发布的结果,
+    /// 所以每个成员的结果始终唯一. 与使用锁相比, 不同的成员之间互不阻塞, 每个实例也无需持有锁对象.
+    @SuppressWarnings("unchecked")
+    private <T> T publish(VarHandle handle, T value, int member) {
+        var witness = handle.compareAndExchange(this, (Object) null, (Object) value);
+        if (witness != null) {
+            return (T) witness;
+        }
+        // member 为 0 表示派生出的索引
+        if (member != 0) {
+            releaseResolutionMemo();
+        }
+        return value;
+    }
+
+    /// 直接使用 resolutionContext 解析的成员全部构建完成之后, 其中的 memo 不再需要.
+    private void releaseResolutionMemo() {
+        if (superClass != null && interfaces != null && constructors != null && fields != null && methods != null && recordComponents != null) {
+            resolutionContext.release();
         }
-        return recordConstructor;
     }
 
     @Override
@@ -377,8 +565,20 @@ final class ClassInfoImpl implements ClassInfo {
     }
 
     private int _hashCode() {
+        return hashCode(rawClass, bindings.hashCode(), declaringClass);
+    }
+
+    /// 与 [#equals(Object)] 一致, 但无需先创建 ClassInfoImpl.
+    public boolean equals(Class<?> rawClass, TypeVariable<?>[] typeVariables, TypeInfo[] typeInfos, ClassInfo declaringClass) {
+        return this.rawClass == rawClass &&
+            ((TypeBindingsImpl) bindings).equals(typeVariables, typeInfos) &&
+            Objects.equals(this.declaringClass, declaringClass);
+    }
+
+    /// 与 [#hashCode()] 一致, 但无需先创建 ClassInfoImpl.
+    public static int hashCode(Class<?> rawClass, int bindingsHashCode, ClassInfo declaringClass) {
         int result = rawClass.hashCode();
-        result = 31 * result + bindings.hashCode();
+        result = 31 * result + bindingsHashCode;
         result = 31 * result + Objects.hashCode(declaringClass);
         return result;
     }
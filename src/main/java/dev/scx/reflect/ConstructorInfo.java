@@ -12,10 +12,17 @@ public sealed interface ConstructorInfo extends ExecutableInfo permits Construct
 
     Constructor<?> rawConstructor();
 
+    /// 构造器的调用器, 首次调用时创建并缓存. 无参构造器尽可能使用生成的类直接 `new`, 否则基于 MethodHandle.
+    ///
+    /// 没有访问权限时抛出 IllegalAccessException (不缓存, setAccessible(true) 之后可以重试).
+    /// 依赖 setAccessible(true) 创建的调用器只在该标志仍然有效时返回, setAccessible(false) 之后重新创建 (重新进行访问检查).
+    /// 已经返回的 Instantiator 与 MethodHandle 相同, 保留创建时的访问权限.
+    Instantiator instantiator() throws IllegalAccessException;
+
     // ************* 便捷方法 **************
 
     default Object newInstance(Object... args) throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
-        return rawConstructor().newInstance(args);
+        return instantiator().newInstance(args);
     }
 
     @Override
@@ -1,9 +1,13 @@
 package dev.scx.reflect;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Constructor;
+import java.util.List;
 
 import static dev.scx.reflect.ReflectSupport._findAccessModifier;
 import static dev.scx.reflect.ReflectSupport._findParameters;
+import static dev.scx.reflect.ReflectSupport._isAccessible;
 
 /// ConstructorInfoImpl
 ///
@@ -11,6 +15,16 @@ import static dev.scx.reflect.ReflectSupport._findParameters;
 /// @version 0.0.1
 final class ConstructorInfoImpl implements ConstructorInfo {
 
+    private static final VarHandle INSTANTIATOR_HANDLE;
+
+    static {
+        try {
+            INSTANTIATOR_HANDLE = MethodHandles.lookup().findVarHandle(ConstructorInfoImpl.class, "instantiator", InstantiatorImpl.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final Constructor<?> rawConstructor;
     private final ClassInfo declaringClass;
 
@@ -18,7 +32,8 @@ final class ConstructorInfoImpl implements ConstructorInfo {
 
     private final ParameterInfo[] parameters;
 
-    private final int hashCode;
+    // 首次调用时创建
+    private volatile InstantiatorImpl instantiator;
 
     ConstructorInfoImpl(Constructor<?> constructor, ClassInfo declaringClass) {
         this.rawConstructor = constructor;
@@ -29,8 +44,6 @@ final class ConstructorInfoImpl implements ConstructorInfo {
         this.accessModifier = _findAccessModifier(accessFlags);
 
         this.parameters = _findParameters(this.rawConstructor, this);
-        // 缓存 hashCode
-        this.hashCode = this._hashCode();
     }
 
     @Override
@@ -38,6 +51,19 @@ final class ConstructorInfoImpl implements ConstructorInfo {
         return rawConstructor;
     }
 
+    @Override
+    public Instantiator instantiator() throws IllegalAccessException {
+        var instantiator = this.instantiator;
+        // 依赖 setAccessible(true) 创建的调用器在 setAccessible(false) 之后不再返回, 与 Constructor.newInstance 相同, 重新进行访问检查
+        if (instantiator == null || instantiator.override && !_isAccessible(rawConstructor)) {
+            // 没有访问权限时抛出异常且不替换缓存, 以便 setAccessible(true) 之后重试
+            var created = new InstantiatorImpl(rawConstructor);
+            INSTANTIATOR_HANDLE.compareAndSet(this, instantiator, created);
+            instantiator = created;
+        }
+        return instantiator;
+    }
+
     @Override
     public ClassInfo declaringClass() {
         return declaringClass;
@@ -53,6 +79,21 @@ final class ConstructorInfoImpl implements ConstructorInfo {
         return parameters.clone();
     }
 
+    @Override
+    public int parameterCount() {
+        return parameters.length;
+    }
+
+    @Override
+    public ParameterInfo parameter(int index) {
+        return parameters[index];
+    }
+
+    @Override
+    public List<ParameterInfo> parameterList() {
+        return new ArrayView<>(parameters);
+    }
+
     @Override
     public boolean equals(Object object) {
         if (object == this) {
@@ -64,17 +105,13 @@ final class ConstructorInfoImpl implements ConstructorInfo {
         return false;
     }
 
-    private int _hashCode() {
+    @Override
+    public int hashCode() {
         int result = ConstructorInfoImpl.class.hashCode();
         result = 31 * result + rawConstructor.hashCode();
         return result;
     }
 
-    @Override
-    public int hashCode() {
-        return hashCode;
-    }
-
     @Override
     public String toString() {
         var sb = new StringBuilder();
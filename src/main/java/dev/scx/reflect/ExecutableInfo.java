@@ -1,5 +1,7 @@
 package dev.scx.reflect;
 
+import java.util.List;
+
 /// ExecutableInfo
 ///
 /// @author scx567888
@@ -8,4 +10,13 @@ public sealed interface ExecutableInfo extends MemberInfo permits ConstructorInf
 
     ParameterInfo[] parameters();
 
+    /// 等同于 `parameters().length`, 不复制数组.
+    int parameterCount();
+
+    /// 等同于 `parameters()[index]`, 不复制数组.
+    ParameterInfo parameter(int index);
+
+    /// [#parameters()] 的只读视图.
+    List<ParameterInfo> parameterList();
+
 }
@@ -0,0 +1,18 @@
+package dev.scx.reflect;
+
+/// 字段访问的内存语义, 对应 VarHandle 的访问模式.
+///
+/// @author scx567888
+/// @version 0.0.1
+public enum FieldAccessMode {
+
+    /// 按照字段声明的语义读写, 与直接访问字段 以及 Field.get / set 相同: 普通字段为 VarHandle.get / set, volatile 字段为 volatile 读写.
+    PLAIN,
+
+    /// 不透明读写 (VarHandle.getOpaque / setOpaque), 保证原子性 和 同一变量上的一致顺序, 但不与其他变量建立顺序.
+    OPAQUE,
+
+    /// volatile 读写 (VarHandle.getVolatile / setVolatile), 即使字段本身不是 volatile.
+    VOLATILE
+
+}
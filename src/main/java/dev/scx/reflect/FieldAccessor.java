@@ -0,0 +1,614 @@
+package dev.scx.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.invoke.VarHandle.AccessMode;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static dev.scx.reflect.FieldAccessMode.PLAIN;
+import static dev.scx.reflect.FieldAccessMode.VOLATILE;
+import static dev.scx.reflect.ReflectSupport._isAccessible;
+import static java.lang.invoke.VarHandle.AccessMode.*;
+
+/// 基于 VarHandle 的字段访问器, 代替 Field.get / set, 基本类型的读写无需装箱.
+///
+/// - handle: 字段本身的 VarHandle, 静态字段没有坐标, 实例字段的坐标为声明类, 见 [FieldInfo#varHandle()].
+/// - getters / setters: 由 handle 得到的各个访问模式 (按 FieldAccessMode 的顺序) 的 MethodHandle,
+///   类型统一为 `(Object)T` 和 `(Object, T)void` (T 为字段类型, 引用类型为 Object), 静态字段忽略 obj.
+///   非常量的 VarHandle 每次调用都需要适配调用点的类型, 而这里的 MethodHandle 与调用点类型完全一致, 可以直接 invokeExact.
+/// - uniform: 统一为 `(Object)` 坐标的 VarHandle, 仅用于读写类型与字段类型不同 (拓宽转换, 装箱拆箱) 的情况.
+///
+/// 与 Field.get / set 保持一致:
+/// - 访问检查以当前包的身份进行, 除非已经调用过 setAccessible(true).
+/// - 实例字段的 obj 为 null 时抛出 NullPointerException, obj 类型错误 或 值的类型不兼容 (只允许拓宽转换) 时抛出 IllegalArgumentException.
+/// - 基本类型的读写方法只能用于基本类型的字段.
+/// - VarHandle 不支持写入 final 字段, 所以 final 字段的写入交给 Field.set, 由其决定是否允许.
+/// - setAccessible(true) 之后, 如果字段所在的包没有对当前模块开放 (无法创建 VarHandle), 则使用 Field 本身读写,
+///   此时非 PLAIN 模式在读写前后各加一次完整的内存屏障.
+/// - 只有当前包无法直接访问, 依赖 setAccessible(true) 创建的访问器记录在 [#override] 中,
+///   缓存它的 FieldInfoImpl 在每次访问前确认该标志仍然有效, 否则重新创建 (重新进行访问检查).
+///
+/// @author scx567888
+/// @version 0.0.1
+final class FieldAccessor {
+
+    private static final AccessMode[] GET_MODES = {GET, GET_OPAQUE, GET_VOLATILE};
+    private static final AccessMode[] SET_MODES = {SET, SET_OPAQUE, SET_VOLATILE};
+
+    private final Field field;
+    private final Class<?> type;
+    private final VarHandle handle;
+    private final VarHandle uniform;
+    private final MethodHandle[] getters;
+    private final MethodHandle[] setters;
+    // PLAIN 模式实际使用的模式: volatile 字段为 VOLATILE
+    private final FieldAccessMode plainMode;
+    // 是否依赖 setAccessible(true) 创建
+    final boolean override;
+
+    private FieldAccessor(Field field, VarHandle handle, boolean override) {
+        var modifiers = field.getModifiers();
+        var isStatic = Modifier.isStatic(modifiers);
+        this.field = field;
+        this.type = field.getType();
+        this.handle = handle;
+        this.plainMode = Modifier.isVolatile(modifiers) ? VOLATILE : PLAIN;
+        this.override = override;
+        if (handle == null) {
+            this.uniform = null;
+            this.getters = null;
+            this.setters = null;
+            return;
+        }
+        this.uniform = isStatic ? MethodHandles.dropCoordinates(handle, 0, Object.class) : handle;
+        var valueType = type.isPrimitive() ? type : Object.class;
+        this.getters = new MethodHandle[GET_MODES.length];
+        for (int i = 0; i < GET_MODES.length; i = i + 1) {
+            getters[i] = adapt(handle.toMethodHandle(GET_MODES[i]), isStatic, MethodType.methodType(valueType, Object.class));
+        }
+        if (Modifier.isFinal(modifiers)) {
+            this.setters = null;
+        } else {
+            this.setters = new MethodHandle[SET_MODES.length];
+            for (int i = 0; i < SET_MODES.length; i = i + 1) {
+                setters[i] = adapt(handle.toMethodHandle(SET_MODES[i]), isStatic, MethodType.methodType(void.class, Object.class, valueType));
+            }
+        }
+    }
+
+    private static MethodHandle adapt(MethodHandle methodHandle, boolean isStatic, MethodType type) {
+        if (isStatic) {
+            methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+        }
+        return methodHandle.asType(type);
+    }
+
+    static FieldAccessor of(Field field) throws IllegalAccessException {
+        try {
+            return new FieldAccessor(field, MethodHandles.lookup().unreflectVarHandle(field), false);
+        } catch (IllegalAccessException e) {
+            // unreflectVarHandle 不考虑 setAccessible, 这里与 Field 保持一致: setAccessible(true) 之后允许访问
+            if (!_isAccessible(field)) {
+                throw e;
+            }
+        }
+        try {
+            return new FieldAccessor(field, MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup()).unreflectVarHandle(field), true);
+        } catch (IllegalAccessException e) {
+            return new FieldAccessor(field, null, true);
+        }
+    }
+
+    VarHandle handle() throws IllegalAccessException {
+        if (handle == null) {
+            throw new IllegalAccessException("cannot create VarHandle for " + field + ": package is not open to " + FieldAccessor.class.getModule());
+        }
+        return handle;
+    }
+
+    Object get(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        if (uniform == null) {
+            fence(mode);
+            try {
+                return field.get(obj);
+            } finally {
+                fence(mode);
+            }
+        }
+        try {
+            if (!type.isPrimitive()) {
+                return (Object) getters[resolve(mode).ordinal()].invokeExact(obj);
+            }
+            // 基本类型字段, 装箱
+            return switch (resolve(mode)) {
+                case PLAIN -> (Object) uniform.get(obj);
+                case OPAQUE -> (Object) uniform.getOpaque(obj);
+                case VOLATILE -> (Object) uniform.getVolatile(obj);
+            };
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void set(Object obj, Object value, FieldAccessMode mode) throws IllegalAccessException {
+        if (value == null && type.isPrimitive()) {
+            throw new IllegalArgumentException("Can not set " + type.getName() + " field " + field.getName() + " to null value");
+        }
+        if (setters == null) {
+            fence(mode);
+            try {
+                field.set(obj, value);
+            } finally {
+                fence(mode);
+            }
+            return;
+        }
+        try {
+            if (!type.isPrimitive()) {
+                setters[resolve(mode).ordinal()].invokeExact(obj, value);
+                return;
+            }
+            // 基本类型字段, 拆箱 (只允许拓宽转换)
+            switch (resolve(mode)) {
+                case PLAIN -> uniform.set(obj, value);
+                case OPAQUE -> uniform.setOpaque(obj, value);
+                case VOLATILE -> uniform.setVolatile(obj, value);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    boolean getBoolean(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (uniform == null) {
+            fence(mode);
+            try {
+                return field.getBoolean(obj);
+            } finally {
+                fence(mode);
+            }
+        }
+        try {
+            if (type == boolean.class) {
+                return (boolean) getters[resolve(mode).ordinal()].invokeExact(obj);
+            }
+            // 拓宽转换
+            return switch (resolve(mode)) {
+                case PLAIN -> (boolean) uniform.get(obj);
+                case OPAQUE -> (boolean) uniform.getOpaque(obj);
+                case VOLATILE -> (boolean) uniform.getVolatile(obj);
+            };
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setBoolean(Object obj, boolean value, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (setters == null) {
+            fence(mode);
+            try {
+                field.setBoolean(obj, value);
+            } finally {
+                fence(mode);
+            }
+            return;
+        }
+        try {
+            if (type == boolean.class) {
+                setters[resolve(mode).ordinal()].invokeExact(obj, value);
+                return;
+            }
+            // 拓宽转换
+            switch (resolve(mode)) {
+                case PLAIN -> uniform.set(obj, value);
+                case OPAQUE -> uniform.setOpaque(obj, value);
+                case VOLATILE -> uniform.setVolatile(obj, value);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    byte getByte(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (uniform == null) {
+            fence(mode);
+            try {
+                return field.getByte(obj);
+            } finally {
+                fence(mode);
+            }
+        }
+        try {
+            if (type == byte.class) {
+                return (byte) getters[resolve(mode).ordinal()].invokeExact(obj);
+            }
+            // 拓宽转换
+            return switch (resolve(mode)) {
+                case PLAIN -> (byte) uniform.get(obj);
+                case OPAQUE -> (byte) uniform.getOpaque(obj);
+                case VOLATILE -> (byte) uniform.getVolatile(obj);
+            };
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setByte(Object obj, byte value, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (setters == null) {
+            fence(mode);
+            try {
+                field.setByte(obj, value);
+            } finally {
+                fence(mode);
+            }
+            return;
+        }
+        try {
+            if (type == byte.class) {
+                setters[resolve(mode).ordinal()].invokeExact(obj, value);
+                return;
+            }
+            // 拓宽转换
+            switch (resolve(mode)) {
+                case PLAIN -> uniform.set(obj, value);
+                case OPAQUE -> uniform.setOpaque(obj, value);
+                case VOLATILE -> uniform.setVolatile(obj, value);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    char getChar(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (uniform == null) {
+            fence(mode);
+            try {
+                return field.getChar(obj);
+            } finally {
+                fence(mode);
+            }
+        }
+        try {
+            if (type == char.class) {
+                return (char) getters[resolve(mode).ordinal()].invokeExact(obj);
+            }
+            // 拓宽转换
+            return switch (resolve(mode)) {
+                case PLAIN -> (char) uniform.get(obj);
+                case OPAQUE -> (char) uniform.getOpaque(obj);
+                case VOLATILE -> (char) uniform.getVolatile(obj);
+            };
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setChar(Object obj, char value, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (setters == null) {
+            fence(mode);
+            try {
+                field.setChar(obj, value);
+            } finally {
+                fence(mode);
+            }
+            return;
+        }
+        try {
+            if (type == char.class) {
+                setters[resolve(mode).ordinal()].invokeExact(obj, value);
+                return;
+            }
+            // 拓宽转换
+            switch (resolve(mode)) {
+                case PLAIN -> uniform.set(obj, value);
+                case OPAQUE -> uniform.setOpaque(obj, value);
+                case VOLATILE -> uniform.setVolatile(obj, value);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    short getShort(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (uniform == null) {
+            fence(mode);
+            try {
+                return field.getShort(obj);
+            } finally {
+                fence(mode);
+            }
+        }
+        try {
+            if (type == short.class) {
+                return (short) getters[resolve(mode).ordinal()].invokeExact(obj);
+            }
+            // 拓宽转换
+            return switch (resolve(mode)) {
+                case PLAIN -> (short) uniform.get(obj);
+                case OPAQUE -> (short) uniform.getOpaque(obj);
+                case VOLATILE -> (short) uniform.getVolatile(obj);
+            };
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setShort(Object obj, short value, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (setters == null) {
+            fence(mode);
+            try {
+                field.setShort(obj, value);
+            } finally {
+                fence(mode);
+            }
+            return;
+        }
+        try {
+            if (type == short.class) {
+                setters[resolve(mode).ordinal()].invokeExact(obj, value);
+                return;
+            }
+            // 拓宽转换
+            switch (resolve(mode)) {
+                case PLAIN -> uniform.set(obj, value);
+                case OPAQUE -> uniform.setOpaque(obj, value);
+                case VOLATILE -> uniform.setVolatile(obj, value);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    int getInt(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (uniform == null) {
+            fence(mode);
+            try {
+                return field.getInt(obj);
+            } finally {
+                fence(mode);
+            }
+        }
+        try {
+            if (type == int.class) {
+                return (int) getters[resolve(mode).ordinal()].invokeExact(obj);
+            }
+            // 拓宽转换
+            return switch (resolve(mode)) {
+                case PLAIN -> (int) uniform.get(obj);
+                case OPAQUE -> (int) uniform.getOpaque(obj);
+                case VOLATILE -> (int) uniform.getVolatile(obj);
+            };
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setInt(Object obj, int value, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (setters == null) {
+            fence(mode);
+            try {
+                field.setInt(obj, value);
+            } finally {
+                fence(mode);
+            }
+            return;
+        }
+        try {
+            if (type == int.class) {
+                setters[resolve(mode).ordinal()].invokeExact(obj, value);
+                return;
+            }
+            // 拓宽转换
+            switch (resolve(mode)) {
+                case PLAIN -> uniform.set(obj, value);
+                case OPAQUE -> uniform.setOpaque(obj, value);
+                case VOLATILE -> uniform.setVolatile(obj, value);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    long getLong(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (uniform == null) {
+            fence(mode);
+            try {
+                return field.getLong(obj);
+            } finally {
+                fence(mode);
+            }
+        }
+        try {
+            if (type == long.class) {
+                return (long) getters[resolve(mode).ordinal()].invokeExact(obj);
+            }
+            // 拓宽转换
+            return switch (resolve(mode)) {
+                case PLAIN -> (long) uniform.get(obj);
+                case OPAQUE -> (long) uniform.getOpaque(obj);
+                case VOLATILE -> (long) uniform.getVolatile(obj);
+            };
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setLong(Object obj, long value, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (setters == null) {
+            fence(mode);
+            try {
+                field.setLong(obj, value);
+            } finally {
+                fence(mode);
+            }
+            return;
+        }
+        try {
+            if (type == long.class) {
+                setters[resolve(mode).ordinal()].invokeExact(obj, value);
+                return;
+            }
+            // 拓宽转换
+            switch (resolve(mode)) {
+                case PLAIN -> uniform.set(obj, value);
+                case OPAQUE -> uniform.setOpaque(obj, value);
+                case VOLATILE -> uniform.setVolatile(obj, value);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    float getFloat(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (uniform == null) {
+            fence(mode);
+            try {
+                return field.getFloat(obj);
+            } finally {
+                fence(mode);
+            }
+        }
+        try {
+            if (type == float.class) {
+                return (float) getters[resolve(mode).ordinal()].invokeExact(obj);
+            }
+            // 拓宽转换
+            return switch (resolve(mode)) {
+                case PLAIN -> (float) uniform.get(obj);
+                case OPAQUE -> (float) uniform.getOpaque(obj);
+                case VOLATILE -> (float) uniform.getVolatile(obj);
+            };
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setFloat(Object obj, float value, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (setters == null) {
+            fence(mode);
+            try {
+                field.setFloat(obj, value);
+            } finally {
+                fence(mode);
+            }
+            return;
+        }
+        try {
+            if (type == float.class) {
+                setters[resolve(mode).ordinal()].invokeExact(obj, value);
+                return;
+            }
+            // 拓宽转换
+            switch (resolve(mode)) {
+                case PLAIN -> uniform.set(obj, value);
+                case OPAQUE -> uniform.setOpaque(obj, value);
+                case VOLATILE -> uniform.setVolatile(obj, value);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    double getDouble(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (uniform == null) {
+            fence(mode);
+            try {
+                return field.getDouble(obj);
+            } finally {
+                fence(mode);
+            }
+        }
+        try {
+            if (type == double.class) {
+                return (double) getters[resolve(mode).ordinal()].invokeExact(obj);
+            }
+            // 拓宽转换
+            return switch (resolve(mode)) {
+                case PLAIN -> (double) uniform.get(obj);
+                case OPAQUE -> (double) uniform.getOpaque(obj);
+                case VOLATILE -> (double) uniform.getVolatile(obj);
+            };
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setDouble(Object obj, double value, FieldAccessMode mode) throws IllegalAccessException {
+        checkPrimitive();
+        if (setters == null) {
+            fence(mode);
+            try {
+                field.setDouble(obj, value);
+            } finally {
+                fence(mode);
+            }
+            return;
+        }
+        try {
+            if (type == double.class) {
+                setters[resolve(mode).ordinal()].invokeExact(obj, value);
+                return;
+            }
+            // 拓宽转换
+            switch (resolve(mode)) {
+                case PLAIN -> uniform.set(obj, value);
+                case OPAQUE -> uniform.setOpaque(obj, value);
+                case VOLATILE -> uniform.setVolatile(obj, value);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private FieldAccessMode resolve(FieldAccessMode mode) {
+        return mode == PLAIN ? plainMode : mode;
+    }
+
+    private void checkPrimitive() {
+        if (!type.isPrimitive()) {
+            throw new IllegalArgumentException("field " + field.getName() + " of type " + type.getName() + " is not a primitive field");
+        }
+    }
+
+    /// MethodHandle / VarHandle 在访问之前完成 obj 和值的类型转换, 失败时抛出 ClassCastException 或 WrongMethodTypeException,
+    /// 此时字段并未被访问 (读写字段本身不会抛出这两种异常).
+    private RuntimeException rethrow(Throwable e) {
+        if (e instanceof ClassCastException || e instanceof WrongMethodTypeException) {
+            return new IllegalArgumentException("Can not access field " + field + ": " + e.getMessage(), e);
+        }
+        if (e instanceof RuntimeException r) {
+            return r;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        // 字段读写不会抛出受检异常
+        return new IllegalStateException(e);
+    }
+
+    private static void fence(FieldAccessMode mode) {
+        if (mode != PLAIN) {
+            VarHandle.fullFence();
+        }
+    }
+
+}
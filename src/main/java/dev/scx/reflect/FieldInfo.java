@@ -1,8 +1,11 @@
 package dev.scx.reflect;
 
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 
+import static dev.scx.reflect.FieldAccessMode.PLAIN;
+
 /// FieldInfo
 ///
 /// @author scx567888
@@ -29,6 +32,120 @@ public sealed interface FieldInfo extends MemberInfo permits FieldInfoImpl {
         rawField().set(obj, value);
     }
 
+    // ************* 基于 VarHandle 的访问 **************
+    // 首次调用时创建并缓存字段的 VarHandle. 规则与 Field.get / set 相同 (访问检查, 类型检查, 只允许拓宽转换, final 字段的写入),
+    // 但基本类型的读写无需装箱. 静态字段忽略 obj. 不指定 FieldAccessMode 时为 PLAIN.
+    // 访问检查在创建时进行. 依赖 setAccessible(true) 创建的 VarHandle 只在该标志仍然有效时使用,
+    // setAccessible(false) 之后重新创建, 没有访问权限时抛出 IllegalAccessException.
+
+    /// 字段本身的 VarHandle: 静态字段没有坐标, 实例字段的坐标为声明类. final 字段的 VarHandle 只读.
+    /// 与 MethodHandle 相同, 返回的 VarHandle 保留获取时的访问权限, 之后的 setAccessible(false) 对其没有影响.
+    /// 保存在 static final 字段中时 JIT 会将其视为常量, 静态字段的读写可以直接折叠为字段地址上的访问, 例如:
+    /// `static final VarHandle COUNT = fieldInfo.varHandle();` 之后 `(int) COUNT.getVolatile()`.
+    VarHandle varHandle() throws IllegalAccessException;
+
+    /// 与 [#get(Object)] 相同, 但使用指定的内存语义.
+    Object get(Object obj, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    /// 与 [#set(Object, Object)] 相同, 但使用指定的内存语义.
+    void set(Object obj, Object value, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default boolean getBoolean(Object obj) throws IllegalArgumentException, IllegalAccessException {
+        return getBoolean(obj, PLAIN);
+    }
+
+    boolean getBoolean(Object obj, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default void setBoolean(Object obj, boolean value) throws IllegalArgumentException, IllegalAccessException {
+        setBoolean(obj, value, PLAIN);
+    }
+
+    void setBoolean(Object obj, boolean value, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default byte getByte(Object obj) throws IllegalArgumentException, IllegalAccessException {
+        return getByte(obj, PLAIN);
+    }
+
+    byte getByte(Object obj, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default void setByte(Object obj, byte value) throws IllegalArgumentException, IllegalAccessException {
+        setByte(obj, value, PLAIN);
+    }
+
+    void setByte(Object obj, byte value, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default char getChar(Object obj) throws IllegalArgumentException, IllegalAccessException {
+        return getChar(obj, PLAIN);
+    }
+
+    char getChar(Object obj, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default void setChar(Object obj, char value) throws IllegalArgumentException, IllegalAccessException {
+        setChar(obj, value, PLAIN);
+    }
+
+    void setChar(Object obj, char value, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default short getShort(Object obj) throws IllegalArgumentException, IllegalAccessException {
+        return getShort(obj, PLAIN);
+    }
+
+    short getShort(Object obj, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default void setShort(Object obj, short value) throws IllegalArgumentException, IllegalAccessException {
+        setShort(obj, value, PLAIN);
+    }
+
+    void setShort(Object obj, short value, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default int getInt(Object obj) throws IllegalArgumentException, IllegalAccessException {
+        return getInt(obj, PLAIN);
+    }
+
+    int getInt(Object obj, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default void setInt(Object obj, int value) throws IllegalArgumentException, IllegalAccessException {
+        setInt(obj, value, PLAIN);
+    }
+
+    void setInt(Object obj, int value, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default long getLong(Object obj) throws IllegalArgumentException, IllegalAccessException {
+        return getLong(obj, PLAIN);
+    }
+
+    long getLong(Object obj, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default void setLong(Object obj, long value) throws IllegalArgumentException, IllegalAccessException {
+        setLong(obj, value, PLAIN);
+    }
+
+    void setLong(Object obj, long value, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default float getFloat(Object obj) throws IllegalArgumentException, IllegalAccessException {
+        return getFloat(obj, PLAIN);
+    }
+
+    float getFloat(Object obj, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default void setFloat(Object obj, float value) throws IllegalArgumentException, IllegalAccessException {
+        setFloat(obj, value, PLAIN);
+    }
+
+    void setFloat(Object obj, float value, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default double getDouble(Object obj) throws IllegalArgumentException, IllegalAccessException {
+        return getDouble(obj, PLAIN);
+    }
+
+    double getDouble(Object obj, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
+    default void setDouble(Object obj, double value) throws IllegalArgumentException, IllegalAccessException {
+        setDouble(obj, value, PLAIN);
+    }
+
+    void setDouble(Object obj, double value, FieldAccessMode mode) throws IllegalArgumentException, IllegalAccessException;
+
     @Override
     default void setAccessible(boolean flag) {
         rawField().setAccessible(flag);
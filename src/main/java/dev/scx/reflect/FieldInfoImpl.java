@@ -1,11 +1,12 @@
 package dev.scx.reflect;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
 
-import static dev.scx.reflect.ReflectSupport._findAccessModifier;
+import static dev.scx.reflect.InfoFlags.*;
+import static dev.scx.reflect.ReflectSupport._isAccessible;
 import static dev.scx.reflect.TypeFactory.typeOfAny;
-import static java.lang.reflect.AccessFlag.FINAL;
-import static java.lang.reflect.AccessFlag.STATIC;
 
 /// FieldInfoImpl
 ///
@@ -13,30 +14,34 @@ import static java.lang.reflect.AccessFlag.STATIC;
 /// @version 0.0.1
 final class FieldInfoImpl implements FieldInfo {
 
+    // 延迟成员的 VarHandle
+    private static final VarHandle ACCESSOR_HANDLE;
+
+    static {
+        try {
+            ACCESSOR_HANDLE = MethodHandles.lookup().findVarHandle(FieldInfoImpl.class, "accessor", FieldAccessor.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final Field rawField;
     private final ClassInfo declaringClass;
 
-    private final AccessModifier accessModifier;
-
-    private final boolean isStatic;
-    private final boolean isFinal;
+    // 访问修饰符, static, final, 参见 InfoFlags
+    private final int flags;
 
     private final TypeInfo fieldType;
 
-    private final int hashCode;
+    // 首次读写时创建
+    private volatile FieldAccessor accessor;
 
     FieldInfoImpl(Field field, ClassInfo declaringClass) {
         this.rawField = field;
         this.declaringClass = declaringClass;
 
-        var accessFlags = this.rawField.accessFlags();
-
-        this.accessModifier = _findAccessModifier(accessFlags);
-        this.isStatic = accessFlags.contains(STATIC);
-        this.isFinal = accessFlags.contains(FINAL);
-        this.fieldType = typeOfAny(this.rawField.getGenericType(), new TypeResolutionContext(this.declaringClass.allBindings()));
-        // 缓存 hashCode
-        this.hashCode = this._hashCode();
+        this.flags = _findFlags(this.rawField.accessFlags());
+        this.fieldType = typeOfAny(this.rawField.getGenericType(), ((ClassInfoImpl) this.declaringClass).resolutionContext());
     }
 
     @Override
@@ -51,7 +56,7 @@ final class FieldInfoImpl implements FieldInfo {
 
     @Override
     public AccessModifier accessModifier() {
-        return accessModifier;
+        return InfoFlags.accessModifier(flags);
     }
 
     @Override
@@ -61,12 +66,12 @@ final class FieldInfoImpl implements FieldInfo {
 
     @Override
     public boolean isStatic() {
-        return isStatic;
+        return has(flags, STATIC);
     }
 
     @Override
     public boolean isFinal() {
-        return isFinal;
+        return has(flags, FINAL);
     }
 
     @Override
@@ -74,6 +79,113 @@ final class FieldInfoImpl implements FieldInfo {
         return fieldType;
     }
 
+    @Override
+    public VarHandle varHandle() throws IllegalAccessException {
+        return accessor().handle();
+    }
+
+    @Override
+    public Object get(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        return accessor().get(obj, mode);
+    }
+
+    @Override
+    public void set(Object obj, Object value, FieldAccessMode mode) throws IllegalAccessException {
+        accessor().set(obj, value, mode);
+    }
+
+    @Override
+    public boolean getBoolean(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        return accessor().getBoolean(obj, mode);
+    }
+
+    @Override
+    public void setBoolean(Object obj, boolean value, FieldAccessMode mode) throws IllegalAccessException {
+        accessor().setBoolean(obj, value, mode);
+    }
+
+    @Override
+    public byte getByte(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        return accessor().getByte(obj, mode);
+    }
+
+    @Override
+    public void setByte(Object obj, byte value, FieldAccessMode mode) throws IllegalAccessException {
+        accessor().setByte(obj, value, mode);
+    }
+
+    @Override
+    public char getChar(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        return accessor().getChar(obj, mode);
+    }
+
+    @Override
+    public void setChar(Object obj, char value, FieldAccessMode mode) throws IllegalAccessException {
+        accessor().setChar(obj, value, mode);
+    }
+
+    @Override
+    public short getShort(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        return accessor().getShort(obj, mode);
+    }
+
+    @Override
+    public void setShort(Object obj, short value, FieldAccessMode mode) throws IllegalAccessException {
+        accessor().setShort(obj, value, mode);
+    }
+
+    @Override
+    public int getInt(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        return accessor().getInt(obj, mode);
+    }
+
+    @Override
+    public void setInt(Object obj, int value, FieldAccessMode mode) throws IllegalAccessException {
+        accessor().setInt(obj, value, mode);
+    }
+
+    @Override
+    public long getLong(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        return accessor().getLong(obj, mode);
+    }
+
+    @Override
+    public void setLong(Object obj, long value, FieldAccessMode mode) throws IllegalAccessException {
+        accessor().setLong(obj, value, mode);
+    }
+
+    @Override
+    public float getFloat(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        return accessor().getFloat(obj, mode);
+    }
+
+    @Override
+    public void setFloat(Object obj, float value, FieldAccessMode mode) throws IllegalAccessException {
+        accessor().setFloat(obj, value, mode);
+    }
+
+    @Override
+    public double getDouble(Object obj, FieldAccessMode mode) throws IllegalAccessException {
+        return accessor().getDouble(obj, mode);
+    }
+
+    @Override
+    public void setDouble(Object obj, double value, FieldAccessMode mode) throws IllegalAccessException {
+        accessor().setDouble(obj, value, mode);
+    }
+
+    private FieldAccessor accessor() throws IllegalAccessException {
+        var accessor = this.accessor;
+        // 依赖 setAccessible(true) 创建的访问器在 setAccessible(false) 之后失效, 与 Field.get / set 相同, 重新进行访问检查
+        if (accessor == null || accessor.override && !_isAccessible(rawField)) {
+            // 没有访问权限时抛出异常且不替换缓存, 以便 setAccessible(true) 之后重试
+            var created = FieldAccessor.of(rawField);
+            ACCESSOR_HANDLE.compareAndSet(this, accessor, created);
+            accessor = created;
+        }
+        return accessor;
+    }
+
     @Override
     public boolean equals(Object object) {
         if (object == this) {
@@ -85,27 +197,24 @@ final class FieldInfoImpl implements FieldInfo {
         return false;
     }
 
-    private int _hashCode() {
+    @Override
+    public int hashCode() {
+        // 不缓存, Field.hashCode() 本身足够廉价
         int result = FieldInfoImpl.class.hashCode();
         result = 31 * result + rawField.hashCode();
         return result;
     }
 
-    @Override
-    public int hashCode() {
-        return hashCode;
-    }
-
     @Override
     public String toString() {
         var sb = new StringBuilder();
 
         // 修饰符
-        sb.append(accessModifier.text());
-        if (isStatic) {
+        sb.append(accessModifier().text());
+        if (isStatic()) {
             sb.append(" static");
         }
-        if (isFinal) {
+        if (isFinal()) {
             sb.append(" final");
         }
 
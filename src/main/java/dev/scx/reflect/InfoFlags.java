@@ -0,0 +1,66 @@
+package dev.scx.reflect;
+
+import java.lang.reflect.AccessFlag;
+import java.util.Set;
+
+import static dev.scx.reflect.ReflectSupport._findAccessModifier;
+import static dev.scx.reflect.ReflectSupport._findClassKind;
+
+/// 将 AccessModifier, ClassKind 以及各种布尔属性压缩到一个 int 中, 以减少 ClassInfo, FieldInfo, MethodInfo 每个实例的内存占用.
+///
+/// @author scx567888
+/// @version 0.0.1
+final class InfoFlags {
+
+    // 第 0-1 位: AccessModifier
+    private static final int ACCESS_MODIFIER_MASK = 0b11;
+    // 第 2-4 位: ClassKind
+    private static final int CLASS_KIND_SHIFT = 2;
+    private static final int CLASS_KIND_MASK = 0b111;
+
+    static final int STATIC = 1 << 5;
+    static final int FINAL = 1 << 6;
+    static final int ABSTRACT = 1 << 7;
+    static final int DEFAULT = 1 << 8;
+    static final int NATIVE = 1 << 9;
+
+    private static final AccessModifier[] ACCESS_MODIFIERS = AccessModifier.values();
+    private static final ClassKind[] CLASS_KINDS = ClassKind.values();
+
+    /// 访问修饰符 以及 static, final, abstract, native.
+    static int _findFlags(Set<AccessFlag> accessFlags) {
+        var flags = _findAccessModifier(accessFlags).ordinal();
+        if (accessFlags.contains(AccessFlag.STATIC)) {
+            flags = flags | STATIC;
+        }
+        if (accessFlags.contains(AccessFlag.FINAL)) {
+            flags = flags | FINAL;
+        }
+        if (accessFlags.contains(AccessFlag.ABSTRACT)) {
+            flags = flags | ABSTRACT;
+        }
+        if (accessFlags.contains(AccessFlag.NATIVE)) {
+            flags = flags | NATIVE;
+        }
+        return flags;
+    }
+
+    /// 在 [#_findFlags(Set)] 的基础上 附加 ClassKind.
+    static int _findClassFlags(Class<?> rawClass) {
+        var accessFlags = rawClass.accessFlags();
+        return _findFlags(accessFlags) | _findClassKind(rawClass, accessFlags).ordinal() << CLASS_KIND_SHIFT;
+    }
+
+    static AccessModifier accessModifier(int flags) {
+        return ACCESS_MODIFIERS[flags & ACCESS_MODIFIER_MASK];
+    }
+
+    static ClassKind classKind(int flags) {
+        return CLASS_KINDS[flags >>> CLASS_KIND_SHIFT & CLASS_KIND_MASK];
+    }
+
+    static boolean has(int flags, int flag) {
+        return (flags & flag) != 0;
+    }
+
+}
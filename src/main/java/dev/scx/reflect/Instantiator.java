@@ -0,0 +1,35 @@
+package dev.scx.reflect;
+
+import java.lang.reflect.InvocationTargetException;
+
+/// 构造器的调用器, 由 [ConstructorInfo#instantiator()] 创建并缓存.
+///
+/// 语义与 Constructor.newInstance 相同 (参数检查, 异常包装):
+/// - 参数个数或类型不合法时抛出 IllegalArgumentException (允许基本类型的拓宽转换).
+/// - 抽象类抛出 InstantiationException, 枚举类抛出 IllegalArgumentException.
+/// - 构造器本身抛出的异常包装为 InvocationTargetException.
+///
+/// 访问检查在创建时进行, 之后的调用不再检查 (之后的 setAccessible(false) 对已经创建的 Instantiator 没有影响, 见 [ConstructorInfo#instantiator()]).
+///
+/// @author scx567888
+/// @version 0.0.1
+public sealed interface Instantiator permits InstantiatorImpl {
+
+    Object newInstance(Object... args) throws InstantiationException, InvocationTargetException;
+
+    /// 无参构造器, 与 `newInstance()` 相同, 但不分配参数数组.
+    Object newInstance0() throws InstantiationException, InvocationTargetException;
+
+    /// 与 `newInstance(arg0)` 相同, 但不分配参数数组.
+    Object newInstance1(Object arg0) throws InstantiationException, InvocationTargetException;
+
+    /// 与 `newInstance(arg0, arg1)` 相同, 但不分配参数数组.
+    Object newInstance2(Object arg0, Object arg1) throws InstantiationException, InvocationTargetException;
+
+    /// 与 `newInstance(arg0, arg1, arg2)` 相同, 但不分配参数数组.
+    Object newInstance3(Object arg0, Object arg1, Object arg2) throws InstantiationException, InvocationTargetException;
+
+    /// 与 `newInstance(arg0, arg1, arg2, arg3)` 相同, 但不分配参数数组.
+    Object newInstance4(Object arg0, Object arg1, Object arg2, Object arg3) throws InstantiationException, InvocationTargetException;
+
+}
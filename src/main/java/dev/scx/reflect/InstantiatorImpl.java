@@ -0,0 +1,182 @@
+package dev.scx.reflect;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+import static dev.scx.reflect.MethodInvoker.MAX_FIXED_ARITY;
+import static dev.scx.reflect.MethodInvoker.checkArgument;
+import static dev.scx.reflect.ReflectSupport._isAccessible;
+
+/// InstantiatorImpl
+///
+/// - supplier: 无参构造器由 LambdaMetafactory 生成的 `Supplier`, 其中直接 `new` 目标类, 与直接调用构造器相同.
+///   生成的类位于当前包, 所以只用于当前包可以直接访问 (公开的类和构造器) 并且当前类加载器可见的类, 否则为 null.
+/// - spreader: `(Object[])Object`, 供 newInstance 使用.
+/// - fixed: `(Object ...)Object`, 参数个数不超过 [MethodInvoker#MAX_FIXED_ARITY] 时存在, 供 newInstance0 .. newInstance4 使用.
+///
+/// 参数的检查方式与 [MethodInvoker] 相同: 只在出现 ClassCastException 或 NullPointerException 时重新检查参数.
+/// 访问检查同样只在创建时进行, 创建时已经 setAccessible(true) 的记录在 [#override] 中, 由 ConstructorInfoImpl 在返回缓存前确认.
+///
+/// @author scx567888
+/// @version 0.0.1
+final class InstantiatorImpl implements Instantiator {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Class<?> declaringClass;
+    private final boolean isEnum;
+    private final boolean isAbstract;
+    private final Class<?>[] parameterTypes;
+    private final MethodHandle spreader;
+    private final MethodHandle fixed;
+    private final Supplier<?> supplier;
+    // 创建时是否已经 setAccessible(true)
+    final boolean override;
+
+    /// 访问检查与 Constructor.newInstance 相同: 以当前包的身份检查, 除非已经调用过 setAccessible(true).
+    InstantiatorImpl(Constructor<?> constructor) throws IllegalAccessException {
+        this.declaringClass = constructor.getDeclaringClass();
+        this.isEnum = declaringClass.isEnum();
+        this.isAbstract = Modifier.isAbstract(declaringClass.getModifiers());
+        this.parameterTypes = constructor.getParameterTypes();
+        // 在创建 MethodHandle 之前读取, unreflectConstructor 会使用此时的标志
+        this.override = _isAccessible(constructor);
+
+        // 可变参数构造器同样按照固定参数个数调用 (与 Constructor.newInstance 相同)
+        var handle = MethodHandles.lookup().unreflectConstructor(constructor).asFixedArity();
+        var generic = handle.asType(MethodType.genericMethodType(parameterTypes.length));
+        this.spreader = generic.asSpreader(Object[].class, parameterTypes.length);
+        this.fixed = parameterTypes.length <= MAX_FIXED_ARITY ? generic : null;
+        this.supplier = parameterTypes.length == 0 && !isEnum && !isAbstract ? generateSupplier(constructor, handle) : null;
+    }
+
+    @Override
+    public Object newInstance(Object... args) throws InstantiationException, InvocationTargetException {
+        // 与 Constructor.newInstance 相同, null 等同于空数组. 无参时同样使用 supplier (例如 `defaultConstructor().newInstance()`)
+        if (args == null || args.length == 0) {
+            return newInstance0();
+        }
+        check(args.length);
+        try {
+            return (Object) spreader.invokeExact(args);
+        } catch (Throwable e) {
+            throw fail(e, args);
+        }
+    }
+
+    @Override
+    public Object newInstance0() throws InstantiationException, InvocationTargetException {
+        check(0);
+        if (supplier != null) {
+            try {
+                return supplier.get();
+            } catch (Throwable e) {
+                // 没有参数, 异常只可能来自构造器本身
+                throw new InvocationTargetException(e);
+            }
+        }
+        try {
+            return (Object) fixed.invokeExact();
+        } catch (Throwable e) {
+            throw fail(e, NO_ARGS);
+        }
+    }
+
+    @Override
+    public Object newInstance1(Object arg0) throws InstantiationException, InvocationTargetException {
+        check(1);
+        try {
+            return (Object) fixed.invokeExact(arg0);
+        } catch (Throwable e) {
+            throw fail(e, new Object[]{arg0});
+        }
+    }
+
+    @Override
+    public Object newInstance2(Object arg0, Object arg1) throws InstantiationException, InvocationTargetException {
+        check(2);
+        try {
+            return (Object) fixed.invokeExact(arg0, arg1);
+        } catch (Throwable e) {
+            throw fail(e, new Object[]{arg0, arg1});
+        }
+    }
+
+    @Override
+    public Object newInstance3(Object arg0, Object arg1, Object arg2) throws InstantiationException, InvocationTargetException {
+        check(3);
+        try {
+            return (Object) fixed.invokeExact(arg0, arg1, arg2);
+        } catch (Throwable e) {
+            throw fail(e, new Object[]{arg0, arg1, arg2});
+        }
+    }
+
+    @Override
+    public Object newInstance4(Object arg0, Object arg1, Object arg2, Object arg3) throws InstantiationException, InvocationTargetException {
+        check(4);
+        try {
+            return (Object) fixed.invokeExact(arg0, arg1, arg2, arg3);
+        } catch (Throwable e) {
+            throw fail(e, new Object[]{arg0, arg1, arg2, arg3});
+        }
+    }
+
+    /// 见 [MethodInvoker] 中的同名方法.
+    private InvocationTargetException fail(Throwable e, Object[] args) {
+        if (e instanceof ClassCastException || e instanceof NullPointerException) {
+            for (int i = 0; i < args.length; i = i + 1) {
+                checkArgument(parameterTypes[i], args[i]);
+            }
+        }
+        return new InvocationTargetException(e);
+    }
+
+    /// 检查顺序与 Constructor.newInstance 相同.
+    private void check(int length) throws InstantiationException {
+        if (isEnum) {
+            throw new IllegalArgumentException("Cannot reflectively create enum objects");
+        }
+        if (isAbstract) {
+            throw new InstantiationException(declaringClass.getName());
+        }
+        if (length != parameterTypes.length) {
+            throw new IllegalArgumentException("wrong number of arguments: " + length + " expected: " + parameterTypes.length);
+        }
+    }
+
+    /// 生成 `() -> new C()`, 无法生成时返回 null (退回 MethodHandle).
+    private static Supplier<?> generateSupplier(Constructor<?> constructor, MethodHandle handle) {
+        var declaringClass = constructor.getDeclaringClass();
+        // setAccessible(true) 只对 MethodHandle 有效, 生成的类中的字节码仍然受访问检查的约束
+        if (!Modifier.isPublic(constructor.getModifiers()) || !isVisible(declaringClass)) {
+            return null;
+        }
+        try {
+            var lookup = MethodHandles.lookup();
+            lookup.accessClass(declaringClass);
+            var callSite = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class), MethodType.methodType(Object.class), handle, MethodType.methodType(declaringClass));
+            return (Supplier<?>) callSite.getTarget().invokeExact();
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    /// 生成的类通过类名引用目标类, 需要当前类加载器解析到同一个类 (例如插件的类加载器中的类则不可见).
+    private static boolean isVisible(Class<?> c) {
+        try {
+            return Class.forName(c.getName(), false, InstantiatorImpl.class.getClassLoader()) == c;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+}
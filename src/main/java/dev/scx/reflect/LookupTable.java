@@ -0,0 +1,77 @@
+package dev.scx.reflect;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/// 只读哈希表 (开放寻址, 线性探测), 用于名称索引, 方法签名表 和 父类型索引.
+///
+/// 构建之后不可变, 查找时不分配任何对象. 负载因子不超过 0.5, 容量为 2 的幂.
+/// 键可以按 equals 比较 ([#byEquality(Map)], 例如 String), 也可以按引用比较 ([#byIdentity(Map)], 例如 Class 和规范化的 MethodSignature).
+///
+/// @author scx567888
+/// @version 0.0.1
+final class LookupTable<K, V> {
+
+    private final Object[] keys;
+    private final Object[] values;
+    private final int mask;
+    private final boolean identity;
+
+    private LookupTable(Map<K, V> entries, boolean identity) {
+        var capacity = Integer.highestOneBit(Math.max(entries.size(), 1)) << 2;
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+        this.identity = identity;
+        for (var entry : entries.entrySet()) {
+            var i = index(entry.getKey());
+            while (keys[i] != null) {
+                i = i + 1 & mask;
+            }
+            keys[i] = entry.getKey();
+            values[i] = entry.getValue();
+        }
+    }
+
+    /// 按 equals 比较键.
+    static <K, V> LookupTable<K, V> byEquality(Map<K, V> entries) {
+        return new LookupTable<>(entries, false);
+    }
+
+    /// 按引用比较键, 键的 hashCode 必须与引用一致 (或键已经规范化).
+    static <K, V> LookupTable<K, V> byIdentity(Map<K, V> entries) {
+        return new LookupTable<>(entries, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(K key) {
+        var i = index(key);
+        while (true) {
+            var k = keys[i];
+            if (k == null) {
+                return null;
+            }
+            if (k == key || !identity && k.equals(key)) {
+                return (V) values[i];
+            }
+            i = i + 1 & mask;
+        }
+    }
+
+    /// 遍历所有条目 (顺序不作保证).
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < keys.length; i = i + 1) {
+            var k = keys[i];
+            if (k != null) {
+                action.accept((K) k, (V) values[i]);
+            }
+        }
+    }
+
+    private int index(Object key) {
+        var h = key.hashCode();
+        return (h ^ h >>> 16) & mask;
+    }
+
+}
@@ -36,9 +36,28 @@ public sealed interface MethodInfo extends ExecutableInfo permits MethodInfoImpl
     /// 当前方法在继承关系中对应的全部父方法集合 (广度遍历顺序).
     MethodInfo[] allSuperMethods();
 
-    default Object invoke(Object obj, Object... args) throws InvocationTargetException, IllegalAccessException {
-        return rawMethod().invoke(obj, args);
-    }
+    // ************* 调用 **************
+    // 语义与 Method.invoke 相同 (访问检查, 参数检查, 异常包装), 但基于首次调用时创建并缓存的 MethodHandle.
+    // 访问检查在创建时进行. 依赖 setAccessible(true) 创建的 MethodHandle 只在该标志仍然有效时使用,
+    // setAccessible(false) 之后重新创建, 没有访问权限时抛出 IllegalAccessException.
+    // 静态方法忽略 obj, 实例方法 (包括接口的 default 方法) 按照 obj 的实际类型分派.
+
+    Object invoke(Object obj, Object... args) throws InvocationTargetException, IllegalAccessException;
+
+    /// 无参方法, 与 `invoke(obj)` 相同, 但不分配参数数组.
+    Object invoke0(Object obj) throws InvocationTargetException, IllegalAccessException;
+
+    /// 与 `invoke(obj, arg0)` 相同, 但不分配参数数组.
+    Object invoke1(Object obj, Object arg0) throws InvocationTargetException, IllegalAccessException;
+
+    /// 与 `invoke(obj, arg0, arg1)` 相同, 但不分配参数数组.
+    Object invoke2(Object obj, Object arg0, Object arg1) throws InvocationTargetException, IllegalAccessException;
+
+    /// 与 `invoke(obj, arg0, arg1, arg2)` 相同, 但不分配参数数组.
+    Object invoke3(Object obj, Object arg0, Object arg1, Object arg2) throws InvocationTargetException, IllegalAccessException;
+
+    /// 与 `invoke(obj, arg0, arg1, arg2, arg3)` 相同, 但不分配参数数组.
+    Object invoke4(Object obj, Object arg0, Object arg1, Object arg2, Object arg3) throws InvocationTargetException, IllegalAccessException;
 
     @Override
     default void setAccessible(boolean flag) {
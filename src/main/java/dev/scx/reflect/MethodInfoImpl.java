@@ -1,12 +1,14 @@
 package dev.scx.reflect;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.List;
 
+import static dev.scx.reflect.InfoFlags.*;
 import static dev.scx.reflect.ReflectSupport.*;
 import static dev.scx.reflect.TypeFactory.typeOfAny;
-import static java.lang.reflect.AccessFlag.*;
 
 /// MethodInfoImpl
 ///
@@ -14,49 +16,50 @@ import static java.lang.reflect.AccessFlag.*;
 /// @version 0.0.1
 final class MethodInfoImpl implements MethodInfo {
 
+    // 延迟成员的 VarHandle, 见 publish
+    private static final VarHandle SUPER_METHODS_HANDLE;
+    private static final VarHandle ALL_SUPER_METHODS_HANDLE;
+    private static final VarHandle INVOKER_HANDLE;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+            SUPER_METHODS_HANDLE = lookup.findVarHandle(MethodInfoImpl.class, "superMethods", MethodInfo[].class);
+            ALL_SUPER_METHODS_HANDLE = lookup.findVarHandle(MethodInfoImpl.class, "allSuperMethods", MethodInfo[].class);
+            INVOKER_HANDLE = lookup.findVarHandle(MethodInfoImpl.class, "invoker", MethodInvoker.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final Method rawMethod;
     private final ClassInfo declaringClass;
 
-    private final AccessModifier accessModifier;
-
-    private final boolean isStatic;
-    private final boolean isFinal;
-    private final boolean isAbstract;
-    private final boolean isDefault;
-    private final boolean isNative;
+    // 访问修饰符, static, final, abstract, default, native, 参见 InfoFlags
+    private final int flags;
 
     private final ParameterInfo[] parameters;
     private final TypeInfo returnType;
     private final MethodSignature signature;
 
-    // 锁
-    private final Lock LOCK;
-
-    private final int hashCode;
-
     private volatile MethodInfo[] superMethods;
     private volatile MethodInfo[] allSuperMethods;
+    // 首次调用时创建
+    private volatile MethodInvoker invoker;
 
     MethodInfoImpl(Method method, ClassInfo declaringClass) {
         this.rawMethod = method;
         this.declaringClass = declaringClass;
 
-        var accessFlags = this.rawMethod.accessFlags();
-
-        this.accessModifier = _findAccessModifier(accessFlags);
-        this.isStatic = accessFlags.contains(STATIC);
-        this.isFinal = accessFlags.contains(FINAL);
-        this.isAbstract = accessFlags.contains(ABSTRACT);
-        this.isDefault = this.rawMethod.isDefault();
-        this.isNative = accessFlags.contains(NATIVE);
+        var flags = _findFlags(this.rawMethod.accessFlags());
+        if (this.rawMethod.isDefault()) {
+            flags = flags | DEFAULT;
+        }
+        this.flags = flags;
 
         this.parameters = _findParameters(this.rawMethod, this);
-        this.returnType = typeOfAny(this.rawMethod.getGenericReturnType(), new TypeResolutionContext(this.declaringClass.allBindings()));
-        this.signature = new MethodSignature(this);
-
-        this.LOCK = new ReentrantLock();
-        // 缓存 hashCode
-        this.hashCode = this._hashCode();
+        this.returnType = typeOfAny(this.rawMethod.getGenericReturnType(), ((ClassInfoImpl) this.declaringClass).resolutionContext());
+        this.signature = MethodSignature.of(this);
     }
 
     @Override
@@ -71,7 +74,7 @@ final class MethodInfoImpl implements MethodInfo {
 
     @Override
     public AccessModifier accessModifier() {
-        return accessModifier;
+        return InfoFlags.accessModifier(flags);
     }
 
     @Override
@@ -81,27 +84,27 @@ final class MethodInfoImpl implements MethodInfo {
 
     @Override
     public boolean isStatic() {
-        return isStatic;
+        return has(flags, STATIC);
     }
 
     @Override
     public boolean isFinal() {
-        return isFinal;
+        return has(flags, FINAL);
     }
 
     @Override
     public boolean isAbstract() {
-        return isAbstract;
+        return has(flags, ABSTRACT);
     }
 
     @Override
     public boolean isDefault() {
-        return isDefault;
+        return has(flags, DEFAULT);
     }
 
     @Override
     public boolean isNative() {
-        return isNative;
+        return has(flags, NATIVE);
     }
 
     @Override
@@ -109,6 +112,21 @@ final class MethodInfoImpl implements MethodInfo {
         return parameters.clone();
     }
 
+    @Override
+    public int parameterCount() {
+        return parameters.length;
+    }
+
+    @Override
+    public ParameterInfo parameter(int index) {
+        return parameters[index];
+    }
+
+    @Override
+    public List<ParameterInfo> parameterList() {
+        return new ArrayView<>(parameters);
+    }
+
     @Override
     public TypeInfo returnType() {
         return returnType;
@@ -121,34 +139,70 @@ final class MethodInfoImpl implements MethodInfo {
 
     @Override
     public MethodInfo[] superMethods() {
+        var superMethods = this.superMethods;
         if (superMethods == null) {
-            LOCK.lock();
-            try {
-                if (superMethods == null) {
-                    superMethods = _findSuperMethods(this);
-                }
-            } finally {
-                LOCK.unlock();
-            }
+            superMethods = publish(SUPER_METHODS_HANDLE, _findSuperMethods(this));
         }
         return superMethods.clone();
     }
 
     @Override
     public MethodInfo[] allSuperMethods() {
+        var allSuperMethods = this.allSuperMethods;
         if (allSuperMethods == null) {
-            LOCK.lock();
-            try {
-                if (allSuperMethods == null) {
-                    allSuperMethods = _findAllSuperMethods(this);
-                }
-            } finally {
-                LOCK.unlock();
-            }
+            allSuperMethods = publish(ALL_SUPER_METHODS_HANDLE, _findAllSuperMethods(this));
         }
         return allSuperMethods.clone();
     }
 
+    @Override
+    public Object invoke(Object obj, Object... args) throws InvocationTargetException, IllegalAccessException {
+        return invoker().invoke(obj, args);
+    }
+
+    @Override
+    public Object invoke0(Object obj) throws InvocationTargetException, IllegalAccessException {
+        return invoker().invoke0(obj);
+    }
+
+    @Override
+    public Object invoke1(Object obj, Object arg0) throws InvocationTargetException, IllegalAccessException {
+        return invoker().invoke1(obj, arg0);
+    }
+
+    @Override
+    public Object invoke2(Object obj, Object arg0, Object arg1) throws InvocationTargetException, IllegalAccessException {
+        return invoker().invoke2(obj, arg0, arg1);
+    }
+
+    @Override
+    public Object invoke3(Object obj, Object arg0, Object arg1, Object arg2) throws InvocationTargetException, IllegalAccessException {
+        return invoker().invoke3(obj, arg0, arg1, arg2);
+    }
+
+    @Override
+    public Object invoke4(Object obj, Object arg0, Object arg1, Object arg2, Object arg3) throws InvocationTargetException, IllegalAccessException {
+        return invoker().invoke4(obj, arg0, arg1, arg2, arg3);
+    }
+
+    private MethodInvoker invoker() throws IllegalAccessException {
+        var invoker = this.invoker;
+        // 依赖 setAccessible(true) 创建的调用器在 setAccessible(false) 之后失效, 与 Method.invoke 相同, 重新进行访问检查
+        if (invoker == null || invoker.override && !_isAccessible(rawMethod)) {
+            // 没有访问权限时抛出异常且不替换缓存, 以便 setAccessible(true) 之后重试
+            var created = new MethodInvoker(rawMethod);
+            INVOKER_HANDLE.compareAndSet(this, invoker, created);
+            invoker = created;
+        }
+        return invoker;
+    }
+
+    /// 发布延迟成员的计算结果, 与 ClassInfoImpl 相同: 同时计算时只有第一个结果会被发布, 其余线程返回已发布的结果.
+    private MethodInfo[] publish(VarHandle handle, MethodInfo[] value) {
+        var witness = (MethodInfo[]) handle.compareAndExchange(this, (MethodInfo[]) null, value);
+        return witness != null ? witness : value;
+    }
+
     @Override
     public boolean equals(Object object) {
         if (object == this) {
@@ -160,37 +214,34 @@ final class MethodInfoImpl implements MethodInfo {
         return false;
     }
 
-    private int _hashCode() {
+    @Override
+    public int hashCode() {
+        // 不缓存, Method.hashCode() 本身足够廉价
         int result = MethodInfoImpl.class.hashCode();
         result = 31 * result + rawMethod.hashCode();
         return result;
     }
 
-    @Override
-    public int hashCode() {
-        return hashCode;
-    }
-
     @Override
     public String toString() {
         var sb = new StringBuilder();
 
         // 修饰符
-        sb.append(accessModifier.text());
+        sb.append(accessModifier().text());
 
-        if (isDefault) {
+        if (isDefault()) {
             sb.append(" default");
         }
-        if (isStatic) {
+        if (isStatic()) {
             sb.append(" static");
         }
-        if (isAbstract) {
+        if (isAbstract()) {
             sb.append(" abstract");
         }
-        if (isFinal) {
+        if (isFinal()) {
             sb.append(" final");
         }
-        if (isNative) {
+        if (isNative()) {
             sb.append(" native");
         }
 
@@ -0,0 +1,190 @@
+package dev.scx.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static dev.scx.reflect.ReflectSupport._isAccessible;
+
+/// 基于 MethodHandle 的方法调用器, 代替 Method.invoke.
+///
+/// - spreader: `(Object, Object[])Object`, 供 invoke 使用.
+/// - fixed: `(Object, Object ...)Object`, 参数个数不超过 [#MAX_FIXED_ARITY] 时存在, 供 invoke0 .. invoke4 使用, 无需分配参数数组.
+///   调用前先检查参数个数, 所以不会以错误的类型调用 fixed.
+///
+/// 静态方法忽略 obj. 实例方法 (包括接口的 default 方法) 与 Method.invoke 相同, 按照 obj 的实际类型分派.
+///
+/// 与 Method.invoke 保持一致: obj 和参数不合法时抛出 NullPointerException 或 IllegalArgumentException,
+/// 方法本身抛出的异常包装为 InvocationTargetException. 快速路径上不逐个检查参数, 见 [#fail(Throwable, Object, Object\[\])].
+///
+/// 访问检查只在创建时进行. 创建时已经 setAccessible(true) 的调用器记录在 [#override] 中,
+/// 缓存它的 MethodInfoImpl 在每次调用前确认该标志仍然有效, 否则重新创建 (重新进行访问检查).
+///
+/// @author scx567888
+/// @version 0.0.1
+final class MethodInvoker {
+
+    static final int MAX_FIXED_ARITY = 4;
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Class<?> declaringClass;
+    private final boolean isStatic;
+    private final Class<?>[] parameterTypes;
+    private final MethodHandle spreader;
+    private final MethodHandle fixed;
+    // 创建时是否已经 setAccessible(true)
+    final boolean override;
+
+    /// 访问检查与 Method.invoke 相同: 以当前包的身份检查, 除非已经调用过 setAccessible(true).
+    MethodInvoker(Method method) throws IllegalAccessException {
+        this.declaringClass = method.getDeclaringClass();
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        this.parameterTypes = method.getParameterTypes();
+        // 在创建 MethodHandle 之前读取, unreflect 会使用此时的标志
+        this.override = _isAccessible(method);
+
+        // 可变参数方法同样按照固定参数个数调用 (与 Method.invoke 相同)
+        var handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+        if (isStatic) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        var generic = handle.asType(MethodType.genericMethodType(parameterTypes.length + 1));
+        this.spreader = generic.asSpreader(Object[].class, parameterTypes.length);
+        this.fixed = parameterTypes.length <= MAX_FIXED_ARITY ? generic : null;
+    }
+
+    Object invoke(Object obj, Object[] args) throws InvocationTargetException {
+        // 与 Method.invoke 相同, null 等同于空数组
+        if (args == null) {
+            args = NO_ARGS;
+        }
+        checkArity(args.length);
+        try {
+            return (Object) spreader.invokeExact(obj, args);
+        } catch (Throwable e) {
+            throw fail(e, obj, args);
+        }
+    }
+
+    Object invoke0(Object obj) throws InvocationTargetException {
+        checkArity(0);
+        try {
+            return (Object) fixed.invokeExact(obj);
+        } catch (Throwable e) {
+            throw fail(e, obj, NO_ARGS);
+        }
+    }
+
+    Object invoke1(Object obj, Object arg0) throws InvocationTargetException {
+        checkArity(1);
+        try {
+            return (Object) fixed.invokeExact(obj, arg0);
+        } catch (Throwable e) {
+            throw fail(e, obj, new Object[]{arg0});
+        }
+    }
+
+    Object invoke2(Object obj, Object arg0, Object arg1) throws InvocationTargetException {
+        checkArity(2);
+        try {
+            return (Object) fixed.invokeExact(obj, arg0, arg1);
+        } catch (Throwable e) {
+            throw fail(e, obj, new Object[]{arg0, arg1});
+        }
+    }
+
+    Object invoke3(Object obj, Object arg0, Object arg1, Object arg2) throws InvocationTargetException {
+        checkArity(3);
+        try {
+            return (Object) fixed.invokeExact(obj, arg0, arg1, arg2);
+        } catch (Throwable e) {
+            throw fail(e, obj, new Object[]{arg0, arg1, arg2});
+        }
+    }
+
+    Object invoke4(Object obj, Object arg0, Object arg1, Object arg2, Object arg3) throws InvocationTargetException {
+        checkArity(4);
+        try {
+            return (Object) fixed.invokeExact(obj, arg0, arg1, arg2, arg3);
+        } catch (Throwable e) {
+            throw fail(e, obj, new Object[]{arg0, arg1, arg2, arg3});
+        }
+    }
+
+    /// 区分异常来自参数转换还是方法本身.
+    ///
+    /// MethodHandle 在进入方法之前完成 obj 和参数的类型转换, 不合法时抛出 ClassCastException 或 NullPointerException,
+    /// 此时方法本身并未执行. 所以只在出现这两种异常时重新检查 obj 和参数: 不合法则抛出与 Method.invoke 相同的异常,
+    /// 否则 (以及其他任何异常) 说明异常来自方法本身.
+    private InvocationTargetException fail(Throwable e, Object obj, Object[] args) {
+        if (e instanceof ClassCastException || e instanceof NullPointerException) {
+            checkReceiver(obj);
+            for (int i = 0; i < args.length; i = i + 1) {
+                checkArgument(parameterTypes[i], args[i]);
+            }
+        }
+        return new InvocationTargetException(e);
+    }
+
+    private void checkReceiver(Object obj) {
+        if (isStatic) {
+            return;
+        }
+        if (obj == null) {
+            throw new NullPointerException("Cannot invoke instance method on null object");
+        }
+        if (!declaringClass.isInstance(obj)) {
+            throw new IllegalArgumentException("object of type " + obj.getClass().getName() + " is not an instance of " + declaringClass.getName());
+        }
+    }
+
+    private void checkArity(int length) {
+        if (length != parameterTypes.length) {
+            throw new IllegalArgumentException("wrong number of arguments: " + length + " expected: " + parameterTypes.length);
+        }
+    }
+
+    /// 参数是否可以传递给 type 类型的形参: 引用类型为 null 或实例, 基本类型为对应的包装类型或可以拓宽转换的包装类型.
+    /// 与 Method.invoke 以及 MethodHandle.asType 的规则相同.
+    static void checkArgument(Class<?> type, Object arg) {
+        if (type.isPrimitive() ? !isWidenable(type, arg) : arg != null && !type.isInstance(arg)) {
+            throw new IllegalArgumentException("argument type mismatch");
+        }
+    }
+
+    private static boolean isWidenable(Class<?> type, Object arg) {
+        if (arg == null) {
+            return false;
+        }
+        if (type == int.class) {
+            return arg instanceof Integer || arg instanceof Short || arg instanceof Byte || arg instanceof Character;
+        }
+        if (type == long.class) {
+            return arg instanceof Long || arg instanceof Integer || arg instanceof Short || arg instanceof Byte || arg instanceof Character;
+        }
+        if (type == boolean.class) {
+            return arg instanceof Boolean;
+        }
+        if (type == double.class) {
+            return arg instanceof Double || arg instanceof Float || arg instanceof Long || arg instanceof Integer || arg instanceof Short || arg instanceof Byte || arg instanceof Character;
+        }
+        if (type == float.class) {
+            return arg instanceof Float || arg instanceof Long || arg instanceof Integer || arg instanceof Short || arg instanceof Byte || arg instanceof Character;
+        }
+        if (type == short.class) {
+            return arg instanceof Short || arg instanceof Byte;
+        }
+        if (type == byte.class) {
+            return arg instanceof Byte;
+        }
+        if (type == char.class) {
+            return arg instanceof Character;
+        }
+        return false;
+    }
+
+}
@@ -1,25 +1,69 @@
 package dev.scx.reflect;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static dev.scx.reflect.ReflectSupport._findParameterTypes;
 
 /// MethodSignature
 ///
+/// 所有实例都经过全局弱引用池规范化: 同时存活的两个等价签名一定是同一个实例, 所以 equals 即为引用相等.
+/// 没有任何人持有的签名可以被回收 (例如其参数类型所在的类加载器被卸载), 之后再次创建会得到一个新的 (同样唯一的) 实例.
+///
 /// @author scx567888
 /// @version 0.0.1
 public final class MethodSignature {
 
+    // 规范实例, key 和 value 均为 WeakKey
+    private static final ConcurrentHashMap<Object, WeakKey> POOL = new ConcurrentHashMap<>();
+    // 已被回收的规范实例
+    private static final ReferenceQueue<MethodSignature> STALE = new ReferenceQueue<>();
+
     private final String name;
     private final Class<?>[] parameterTypes;
 
     private final int hashCode;
 
-    MethodSignature(MethodInfo methodInfo) {
-        this.name = methodInfo.name();
-        this.parameterTypes = _findParameterTypes(methodInfo);
+    private MethodSignature(String name, Class<?>[] parameterTypes, int hashCode) {
+        this.name = name;
+        this.parameterTypes = parameterTypes;
         // 缓存 hashCode
-        this.hashCode = this._hashCode();
+        this.hashCode = hashCode;
+    }
+
+    /// 获取 methodInfo 对应的规范签名. 池中已存在时不会创建参数类型数组.
+    static MethodSignature of(MethodInfo methodInfo) {
+        expungeStale();
+        var probe = new Probe(methodInfo);
+        var old = POOL.get(probe);
+        if (old != null) {
+            var signature = old.get();
+            if (signature != null) {
+                return signature;
+            }
+        }
+        var signature = new MethodSignature(methodInfo.name(), _findParameterTypes(methodInfo), probe.hashCode);
+        var key = new WeakKey(signature);
+        while (true) {
+            old = POOL.putIfAbsent(key, key);
+            if (old == null) {
+                return signature;
+            }
+            var oldSignature = old.get();
+            if (oldSignature != null) {
+                return oldSignature;
+            }
+            // 旧实例恰好在比较之后被回收, 说明已经没有任何人持有它, 移除后重试.
+            POOL.remove(old, old);
+        }
+    }
+
+    private static void expungeStale() {
+        for (var ref = STALE.poll(); ref != null; ref = STALE.poll()) {
+            POOL.remove(ref, ref);
+        }
     }
 
     public String name() {
@@ -30,21 +74,15 @@ public final class MethodSignature {
         return parameterTypes.clone();
     }
 
-    @Override
-    public boolean equals(Object object) {
-        if (object == this) {
-            return true;
-        }
-        if (object instanceof MethodSignature o) {
-            return name.equals(o.name) && Arrays.equals(parameterTypes, o.parameterTypes);
-        }
-        return false;
+    /// 与 `Arrays.equals(parameterTypes(), parameterTypes)` 相同, 但不复制数组.
+    boolean parameterTypesEquals(Class<?>[] parameterTypes) {
+        return Arrays.equals(this.parameterTypes, parameterTypes);
     }
 
-    private int _hashCode() {
-        int result = name.hashCode();
-        result = 31 * result + Arrays.hashCode(parameterTypes);
-        return result;
+    /// 实例已经规范化, 引用相等即等价.
+    @Override
+    public boolean equals(Object object) {
+        return object == this;
     }
 
     @Override
@@ -68,4 +106,90 @@ public final class MethodSignature {
         return sb.toString();
     }
 
+    /// 池中的 key, 只弱引用 MethodSignature.
+    private static final class WeakKey extends WeakReference<MethodSignature> {
+
+        private final int hashCode;
+
+        private WeakKey(MethodSignature signature) {
+            super(signature, STALE);
+            this.hashCode = signature.hashCode;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object == this) {
+                return true;
+            }
+            // 已被回收的 key 只和自身相等
+            var signature = get();
+            if (signature == null) {
+                return false;
+            }
+            if (object instanceof WeakKey o) {
+                var other = o.get();
+                return other != null && signature.name.equals(other.name) && Arrays.equals(signature.parameterTypes, other.parameterTypes);
+            }
+            if (object instanceof Probe o) {
+                return o.matches(signature);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+    /// 仅用于查找的临时 key, 直接比较 methodInfo 的参数, 无需先构建参数类型数组.
+    ///
+    /// hashCode 与 `name.hashCode() * 31 + Arrays.hashCode(parameterTypes)` 一致.
+    private static final class Probe {
+
+        private final MethodInfo methodInfo;
+        private final int hashCode;
+
+        private Probe(MethodInfo methodInfo) {
+            this.methodInfo = methodInfo;
+            var parameterHash = 1;
+            for (int i = 0; i < methodInfo.parameterCount(); i = i + 1) {
+                parameterHash = 31 * parameterHash + methodInfo.parameter(i).parameterType().rawClass().hashCode();
+            }
+            this.hashCode = 31 * methodInfo.name().hashCode() + parameterHash;
+        }
+
+        private boolean matches(MethodSignature signature) {
+            var parameterTypes = signature.parameterTypes;
+            if (!signature.name.equals(methodInfo.name()) || parameterTypes.length != methodInfo.parameterCount()) {
+                return false;
+            }
+            for (int i = 0; i < parameterTypes.length; i = i + 1) {
+                if (parameterTypes[i] != methodInfo.parameter(i).parameterType().rawClass()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object == this) {
+                return true;
+            }
+            if (object instanceof WeakKey o) {
+                var signature = o.get();
+                return signature != null && matches(signature);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
 }
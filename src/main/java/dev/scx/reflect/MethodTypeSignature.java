@@ -0,0 +1,47 @@
+package dev.scx.reflect;
+
+/// 方法签名的解析结果, 见 [ScxReflect#parseMethodSignature(String, TypeBindings, ClassLoader)].
+///
+/// @author scx567888
+/// @version 0.0.1
+public final class MethodTypeSignature {
+
+    private final TypeInfo[] parameterTypes;
+    private final TypeInfo returnType;
+    private final TypeInfo[] exceptionTypes;
+
+    MethodTypeSignature(TypeInfo[] parameterTypes, TypeInfo returnType, TypeInfo[] exceptionTypes) {
+        this.parameterTypes = parameterTypes;
+        this.returnType = returnType;
+        this.exceptionTypes = exceptionTypes;
+    }
+
+    public TypeInfo[] parameterTypes() {
+        return parameterTypes.clone();
+    }
+
+    /// 返回值类型, 无返回值时为 void
+    public TypeInfo returnType() {
+        return returnType;
+    }
+
+    /// 签名中声明的异常类型, 描述符中不包含异常类型
+    public TypeInfo[] exceptionTypes() {
+        return exceptionTypes.clone();
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder();
+        sb.append("(");
+        for (int i = 0; i < parameterTypes.length; i = i + 1) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(parameterTypes[i]);
+        }
+        sb.append(")").append(returnType);
+        return sb.toString();
+    }
+
+}
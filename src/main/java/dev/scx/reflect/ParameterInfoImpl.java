@@ -1,34 +1,41 @@
 package dev.scx.reflect;
 
+import java.lang.reflect.Executable;
 import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
 
 import static dev.scx.reflect.TypeFactory.typeOfAny;
 
 /// ParameterInfoImpl
 ///
+/// 不直接持有 Parameter, 而是通过 所属的 Executable 和 索引 按需获取,
+/// 因为 Executable.getParameters() 会在每个 Executable 上缓存 Parameter 数组以及合成的参数名称, 占用的内存远大于 ParameterInfoImpl 本身.
+/// 代价是 Executable.getParameters() 每次调用都会复制一次 Parameter 数组, 所以 rawParameter() 每次调用都会分配,
+/// 而 name() 只在第一次调用时获取, 之后使用缓存的名称.
+///
 /// @author scx567888
 /// @version 0.0.1
 final class ParameterInfoImpl implements ParameterInfo {
 
-    private final Parameter rawParameter;
     private final ExecutableInfo declaringExecutable;
+    private final int index;
 
     private final TypeInfo parameterType;
 
-    private final int hashCode;
+    // 参数名称, 首次调用 name() 时获取. String 不可变, 并发时最多重复获取几次, 无需 volatile.
+    private String name;
 
-    ParameterInfoImpl(Parameter parameter, ExecutableInfo declaringExecutable) {
-        this.rawParameter = parameter;
+    ParameterInfoImpl(ExecutableInfo declaringExecutable, int index, Type parameterizedType) {
         this.declaringExecutable = declaringExecutable;
+        this.index = index;
 
-        this.parameterType = typeOfAny(this.rawParameter.getParameterizedType(), new TypeResolutionContext(this.declaringExecutable.declaringClass().allBindings()));
-        // 缓存 hashCode
-        this.hashCode = this._hashCode();
+        this.parameterType = typeOfAny(parameterizedType, ((ClassInfoImpl) this.declaringExecutable.declaringClass()).resolutionContext());
     }
 
     @Override
     public Parameter rawParameter() {
-        return rawParameter;
+        // Parameter 由 Executable 缓存, 多次调用返回的是同一个实例 (但 getParameters() 每次都会复制数组)
+        return rawExecutable().getParameters()[index];
     }
 
     @Override
@@ -38,7 +45,12 @@ final class ParameterInfoImpl implements ParameterInfo {
 
     @Override
     public String name() {
-        return rawParameter.getName();
+        var name = this.name;
+        if (name == null) {
+            name = rawParameter().getName();
+            this.name = name;
+        }
+        return name;
     }
 
     @Override
@@ -52,25 +64,29 @@ final class ParameterInfoImpl implements ParameterInfo {
             return true;
         }
         if (object instanceof ParameterInfoImpl o) {
-            return rawParameter.equals(o.rawParameter);
+            return index == o.index && rawExecutable().equals(o.rawExecutable());
         }
         return false;
     }
 
-    private int _hashCode() {
+    @Override
+    public int hashCode() {
         int result = ParameterInfoImpl.class.hashCode();
-        result = 31 * result + rawParameter.hashCode();
+        // 与 Parameter.hashCode() 一致
+        result = 31 * result + (rawExecutable().hashCode() ^ index);
         return result;
     }
 
     @Override
-    public int hashCode() {
-        return hashCode;
+    public String toString() {
+        return parameterType.toString() + " " + name();
     }
 
-    @Override
-    public String toString() {
-        return parameterType.toString() + " " + rawParameter.getName();
+    private Executable rawExecutable() {
+        return switch (declaringExecutable) {
+            case MethodInfo m -> m.rawMethod();
+            case ConstructorInfo c -> c.rawConstructor();
+        };
     }
 
 }
@@ -0,0 +1,86 @@
+package dev.scx.reflect;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+/// 批量预加载的结果, 见 [ScxReflect#preload(java.util.Collection, java.util.concurrent.Executor)] 和 [WarmupProfile#replay(java.util.concurrent.Executor, ClassLoader)].
+///
+/// @author scx567888
+/// @version 0.0.1
+public final class PreloadReport {
+
+    private final int requestedCount;
+    private final int preloadedCount;
+    private final long elapsedNanos;
+    private final Map<TypeInfo, Long> timings;
+    private final Map<String, Throwable> failures;
+
+    PreloadReport(int requestedCount, int preloadedCount, long elapsedNanos, Map<TypeInfo, Long> timings, Map<String, Throwable> failures) {
+        this.requestedCount = requestedCount;
+        this.preloadedCount = preloadedCount;
+        this.elapsedNanos = elapsedNanos;
+        this.timings = Map.copyOf(timings);
+        this.failures = Map.copyOf(failures);
+    }
+
+    /// 传入的类型个数 (包含重复的)
+    public int requestedCount() {
+        return requestedCount;
+    }
+
+    /// 实际预加载的不同 TypeInfo 个数, 包含传入类型的所有父类, 接口 以及数组的元素类型
+    public int preloadedCount() {
+        return preloadedCount;
+    }
+
+    /// 从开始到全部完成的总耗时 (纳秒)
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /// 每个 ClassInfo 解析成员 (例如 allFields, allMethods, constructors, recordComponents) 的耗时 (纳秒), 不包含无需解析成员的类型.
+    ///
+    /// 父类型在此之前已经完成, 所以这里不包含父类型的耗时.
+    public Map<TypeInfo, Long> timings() {
+        return timings;
+    }
+
+    /// 所有 timings 之和, 即在各个线程上花费的总耗时 (纳秒)
+    public long totalNanos() {
+        var total = 0L;
+        for (var nanos : timings.values()) {
+            total = total + nanos;
+        }
+        return total;
+    }
+
+    /// 预加载失败的传入类型名称 ([java.lang.reflect.Type#getTypeName()] 或 [WarmupProfile] 中的名称) 及其异常 (例如 NoClassDefFoundError).
+    /// 父类型失败时, 所有依赖它的传入类型都会失败.
+    public Map<String, Throwable> failures() {
+        return failures;
+    }
+
+    @Override
+    public String toString() {
+        var slowest = new ArrayList<>(timings.entrySet());
+        slowest.sort(Map.Entry.<TypeInfo, Long>comparingByValue().reversed());
+        var sb = new StringBuilder();
+        sb.append("PreloadReport{");
+        sb.append("requested=").append(requestedCount);
+        sb.append(", preloaded=").append(preloadedCount);
+        sb.append(", failures=").append(failures.size());
+        sb.append(", elapsed=").append(elapsedNanos / 1_000_000).append("ms");
+        sb.append(", total=").append(totalNanos() / 1_000_000).append("ms");
+        sb.append(", slowest=[");
+        for (int i = 0; i < slowest.size() && i < 5; i = i + 1) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            var entry = slowest.get(i);
+            sb.append(entry.getKey()).append("=").append(entry.getValue() / 1000).append("us");
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,236 @@
+package dev.scx.reflect;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import static dev.scx.reflect.TypeBindingsImpl.EMPTY_BINDINGS;
+import static dev.scx.reflect.TypeFactory.typeOfAny;
+import static dev.scx.reflect.WarmupRecorder.*;
+import static java.util.Objects.requireNonNull;
+
+/// 批量并行预加载, 见 [ScxReflect#preload(Collection, Executor)] 和 [WarmupProfile#replay(Executor, ClassLoader)].
+///
+/// 分为两个阶段:
+///
+/// 1. 并行得到每个传入类型的 TypeInfo, 以及需要解析的成员.
+/// 2. 并行预加载这些 TypeInfo.
+///
+/// 第 2 阶段中, 每个 ClassInfo 对应一个 CompletableFuture, 以规范实例为 key 保存在 tasks 中,
+/// 所以无论有多少个子类同时到达同一个父类, 父类也只会被预加载一次, 其余的只是依赖同一个 future.
+///
+/// 一个 ClassInfo 的预加载分为两步:
+///
+/// 1. 解析 superClass 和 interfaces, 并 (异步) 预加载它们.
+/// 2. 父类型全部完成后, 解析自身需要的成员.
+///
+/// 因为 allFields 和 allMethods 依赖父类型的结果, 所以第 2 步开始时父类型的结果已经存在, 不会在父类型的锁上等待.
+/// 依赖关系全部通过 future 组合表达, 没有任何任务会阻塞等待另一个预加载任务完成, 所以即使是固定大小的线程池也不会出现饥饿.
+///
+/// @author scx567888
+/// @version 0.0.1
+final class Preloader {
+
+    /// [ScxReflect#preload(Collection, Executor)] 解析的成员
+    static final int PRELOAD_MEMBERS = ALL_FIELDS | ALL_METHODS | CONSTRUCTORS | RECORD_COMPONENTS;
+
+    private final Executor executor;
+    // 未出现在 members 中的类型 (例如只是作为父类型被到达) 需要解析的成员
+    private final int defaultMembers;
+    private final ConcurrentHashMap<TypeInfo, Integer> members;
+    private final ConcurrentHashMap<TypeInfo, CompletableFuture<Void>> tasks;
+    private final ConcurrentHashMap<TypeInfo, Long> timings;
+    private final ConcurrentHashMap<String, Throwable> failures;
+
+    private Preloader(Executor executor, int defaultMembers) {
+        this.executor = requireNonNull(executor, "executor must not be null");
+        this.defaultMembers = defaultMembers;
+        this.members = new ConcurrentHashMap<>();
+        this.tasks = new ConcurrentHashMap<>();
+        this.timings = new ConcurrentHashMap<>();
+        this.failures = new ConcurrentHashMap<>();
+    }
+
+    public static PreloadReport preload(Collection<? extends Type> types, Executor executor) {
+        requireNonNull(types, "types must not be null");
+        var sources = new ArrayList<Source>(types.size());
+        for (var type : types) {
+            requireNonNull(type, "types must not contain null");
+            sources.add(new Source(type.getTypeName(), () -> typeOfAny(type, new TypeResolutionContext(EMPTY_BINDINGS)), PRELOAD_MEMBERS));
+        }
+        return new Preloader(executor, PRELOAD_MEMBERS).run(sources);
+    }
+
+    public static PreloadReport replay(Map<String, Integer> entries, Executor executor, ClassLoader classLoader) {
+        var sources = new ArrayList<Source>(entries.size());
+        for (var entry : entries.entrySet()) {
+            var typeName = entry.getKey();
+            sources.add(new Source(typeName, () -> TypeParser.parse(typeName, classLoader), entry.getValue()));
+        }
+        // 只解析记录中被使用到的成员
+        return new Preloader(executor, 0).run(sources);
+    }
+
+    private PreloadReport run(List<Source> sources) {
+        var start = System.nanoTime();
+
+        // 1. 得到 TypeInfo. 第一次遇到的类型构建起来可能很慢 (例如参数化类型), 所以同样放在 executor 中执行.
+        var resolved = new ArrayList<CompletableFuture<TypeInfo>>(sources.size());
+        for (var source : sources) {
+            resolved.add(CompletableFuture.supplyAsync(() -> {
+                var typeInfo = source.resolver.get();
+                members.merge(typeInfo, source.members, (a, b) -> a | b);
+                return typeInfo;
+            }, executor));
+        }
+        awaitAll(sources, resolved);
+
+        // 2. 预加载, 此时 members 已经完整
+        var preloaded = new ArrayList<CompletableFuture<Void>>(sources.size());
+        for (var future : resolved) {
+            var typeInfo = future.isCompletedExceptionally() ? null : future.join();
+            preloaded.add(typeInfo != null ? preload(typeInfo) : CompletableFuture.completedFuture(null));
+        }
+        awaitAll(sources, preloaded);
+
+        var elapsedNanos = System.nanoTime() - start;
+        return new PreloadReport(sources.size(), tasks.size(), elapsedNanos, timings, failures);
+    }
+
+    /// 等待全部完成, 并将失败记录在 failures 中.
+    private void awaitAll(List<Source> sources, List<? extends CompletableFuture<?>> futures) {
+        CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).handle((_, _) -> null).join();
+        for (int i = 0; i < futures.size(); i = i + 1) {
+            var future = futures.get(i);
+            if (future.isCompletedExceptionally()) {
+                try {
+                    future.join();
+                } catch (CompletionException e) {
+                    failures.putIfAbsent(sources.get(i).name, unwrap(e));
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<Void> preload(TypeInfo typeInfo) {
+        var task = tasks.get(typeInfo);
+        if (task != null) {
+            return task;
+        }
+        // 这里不能使用 computeIfAbsent, 因为 start 会递归调用 preload
+        var newTask = new CompletableFuture<Void>();
+        task = tasks.putIfAbsent(typeInfo, newTask);
+        if (task != null) {
+            return task;
+        }
+        start(typeInfo).whenComplete((_, e) -> {
+            if (e != null) {
+                newTask.completeExceptionally(unwrap(e));
+            } else {
+                newTask.complete(null);
+            }
+        });
+        return newTask;
+    }
+
+    private CompletableFuture<Void> start(TypeInfo typeInfo) {
+        return switch (typeInfo) {
+            case ClassInfo classInfo -> CompletableFuture.supplyAsync(() -> superTypes(classInfo), executor)
+                    .thenCompose(this::preloadAll)
+                    .thenRunAsync(() -> resolveMembers(classInfo), executor);
+            case ArrayTypeInfo arrayTypeInfo -> preload(arrayTypeInfo.componentType());
+            case PrimitiveTypeInfo _ -> CompletableFuture.completedFuture(null);
+        };
+    }
+
+    private CompletableFuture<Void> preloadAll(ClassInfo[] classInfos) {
+        if (classInfos.length == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        var futures = new CompletableFuture<?>[classInfos.length];
+        for (int i = 0; i < classInfos.length; i = i + 1) {
+            futures[i] = preload(classInfos[i]);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    private void resolveMembers(ClassInfo classInfo) {
+        var m = members.getOrDefault(classInfo, defaultMembers);
+        if (m == 0) {
+            return;
+        }
+        var start = System.nanoTime();
+        resolveMembers(classInfo, m);
+        timings.put(classInfo, System.nanoTime() - start);
+    }
+
+    /// 按照 [WarmupRecorder] 中的成员常量解析成员, superClass 和 interfaces 已经在之前解析过.
+    private static void resolveMembers(ClassInfo classInfo, int members) {
+        if ((members & CONSTRUCTORS) != 0) {
+            classInfo.constructors();
+        }
+        if ((members & FIELDS) != 0) {
+            classInfo.fields();
+        }
+        if ((members & METHODS) != 0) {
+            classInfo.methods();
+        }
+        if ((members & RECORD_COMPONENTS) != 0) {
+            classInfo.recordComponents();
+        }
+        if ((members & ALL_SUPER_CLASSES) != 0) {
+            classInfo.allSuperClasses();
+        }
+        if ((members & ALL_INTERFACES) != 0) {
+            classInfo.allInterfaces();
+        }
+        if ((members & ALL_FIELDS) != 0) {
+            classInfo.allFields();
+        }
+        if ((members & ALL_METHODS) != 0) {
+            classInfo.allMethods();
+        }
+        if ((members & DEFAULT_CONSTRUCTOR) != 0) {
+            classInfo.defaultConstructor();
+        }
+        if ((members & RECORD_CONSTRUCTOR) != 0) {
+            classInfo.recordConstructor();
+        }
+    }
+
+    private static ClassInfo[] superTypes(ClassInfo classInfo) {
+        var superClass = classInfo.superClass();
+        var interfaces = classInfo.interfaces();
+        if (superClass == null) {
+            return interfaces;
+        }
+        var result = new ClassInfo[interfaces.length + 1];
+        result[0] = superClass;
+        System.arraycopy(interfaces, 0, result, 1, interfaces.length);
+        return result;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+
+    /// 一个传入类型.
+    ///
+    /// @param name     用于在 failures 中标识该类型
+    /// @param resolver 得到 TypeInfo
+    /// @param members  需要解析的成员
+    private record Source(String name, Supplier<TypeInfo> resolver, int members) {
+
+    }
+
+}
@@ -15,15 +15,11 @@ final class RecordComponentInfoImpl implements RecordComponentInfo {
 
     private final TypeInfo recordComponentType;
 
-    private final int hashCode;
-
     RecordComponentInfoImpl(RecordComponent recordComponent, ClassInfo declaringClass) {
         this.rawRecordComponent = recordComponent;
         this.declaringClass = declaringClass;
 
-        this.recordComponentType = typeOfAny(this.rawRecordComponent.getGenericType(), new TypeResolutionContext(this.declaringClass.allBindings()));
-        // 缓存 hashCode
-        this.hashCode = this._hashCode();
+        this.recordComponentType = typeOfAny(this.rawRecordComponent.getGenericType(), ((ClassInfoImpl) this.declaringClass).resolutionContext());
     }
 
     @Override
@@ -57,17 +53,13 @@ final class RecordComponentInfoImpl implements RecordComponentInfo {
         return false;
     }
 
-    private int _hashCode() {
+    @Override
+    public int hashCode() {
         int result = RecordComponentInfoImpl.class.hashCode();
         result = 31 * result + rawRecordComponent.hashCode();
         return result;
     }
 
-    @Override
-    public int hashCode() {
-        return hashCode;
-    }
-
     @Override
     public String toString() {
         return recordComponentType.toString() + " " + rawRecordComponent.getName();
@@ -14,6 +14,22 @@ import static java.util.Collections.addAll;
 /// @version 0.0.1
 final class ReflectSupport {
 
+    // 共享的空数组, 大量的类和方法都没有 接口, 字段, 参数, 父方法 等, 没有必要各自持有一个空数组.
+    private static final ClassInfo[] NO_CLASS_INFOS = new ClassInfo[0];
+    private static final FieldInfo[] NO_FIELD_INFOS = new FieldInfo[0];
+    private static final MethodInfo[] NO_METHOD_INFOS = new MethodInfo[0];
+    private static final RecordComponentInfo[] NO_RECORD_COMPONENT_INFOS = new RecordComponentInfo[0];
+    private static final ParameterInfo[] NO_PARAMETER_INFOS = new ParameterInfo[0];
+    private static final Class<?>[] NO_PARAMETER_TYPES = new Class<?>[0];
+
+    // 只有一个参数的方法 共享同一个参数类型数组 (以参数类型为键)
+    private static final ClassValue<Class<?>[]> SINGLE_PARAMETER_TYPES = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            return new Class<?>[]{type};
+        }
+    };
+
     // ************************ AccessModifier 相关 ***************************
 
     public static AccessModifier _findAccessModifier(Set<AccessFlag> accessFlags) {
@@ -29,6 +45,12 @@ final class ReflectSupport {
         return PACKAGE_PRIVATE;
     }
 
+    /// 是否已经调用过 setAccessible(true). canAccess 需要具体的实例, 无法用于检查缓存的调用器.
+    @SuppressWarnings("deprecation")
+    public static boolean _isAccessible(AccessibleObject accessibleObject) {
+        return accessibleObject.isAccessible();
+    }
+
     // ************************ ClassInfo 核心 相关 ***************************
 
     public static TypeBindings _findBindings(ParameterizedType type, TypeResolutionContext context) {
@@ -71,20 +93,23 @@ final class ReflectSupport {
         return CLASS;
     }
 
-    public static ClassInfo _findSuperClass(Class<?> rawClass, TypeBindings bindings) {
+    public static ClassInfo _findSuperClass(Class<?> rawClass, TypeResolutionContext context) {
         var superClass = rawClass.getGenericSuperclass();
         // superClass 只可能是 Class (非数组,非基本类型) 或 ParameterizedType (rawClass 同样非数组,非基本类型)
         // 所以我们 使用 typeOfAny 返回的也必然是 ClassInfo, 此处强转安全
-        return superClass != null ? (ClassInfo) typeOfAny(superClass, new TypeResolutionContext(bindings)) : null;
+        return superClass != null ? (ClassInfo) typeOfAny(superClass, context) : null;
     }
 
-    public static ClassInfo[] _findInterfaces(Class<?> rawClass, TypeBindings bindings) {
+    public static ClassInfo[] _findInterfaces(Class<?> rawClass, TypeResolutionContext context) {
         var interfaces = rawClass.getGenericInterfaces();
+        if (interfaces.length == 0) {
+            return NO_CLASS_INFOS;
+        }
         // interface 只可能是 Class (非数组, 非基本类型) 或 ParameterizedType (rawClass 同样非数组,非基本类型)
         // 所以我们 使用 typeOfAny 返回的也必然是 ClassInfo, 此处强转安全
         var result = new ClassInfo[interfaces.length];
         for (int i = 0; i < interfaces.length; i = i + 1) {
-            result[i] = (ClassInfo) typeOfAny(interfaces[i], new TypeResolutionContext(bindings));
+            result[i] = (ClassInfo) typeOfAny(interfaces[i], context);
         }
         return result;
     }
@@ -109,7 +134,7 @@ final class ReflectSupport {
             }
             list.add(new FieldInfoImpl(field, classInfo));
         }
-        return list.toArray(FieldInfo[]::new);
+        return list.toArray(NO_FIELD_INFOS);
     }
 
     /// 此处我们过滤掉 桥接方法 和 合成方法.
@@ -122,12 +147,12 @@ final class ReflectSupport {
             }
             list.add(new MethodInfoImpl(method, classInfo));
         }
-        return list.toArray(MethodInfo[]::new);
+        return list.toArray(NO_METHOD_INFOS);
     }
 
     public static RecordComponentInfo[] _findRecordComponents(ClassInfo classInfo) {
         if (classInfo.classKind() != RECORD) {
-            return new RecordComponentInfo[0];
+            return NO_RECORD_COMPONENT_INFOS;
         }
         var recordComponents = classInfo.rawClass().getRecordComponents();
         var result = new RecordComponentInfo[recordComponents.length];
@@ -141,10 +166,23 @@ final class ReflectSupport {
 
     /// 和 _findFields 和 _findMethods 不同 我们完整保留 参数.
     public static ParameterInfo[] _findParameters(Executable rawExecutable, ExecutableInfo executableInfo) {
-        var parameters = rawExecutable.getParameters();
-        var result = new ParameterInfo[parameters.length];
-        for (int i = 0; i < parameters.length; i = i + 1) {
-            result[i] = new ParameterInfoImpl(parameters[i], executableInfo);
+        var parameterCount = rawExecutable.getParameterCount();
+        if (parameterCount == 0) {
+            return NO_PARAMETER_INFOS;
+        }
+        // 此处不使用 getParameters(), 避免在 Executable 上缓存 Parameter 数组, 参见 ParameterInfoImpl.
+        var parameterizedTypes = rawExecutable.getGenericParameterTypes();
+        // 泛型签名中可能不包含 隐式参数 (例如 内部类构造函数的外部类实例), 此时只能回退到 Parameter.getParameterizedType()
+        if (parameterizedTypes.length != parameterCount) {
+            var parameters = rawExecutable.getParameters();
+            parameterizedTypes = new Type[parameterCount];
+            for (int i = 0; i < parameterCount; i = i + 1) {
+                parameterizedTypes[i] = parameters[i].getParameterizedType();
+            }
+        }
+        var result = new ParameterInfo[parameterCount];
+        for (int i = 0; i < parameterCount; i = i + 1) {
+            result[i] = new ParameterInfoImpl(executableInfo, i, parameterizedTypes[i]);
         }
         return result;
     }
@@ -153,10 +191,16 @@ final class ReflectSupport {
 
     public static Class<?>[] _findParameterTypes(MethodInfo methodInfo) {
         // 此处不能直接使用 Method.getParameterTypes(), 因为存在泛型擦除的问题
-        var parameterInfos = methodInfo.parameters();
-        var parameterTypes = new Class<?>[parameterInfos.length];
-        for (int i = 0; i < parameterInfos.length; i = i + 1) {
-            parameterTypes[i] = parameterInfos[i].parameterType().rawClass();
+        var parameterCount = methodInfo.parameterCount();
+        if (parameterCount == 0) {
+            return NO_PARAMETER_TYPES;
+        }
+        if (parameterCount == 1) {
+            return SINGLE_PARAMETER_TYPES.get(methodInfo.parameter(0).parameterType().rawClass());
+        }
+        var parameterTypes = new Class<?>[parameterCount];
+        for (int i = 0; i < parameterCount; i = i + 1) {
+            parameterTypes[i] = methodInfo.parameter(i).parameterType().rawClass();
         }
         return parameterTypes;
     }
@@ -207,7 +251,7 @@ final class ReflectSupport {
             addAll(queue, current.interfaces());
         }
 
-        return result.toArray(MethodInfo[]::new);
+        return result.toArray(NO_METHOD_INFOS);
     }
 
     public static MethodInfo[] _findAllSuperMethods(MethodInfo methodInfo) {
@@ -226,7 +270,7 @@ final class ReflectSupport {
             addAll(queue, current.superMethods());
         }
 
-        return result.toArray(MethodInfo[]::new);
+        return result.toArray(NO_METHOD_INFOS);
     }
 
     /// 判断是否为重写方法
@@ -243,17 +287,51 @@ final class ReflectSupport {
             return false;
         }
         if (superMethod.accessModifier() == PACKAGE_PRIVATE) {
-            var p1 = superMethod.declaringClass().rawClass().getPackageName();
-            var p2 = methodInfo.declaringClass().rawClass().getPackageName();
             // 不同包, 无法重写.
-            if (!p1.equals(p2)) {
+            if (!_isSamePackage(superMethod.declaringClass().rawClass(), methodInfo.declaringClass().rawClass())) {
                 return false;
             }
         }
 
         // 3, 判断方法签名. 返回值无需判断 编译器已保证.
-        return methodInfo.signature().equals(superMethod.signature());
+        // 签名已经规范化, 直接比较引用.
+        return methodInfo.signature() == superMethod.signature();
+
+    }
+
+    /// 判断 methodInfo 是否 (直接或经由中间方法间接) 重写了 superMethod, 结果与 `methodInfo.allSuperMethods()` 包含 superMethod 一致.
+    /// 调用方需保证两者都是实例方法, 且方法签名一致 (例如 allMethods 中同一签名分组内的方法).
+    ///
+    /// 类似虚方法表的思路: 可重写的 (非 private, 非 final) 方法, 只要其声明类型是 methodInfo 声明类型的父类型 (同一个参数化实例), 就一定被重写,
+    /// 因为继承路径上要么直接重写, 要么经由某个中间方法间接重写. 借助父类型索引, 此判断为 O(1), 无需广度遍历父方法.
+    public static boolean _isOverriddenBy(MethodInfo superMethod, MethodInfo methodInfo) {
+        if (superMethod.isFinal() || superMethod.accessModifier() == PRIVATE) {
+            return false;
+        }
+        var superClass = superMethod.declaringClass();
+        var declaringClass = methodInfo.declaringClass();
+        if (superClass.rawClass() == declaringClass.rawClass()) {
+            return false;
+        }
+        if (!superClass.equals(declaringClass.findSuperType(superClass.rawClass()))) {
+            return false;
+        }
+        // 包私有方法能否被重写取决于继承路径上的每一个中间方法 (例如经由同包的 public 方法被其他包的子类间接重写), 此时使用完整的计算.
+        if (superMethod.accessModifier() == PACKAGE_PRIVATE) {
+            for (var m : methodInfo.allSuperMethods()) {
+                if (m.equals(superMethod)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
 
+    /// 是否位于同一个运行时包 (相同的类加载器 和 相同的包名).
+    /// Class.getPackageName() 会缓存 intern 之后的字符串, 所以此处的 equals 通常直接以引用相等返回.
+    public static boolean _isSamePackage(Class<?> c1, Class<?> c2) {
+        return c1.getClassLoader() == c2.getClassLoader() && c1.getPackageName().equals(c2.getPackageName());
     }
 
     // ************************ ClassInfo 高级 相关 ***************************
@@ -304,7 +382,7 @@ final class ReflectSupport {
             result.add(superClass);
             superClass = superClass.superClass();
         }
-        return result.toArray(ClassInfo[]::new);
+        return result.toArray(NO_CLASS_INFOS);
     }
 
     public static ClassInfo[] _findAllInterfaces(ClassInfo classInfo) {
@@ -344,7 +422,7 @@ final class ReflectSupport {
             }
         }
 
-        return result.toArray(ClassInfo[]::new);
+        return result.toArray(NO_CLASS_INFOS);
     }
 
     /// 所有字段都保留 无论是否 static.
@@ -365,84 +443,258 @@ final class ReflectSupport {
             addAll(result, i.allFields());
         }
 
-        return result.toArray(FieldInfo[]::new);
+        return result.toArray(NO_FIELD_INFOS);
     }
 
     /// 所有静态方法完整保留 + 移除所有被重写的方法.
+    ///
+    /// 以父类和接口已经计算好的 allMethods (即它们各自的 "签名 -> 方法" 表) 为基础, 并入当前类声明的方法,
+    /// 只有出现多个同签名方法的表项才需要进行重写检查, 其余表项直接沿用. 父类的结果只会计算一次, 不会逐层重新展开.
+    ///
+    /// 注意这里仍然会遍历一次父类的 allMethods 来构建当前类的表, 而不是直接共享父类的表:
+    /// - 结果是每个类各自持有的数组, 共享表也需要复制一次, 代价与遍历相同.
+    /// - 同签名方法组的选择与当前类所在的包有关 (包私有方法是否可继承), 从父类继承来的多方法组需要以当前类重新检查.
     public static MethodInfo[] _findAllMethods(ClassInfo classInfo) {
         var staticMethods = new LinkedHashSet<MethodInfo>();
-        var instanceMethods = new LinkedHashSet<MethodInfo>();
+        // 值为 MethodInfo (只有一个方法时, 绝大多数情况) 或 ArrayList<MethodInfo> (存在多个同签名方法时).
+        // 签名已经规范化 (equals 即引用相等), 所以此处的分组实际上是按引用分组.
+        var table = new LinkedHashMap<MethodSignature, Object>();
 
         // 1. 添加当前类声明的方法.
-        for (var method : classInfo.methods()) {
-            if (method.isStatic()) {
-                staticMethods.add(method);
+        for (var method : classInfo.methodList()) {
+            _addMethod(staticMethods, table, method);
+        }
+
+        // 2. 添加父类的所有方法.
+        var superClass = classInfo.superClass();
+        if (superClass != null) {
+            for (var method : superClass.allMethodList()) {
+                _addMethod(staticMethods, table, method);
+            }
+        }
+
+        // 3. 添加接口的所有方法.
+        for (var i : classInfo.interfaceList()) {
+            for (var method : i.allMethodList()) {
+                _addMethod(staticMethods, table, method);
+            }
+        }
+
+        // 合并
+        var result = new ArrayList<MethodInfo>(staticMethods.size() + table.size());
+        // 静态方法永远保留.
+        result.addAll(staticMethods);
+        // 只保留未被重写的实例方法.
+        for (var entry : table.values()) {
+            if (entry instanceof MethodInfo methodInfo) {
+                // 只有一个 无需检查
+                result.add(methodInfo);
             } else {
-                instanceMethods.add(method);
+                // 存在多个我们需要寻找真正需要保留的方法.
+                @SuppressWarnings("unchecked")
+                var methodInfos = (List<MethodInfo>) entry;
+                result.addAll(_selectMethods(classInfo, methodInfos));
             }
         }
+        return result.toArray(NO_METHOD_INFOS);
+    }
 
-        // 2. 添加父类的所有方法.
+    /// 按方法签名并入方法表, 相同的方法 (例如经由多条路径继承的同一个接口方法) 只保留一次.
+    private static void _addMethod(Set<MethodInfo> staticMethods, Map<MethodSignature, Object> table, MethodInfo method) {
+        if (method.isStatic()) {
+            staticMethods.add(method);
+            return;
+        }
+        var signature = method.signature();
+        var entry = table.putIfAbsent(signature, method);
+        if (entry == null) {
+            return;
+        }
+        if (entry instanceof MethodInfo existing) {
+            if (!existing.equals(method)) {
+                var methodInfos = new ArrayList<MethodInfo>(4);
+                methodInfos.add(existing);
+                methodInfos.add(method);
+                table.put(signature, methodInfos);
+            }
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        var methodInfos = (List<MethodInfo>) entry;
+        if (!methodInfos.contains(method)) {
+            methodInfos.add(method);
+        }
+    }
+
+    // ************************ 名称索引 相关 ***************************
+
+    /// 同名字段 (字段隐藏) 时, 保留声明类型在继承体系中最近的字段: 当前类 > 父类 (由近及远) > 接口 (广度遍历顺序).
+    /// 这里不依赖 allFields 的顺序, 因为 allFields 中父类的接口字段排在当前类的接口字段之前, 与上述优先级并不相同.
+    public static LookupTable<String, FieldInfo> _findFieldIndex(ClassInfo classInfo, FieldInfo[] allFields) {
+        var rank = new HashMap<ClassInfo, Integer>();
+        rank.put(classInfo, 0);
+        for (var c : classInfo.allSuperClasses()) {
+            rank.putIfAbsent(c, rank.size());
+        }
+        for (var i : classInfo.allInterfaces()) {
+            rank.putIfAbsent(i, rank.size());
+        }
+        var map = new HashMap<String, FieldInfo>();
+        for (var field : allFields) {
+            map.merge(field.name(), field, (a, b) -> {
+                var rankA = rank.getOrDefault(a.declaringClass(), Integer.MAX_VALUE);
+                var rankB = rank.getOrDefault(b.declaringClass(), Integer.MAX_VALUE);
+                return rankB < rankA ? b : a;
+            });
+        }
+        return LookupTable.byEquality(map);
+    }
+
+    /// 重写已经由 allMethods 处理, 此处只按名称分组 (保持 allMethods 中的顺序).
+    public static LookupTable<String, List<MethodInfo>> _findMethodIndex(MethodInfo[] allMethods) {
+        var map = new HashMap<String, List<MethodInfo>>();
+        for (var method : allMethods) {
+            map.computeIfAbsent(method.name(), _ -> new ArrayList<>()).add(method);
+        }
+        map.replaceAll((_, methods) -> List.copyOf(methods));
+        return LookupTable.byEquality(map);
+    }
+
+    /// 为每个实例方法签名预先选出实际生效的方法, 选择规则见 [#_resolveMethod(ClassInfo, List)].
+    /// 签名已经规范化, 按引用比较.
+    public static LookupTable<MethodSignature, MethodInfo> _findMethodTable(ClassInfo classInfo, MethodInfo[] allMethods) {
+        var grouped = new HashMap<MethodSignature, List<MethodInfo>>();
+        for (var method : allMethods) {
+            if (!method.isStatic()) {
+                grouped.computeIfAbsent(method.signature(), _ -> new ArrayList<>(1)).add(method);
+            }
+        }
+        var map = new HashMap<MethodSignature, MethodInfo>();
+        for (var group : grouped.entrySet()) {
+            var method = _resolveMethod(classInfo, group.getValue());
+            if (method != null) {
+                map.put(group.getKey(), method);
+            }
+        }
+        return LookupTable.byIdentity(map);
+    }
+
+    /// 从原始类型到 (参数化的) 父类型 ClassInfo 的索引, 包含类型自身, 见 [ClassInfo#findSuperType(Class)].
+    ///
+    /// 在 直接接口 和 直接父类 的索引之上增量构建 (它们已经是以当前类型的绑定解析过的 ClassInfo, 可以直接复用).
+    /// 同一个原始类型只可能以同一种参数化出现在继承体系中, 所以合并的顺序并不重要.
+    /// 如果确实出现了冲突 (例如存在原始类型的使用), 则按照 allInterfaces 的顺序取第一个, 与逐个遍历的结果一致.
+    public static LookupTable<Class<?>, ClassInfo> _findSuperTypeIndex(ClassInfo classInfo) {
+        var entries = new LinkedHashMap<Class<?>, ClassInfo>();
+        var conflicts = new HashSet<Class<?>>();
+        entries.put(classInfo.rawClass(), classInfo);
+        for (var i : classInfo.interfaceList()) {
+            _mergeSuperTypeIndex(entries, conflicts, ((ClassInfoImpl) i).superTypeIndex());
+        }
         var superClass = classInfo.superClass();
         if (superClass != null) {
-            for (var method : superClass.allMethods()) {
-                if (method.isStatic()) {
-                    staticMethods.add(method);
-                } else {
-                    instanceMethods.add(method);
+            _mergeSuperTypeIndex(entries, conflicts, ((ClassInfoImpl) superClass).superTypeIndex());
+        }
+        for (var conflict : conflicts) {
+            for (var i : classInfo.allInterfaceStream().toList()) {
+                if (i.rawClass() == conflict) {
+                    entries.put(conflict, i);
+                    break;
                 }
             }
         }
+        return LookupTable.byIdentity(entries);
+    }
 
-        // 3. 添加接口的所有方法.
-        for (var i : classInfo.interfaces()) {
-            for (var method : i.allMethods()) {
-                if (method.isStatic()) {
-                    staticMethods.add(method);
-                } else {
-                    instanceMethods.add(method);
+    private static void _mergeSuperTypeIndex(Map<Class<?>, ClassInfo> entries, Set<Class<?>> conflicts, LookupTable<Class<?>, ClassInfo> other) {
+        other.forEach((key, value) -> {
+            var existing = entries.putIfAbsent(key, value);
+            if (existing != null && !existing.equals(value)) {
+                conflicts.add(key);
+            }
+        });
+    }
+
+    /// 在同签名实例方法组 (来自 allMethods) 中选择实际生效的方法.
+    ///
+    /// allMethods 会保留不可继承的方法 (例如父类的 private 方法), 这类方法不会被当前类型分派到, 因此跳过.
+    public static MethodInfo _resolveMethod(ClassInfo classInfo, List<MethodInfo> methodInfos) {
+        // 只有一个 (绝大多数情况)
+        if (methodInfos.size() == 1) {
+            var methodInfo = methodInfos.get(0);
+            var declared = methodInfo.declaringClass().rawClass() == classInfo.rawClass();
+            return declared || _isInheritableFrom(methodInfo, classInfo) ? methodInfo : null;
+        }
+        // 1. 当前类声明的方法, 其次是父类中由近及远的可继承方法.
+        for (var c = classInfo; c != null; c = c.superClass()) {
+            for (var methodInfo : methodInfos) {
+                if (methodInfo.declaringClass().rawClass() == c.rawClass() && (c == classInfo || _isInheritableFrom(methodInfo, classInfo))) {
+                    return methodInfo;
                 }
             }
         }
+        // 2. 接口方法: default 方法优先于抽象方法.
+        MethodInfo abstractMethod = null;
+        for (var methodInfo : methodInfos) {
+            if (methodInfo.declaringClass().classKind() != INTERFACE || !_isInheritableFrom(methodInfo, classInfo)) {
+                continue;
+            }
+            if (!methodInfo.isAbstract()) {
+                return methodInfo;
+            }
+            if (abstractMethod == null) {
+                abstractMethod = methodInfo;
+            }
+        }
+        return abstractMethod;
+    }
 
-        List<MethodInfo> finalInstanceMethods = new ArrayList<>();
-        // 这里我们需要对 instanceMethod 进行覆写检查.
-        // 先按照方法签名分组.
-        var grouped = new LinkedHashMap<MethodSignature, List<MethodInfo>>();
-        for (var instanceMethod : instanceMethods) {
-            grouped.computeIfAbsent(instanceMethod.signature(), _ -> new ArrayList<>()).add(instanceMethod);
+    public static MethodInfo _findMethod(List<MethodInfo> methods, Class<?>[] parameterTypes) {
+        for (int i = 0; i < methods.size(); i = i + 1) {
+            var method = methods.get(i);
+            if (method.signature().parameterTypesEquals(parameterTypes)) {
+                return method;
+            }
         }
-        for (var group : grouped.entrySet()) {
-            var m = group.getValue();
-            // 只有一个 无需检查
-            if (m.size() == 1) {
-                finalInstanceMethods.addAll(m);
+        return null;
+    }
+
+    /// 与 MethodSignature 一致, 比较的是 解析泛型之后的 参数原始类型.
+    public static ConstructorInfo _findConstructor(ConstructorInfo[] constructors, Class<?>[] parameterTypes) {
+        for (var constructor : constructors) {
+            if (constructor.parameterCount() != parameterTypes.length) {
                 continue;
             }
-            // 存在多个我们需要寻找真正需要保留的方法.
-            var methodInfos = _selectMethods(classInfo, m);
-            finalInstanceMethods.addAll(methodInfos);
+            var matched = true;
+            for (int i = 0; i < parameterTypes.length; i = i + 1) {
+                if (constructor.parameter(i).parameterType().rawClass() != parameterTypes[i]) {
+                    matched = false;
+                    break;
+                }
+            }
+            if (matched) {
+                return constructor;
+            }
         }
-        // 合并
-        var result = new ArrayList<MethodInfo>();
-        // 静态方法永远保留.
-        result.addAll(staticMethods);
-        // 只保留未被重写的实例方法.
-        result.addAll(finalInstanceMethods);
-        return result.toArray(MethodInfo[]::new);
+        return null;
     }
 
     /// 在同签名实例方法组中选择当前类型视图应保留的方法
     public static List<MethodInfo> _selectMethods(ClassInfo classInfo, List<MethodInfo> methodInfos) {
-        // 1. 收集组内每个方法的全部父方法.
+        // 1. 找出组内已经被更具体的方法显式覆盖的方法.
         //    注意: methodInfos 中的方法已经满足:
         //    - 全部是实例方法
         //    - 方法签名一致
-        //    因此, 此处收集出来的 allSuperMethods() 正好表示:
-        //    "这个组中哪些方法已经被更具体的方法显式覆盖了".
+        //    因此, 组内某个方法出现在另一个方法的 allSuperMethods() 中, 即表示它已被显式覆盖.
+        //    这里使用等价的 _isOverriddenBy 判断, 避免为每个方法广度遍历全部父方法.
         var override = new ArrayList<MethodInfo>();
-        for (var methodInfo : methodInfos) {
-            addAll(override, methodInfo.allSuperMethods());
+        for (var superMethod : methodInfos) {
+            for (var methodInfo : methodInfos) {
+                if (methodInfo != superMethod && _isOverriddenBy(superMethod, methodInfo)) {
+                    override.add(superMethod);
+                    break;
+                }
+            }
         }
 
         // 2. 移除所有已经被显式重写的方法.
@@ -517,9 +769,7 @@ final class ReflectSupport {
 
         // 类的 package-private 仅同包可继承
         if (accessModifier == PACKAGE_PRIVATE) {
-            var p1 = declaringClass.rawClass().getPackageName();
-            var p2 = classInfo.rawClass().getPackageName();
-            return p1.equals(p2);
+            return _isSamePackage(declaringClass.rawClass(), classInfo.rawClass());
         }
 
         // public / protected
@@ -1,10 +1,14 @@
 package dev.scx.reflect;
 
 import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.concurrent.Executor;
 
 import static dev.scx.reflect.TypeBindingsImpl.EMPTY_BINDINGS;
 import static dev.scx.reflect.TypeFactory.typeOfAny;
+import static dev.scx.reflect.TypeFactory.typeOfArray;
 import static dev.scx.reflect.TypeFactory.typeOfClass;
+import static dev.scx.reflect.TypeFactory.typeOfParameterized;
 
 /// ScxReflect
 ///
@@ -21,7 +25,103 @@ public final class ScxReflect {
     }
 
     public static TypeInfo typeOf(TypeReference<?> typeReference) {
-        return typeOfAny(typeReference.type(), new TypeResolutionContext(EMPTY_BINDINGS));
+        return typeReference.typeInfo();
+    }
+
+    /// 构建参数化类型, 例如 `parameterized(Map.class, typeOf(String.class), x)` 表示 `Map<String, X>`.
+    ///
+    /// 返回的实例与 typeOf 等价的 ParameterizedType 得到的实例相同.
+    ///
+    /// @param rawClass  原始类
+    /// @param typeInfos 类型参数, 个数必须与 rawClass 的类型参数个数一致, 且不能是基本类型
+    /// @throws IllegalArgumentException 参数个数不一致, 类型参数为基本类型 或者 rawClass 为数组或基本类型
+    public static ClassInfo parameterized(Class<?> rawClass, TypeInfo... typeInfos) {
+        return typeOfParameterized(rawClass, typeInfos.clone(), null);
+    }
+
+    /// 构建外部类为参数化类型的参数化类型, 例如 `Outer<String>.Inner<Integer>`.
+    ///
+    /// @param declaringClass 外部类, 其 rawClass 必须是 rawClass 的外部类. 静态类的外部类只能是原始类型.
+    /// @see #parameterized(Class, TypeInfo...)
+    public static ClassInfo parameterized(ClassInfo declaringClass, Class<?> rawClass, TypeInfo... typeInfos) {
+        return typeOfParameterized(rawClass, typeInfos.clone(), declaringClass);
+    }
+
+    /// 构建数组类型, 返回的实例与 typeOf 等价的 GenericArrayType 或数组 Class 得到的实例相同.
+    public static ArrayTypeInfo arrayOf(TypeInfo componentType) {
+        return typeOfArray(componentType);
+    }
+
+    /// 解析 Java 源码形式的类型字符串, 例如 `java.util.Map<java.lang.String, java.util.List<com.acme.Order>>[]`.
+    ///
+    /// 返回的实例与 typeOf 等价的 Type 得到的实例相同. 解析结果会被缓存, 重复解析同一个字符串的开销仅为一次 Map 查找.
+    ///
+    /// @param text        类型字符串
+    /// @param classLoader 用于加载其中的类, null 表示 bootstrap 类加载器
+    /// @throws IllegalArgumentException 语法错误 或者 类不存在
+    public static TypeInfo parse(String text, ClassLoader classLoader) {
+        return TypeParser.parse(text, classLoader);
+    }
+
+    /// 解析 JVM 字段签名 (Signature 属性) 或字段描述符, 例如 `Ljava/util/List<Ljava/lang/String;>;`.
+    ///
+    /// @param bindings    用于解析其中的类型变量, 例如 `classInfo.allBindings()`, null 表示没有任何绑定
+    /// @param classLoader 用于加载其中的类, null 表示 bootstrap 类加载器
+    /// @throws IllegalArgumentException 签名格式错误, 类不存在 或者 存在未绑定的类型变量
+    public static TypeInfo parseFieldSignature(String signature, TypeBindings bindings, ClassLoader classLoader) {
+        return SignatureParser.parseFieldSignature(signature, bindings, classLoader);
+    }
+
+    /// 解析 JVM 方法签名 (Signature 属性) 或方法描述符, 例如 `<R:Ljava/lang/Object;>(TT;)TR;`.
+    ///
+    /// 方法自身声明的类型变量退化为其第一个上界.
+    ///
+    /// @see #parseFieldSignature(String, TypeBindings, ClassLoader)
+    public static MethodTypeSignature parseMethodSignature(String signature, TypeBindings bindings, ClassLoader classLoader) {
+        return SignatureParser.parseMethodSignature(signature, bindings, classLoader);
+    }
+
+    /// 在 executor 上并行预加载一批类型, 以及它们的 allFields, allMethods, constructors 和 recordComponents, 阻塞直到全部完成.
+    ///
+    /// 共享的父类型 (父类, 接口) 只会被预加载一次, 即使同时有多个任务到达. 单个类型的失败不会中断其他类型, 而是记录在返回结果中.
+    ///
+    /// executor 可以是 `Executors.newVirtualThreadPerTaskExecutor()` 或 `ForkJoinPool.commonPool()` 等,
+    /// 预加载任务之间不会等待彼此完成, 所以固定大小的线程池同样适用.
+    ///
+    /// @param types    需要预加载的类型, 可以包含重复
+    /// @param executor 执行预加载任务的 Executor, 调用方负责其生命周期
+    public static PreloadReport preload(Collection<? extends Type> types, Executor executor) {
+        return Preloader.preload(types, executor);
+    }
+
+    /// 开始记录预热信息: 之后构建的每一个 TypeInfo, 以及每个 ClassInfo 实际被使用到的成员. 已经在记录时忽略.
+    ///
+    /// 记录期间会强引用所有被记录的 TypeInfo, 所以只应在启动阶段短暂开启.
+    /// 也可以通过系统属性 `dev.scx.reflect.warmup.recordTo=<文件路径>` 在启动时自动开始记录, 并在 JVM 退出时写入该文件.
+    ///
+    /// 在下次启动时通过 [WarmupProfile#read(java.nio.file.Path)] 和 [WarmupProfile#replay(Executor, ClassLoader)] 提前解析同样的类型.
+    public static void startWarmupRecording() {
+        WarmupRecorder.start();
+    }
+
+    /// 停止记录并返回记录结果, 未在记录时返回空的结果.
+    public static WarmupProfile stopWarmupRecording() {
+        return WarmupRecorder.stop();
+    }
+
+    /// 当前类型缓存的统计信息快照.
+    public static TypeCacheStats stats() {
+        return TypeCacheCounters.snapshot();
+    }
+
+    /// 将类型缓存的统计信息注册为 MXBean (`dev.scx.reflect:type=TypeCache`), 重复注册时忽略.
+    public static void registerStatsMBean() {
+        TypeCacheCounters.registerMBean();
+    }
+
+    /// 注销 [#registerStatsMBean()] 注册的 MXBean, 未注册时忽略.
+    public static void unregisterStatsMBean() {
+        TypeCacheCounters.unregisterMBean();
     }
 
 }
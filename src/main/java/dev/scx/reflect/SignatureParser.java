@@ -0,0 +1,363 @@
+package dev.scx.reflect;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
+import static dev.scx.reflect.TypeBindingsImpl.EMPTY_BINDINGS;
+import static dev.scx.reflect.TypeFactory.*;
+
+/// 将 JVM 的 Signature 属性 (以及不含泛型的描述符) 直接解析为规范的 TypeInfo (JVMS 4.7.9.1).
+///
+/// - 字段签名, 例如 `Ljava/util/List<Ljava/lang/String;>;`, `[I`, `TT;`.
+/// - 方法签名, 例如 `<R:Ljava/lang/Object;>(Ljava/util/function/Function<-TT;+TR;>;)TR;`.
+///
+/// 类型变量的解析规则:
+///
+/// - 方法签名自身声明的类型变量与 typeOf(Type) 一致, 退化为其第一个上界, 递归引用自身时退化为上界的原始类型.
+/// - 其余类型变量从调用方提供的 TypeBindings 中按名称查找 (例如 `classInfo.allBindings()`).
+/// - 未绑定的类型变量无法得知其上界, 直接抛出 IllegalArgumentException.
+///
+/// 通配符与 typeOf(Type) 一致退化为上界 (`*` 和 `-X` 退化为 Object).
+///
+/// 解析过程中不会创建任何 java.lang.reflect.Type, 而是直接通过 [TypeFactory#typeOfParameterized] 和 [TypeFactory#typeOfArray] 得到规范实例.
+///
+/// @author scx567888
+/// @version 0.0.1
+final class SignatureParser {
+
+    private static final TypeInfo[] NO_TYPE_INFOS = new TypeInfo[0];
+
+    private final String signature;
+    private final TypeBindings bindings;
+    private final ClassLoader classLoader;
+    private int pos;
+
+    // 方法签名中声明的类型参数: 名称 及 第一个上界在签名中的起始位置
+    private final ArrayList<String> typeParameterNames;
+    private final ArrayList<Integer> typeParameterBounds;
+    // 正在解析上界的类型参数, 用于检测递归
+    private final Set<String> resolvingTypeParameters;
+
+    private SignatureParser(String signature, TypeBindings bindings, ClassLoader classLoader) {
+        this.signature = signature;
+        this.bindings = bindings != null ? bindings : EMPTY_BINDINGS;
+        this.classLoader = classLoader;
+        this.pos = 0;
+        this.typeParameterNames = new ArrayList<>();
+        this.typeParameterBounds = new ArrayList<>();
+        this.resolvingTypeParameters = new HashSet<>();
+    }
+
+    /// 解析字段签名 (或字段描述符).
+    public static TypeInfo parseFieldSignature(String signature, TypeBindings bindings, ClassLoader classLoader) {
+        var parser = new SignatureParser(signature, bindings, classLoader);
+        var typeInfo = parser.parseJavaTypeSignature();
+        parser.expectEnd();
+        return typeInfo;
+    }
+
+    /// 解析方法签名 (或方法描述符).
+    public static MethodTypeSignature parseMethodSignature(String signature, TypeBindings bindings, ClassLoader classLoader) {
+        var parser = new SignatureParser(signature, bindings, classLoader);
+        parser.parseTypeParameters();
+        parser.expect('(');
+        var parameterTypes = new ArrayList<TypeInfo>();
+        while (parser.peek() != ')') {
+            parameterTypes.add(parser.parseJavaTypeSignature());
+        }
+        parser.pos = parser.pos + 1;
+        TypeInfo returnType;
+        if (parser.peek() == 'V') {
+            parser.pos = parser.pos + 1;
+            returnType = typeOfClass(void.class);
+        } else {
+            returnType = parser.parseJavaTypeSignature();
+        }
+        var exceptionTypes = new ArrayList<TypeInfo>();
+        while (parser.peek() == '^') {
+            parser.pos = parser.pos + 1;
+            exceptionTypes.add(parser.parseReferenceTypeSignature());
+        }
+        parser.expectEnd();
+        return new MethodTypeSignature(parameterTypes.toArray(TypeInfo[]::new), returnType, exceptionTypes.toArray(TypeInfo[]::new));
+    }
+
+    /// TypeParameters: '<' (Identifier ':' ReferenceTypeSignature? (':' ReferenceTypeSignature)*)+ '>'
+    ///
+    /// 这里只记录每个类型参数的名称和第一个上界的位置, 上界在用到时才解析 (上界之间可以互相引用).
+    private void parseTypeParameters() {
+        if (peek() != '<') {
+            return;
+        }
+        pos = pos + 1;
+        while (peek() != '>') {
+            var name = parseIdentifier(':');
+            expect(':');
+            int firstBound = -1;
+            // 类上界可以为空 (例如只有接口上界时)
+            if (peek() != ':') {
+                firstBound = pos;
+                skipReferenceTypeSignature();
+            }
+            while (peek() == ':') {
+                pos = pos + 1;
+                if (firstBound < 0) {
+                    firstBound = pos;
+                }
+                skipReferenceTypeSignature();
+            }
+            typeParameterNames.add(name);
+            typeParameterBounds.add(firstBound);
+        }
+        pos = pos + 1;
+    }
+
+    /// JavaTypeSignature: BaseType | ReferenceTypeSignature
+    private TypeInfo parseJavaTypeSignature() {
+        var primitiveClass = switch (peek()) {
+            case 'B' -> byte.class;
+            case 'C' -> char.class;
+            case 'D' -> double.class;
+            case 'F' -> float.class;
+            case 'I' -> int.class;
+            case 'J' -> long.class;
+            case 'S' -> short.class;
+            case 'Z' -> boolean.class;
+            default -> null;
+        };
+        if (primitiveClass != null) {
+            pos = pos + 1;
+            return typeOfClass(primitiveClass);
+        }
+        return parseReferenceTypeSignature();
+    }
+
+    /// ReferenceTypeSignature: ClassTypeSignature | TypeVariableSignature | ArrayTypeSignature
+    private TypeInfo parseReferenceTypeSignature() {
+        return switch (peek()) {
+            case 'L' -> parseClassTypeSignature();
+            case 'T' -> parseTypeVariableSignature();
+            case '[' -> {
+                pos = pos + 1;
+                yield typeOfArray(parseJavaTypeSignature());
+            }
+            default -> throw error("Expected reference type signature");
+        };
+    }
+
+    /// ClassTypeSignature: 'L' PackageSpecifier? SimpleClassTypeSignature ('.' SimpleClassTypeSignature)* ';'
+    private TypeInfo parseClassTypeSignature() {
+        var start = pos;
+        pos = pos + 1;
+        var nameStart = pos;
+        while (pos < signature.length() && "<;.".indexOf(signature.charAt(pos)) < 0) {
+            pos = pos + 1;
+        }
+        var rawClass = loadClass(signature.substring(nameStart, pos).replace('/', '.'), start);
+        var typeInfos = parseTypeArguments();
+        TypeInfo typeInfo = typeInfos != null ? parameterized(rawClass, typeInfos, null, start) : typeOfClass(rawClass);
+        // 成员类, 例如 Lpkg/Outer<TT;>.Inner<TU;>;
+        while (peek() == '.') {
+            pos = pos + 1;
+            var memberStart = pos;
+            while (pos < signature.length() && "<;.".indexOf(signature.charAt(pos)) < 0) {
+                pos = pos + 1;
+            }
+            var memberClass = loadClass(rawClass.getName() + "$" + signature.substring(memberStart, pos), memberStart);
+            var memberTypeInfos = parseTypeArguments();
+            typeInfo = parameterized(memberClass, memberTypeInfos != null ? memberTypeInfos : NO_TYPE_INFOS, (ClassInfo) typeInfo, memberStart);
+            rawClass = memberClass;
+        }
+        expect(';');
+        return typeInfo;
+    }
+
+    /// TypeArguments: '<' TypeArgument+ '>'
+    private TypeInfo[] parseTypeArguments() {
+        if (peek() != '<') {
+            return null;
+        }
+        pos = pos + 1;
+        var typeInfos = new ArrayList<TypeInfo>(2);
+        while (peek() != '>') {
+            typeInfos.add(parseTypeArgument());
+        }
+        pos = pos + 1;
+        return typeInfos.toArray(TypeInfo[]::new);
+    }
+
+    /// TypeArgument: WildcardIndicator? ReferenceTypeSignature | '*'
+    private TypeInfo parseTypeArgument() {
+        return switch (peek()) {
+            case '*' -> {
+                pos = pos + 1;
+                yield typeOfClass(Object.class);
+            }
+            case '+' -> {
+                pos = pos + 1;
+                yield parseReferenceTypeSignature();
+            }
+            case '-' -> {
+                pos = pos + 1;
+                // 与 typeOfWildcardType 一致, 忽略下界
+                parseReferenceTypeSignature();
+                yield typeOfClass(Object.class);
+            }
+            default -> parseReferenceTypeSignature();
+        };
+    }
+
+    /// TypeVariableSignature: 'T' Identifier ';'
+    private TypeInfo parseTypeVariableSignature() {
+        var start = pos;
+        pos = pos + 1;
+        var name = parseIdentifier(';');
+        expect(';');
+        // 方法自身声明的类型参数会遮蔽 bindings 中的同名类型参数 (与 Java 的作用域规则一致)
+        var index = typeParameterNames.lastIndexOf(name);
+        if (index >= 0) {
+            return resolveTypeParameter(name, typeParameterBounds.get(index));
+        }
+        var typeInfo = bindings.get(name);
+        if (typeInfo == null) {
+            throw error("Unbound type variable: " + name, start);
+        }
+        return typeInfo;
+    }
+
+    /// 将方法签名中声明的类型参数退化为其第一个上界.
+    private TypeInfo resolveTypeParameter(String name, int boundPos) {
+        var savedPos = pos;
+        try {
+            pos = boundPos;
+            // 上界中再次引用了自身 (例如 <T:Ljava/lang/Comparable<TT;>;>), 与 typeOfTypeVariable 一致退化为上界的原始类型
+            if (!resolvingTypeParameters.add(name)) {
+                return typeOfClass(loadBoundRawClass());
+            }
+            try {
+                return parseReferenceTypeSignature();
+            } finally {
+                resolvingTypeParameters.remove(name);
+            }
+        } finally {
+            pos = savedPos;
+        }
+    }
+
+    /// 读取当前位置上界的原始类型, 不解析其类型参数.
+    private Class<?> loadBoundRawClass() {
+        return switch (peek()) {
+            case 'L' -> {
+                var start = pos;
+                pos = pos + 1;
+                var nameStart = pos;
+                while (pos < signature.length() && "<;.".indexOf(signature.charAt(pos)) < 0) {
+                    pos = pos + 1;
+                }
+                yield loadClass(signature.substring(nameStart, pos).replace('/', '.'), start);
+            }
+            case '[' -> parseReferenceTypeSignature().rawClass();
+            case 'T' -> {
+                var start = pos;
+                pos = pos + 1;
+                var name = parseIdentifier(';');
+                var index = typeParameterNames.lastIndexOf(name);
+                if (index < 0) {
+                    var typeInfo = bindings.get(name);
+                    if (typeInfo == null) {
+                        throw error("Unbound type variable: " + name, start);
+                    }
+                    yield typeInfo.rawClass();
+                }
+                pos = typeParameterBounds.get(index);
+                yield loadBoundRawClass();
+            }
+            default -> throw error("Expected reference type signature");
+        };
+    }
+
+    /// 跳过一个 ReferenceTypeSignature, 只检查括号是否配对.
+    private void skipReferenceTypeSignature() {
+        var c = peek();
+        if (c == '[') {
+            pos = pos + 1;
+            if (peek() == 'L' || peek() == 'T' || peek() == '[') {
+                skipReferenceTypeSignature();
+            } else {
+                pos = pos + 1;
+            }
+            return;
+        }
+        if (c != 'L' && c != 'T') {
+            throw error("Expected reference type signature");
+        }
+        var depth = 0;
+        while (pos < signature.length()) {
+            var ch = signature.charAt(pos);
+            pos = pos + 1;
+            if (ch == '<') {
+                depth = depth + 1;
+            } else if (ch == '>') {
+                depth = depth - 1;
+            } else if (ch == ';' && depth == 0) {
+                return;
+            }
+        }
+        throw error("Unexpected end of signature");
+    }
+
+    private TypeInfo parameterized(Class<?> rawClass, TypeInfo[] typeInfos, ClassInfo declaringClass, int start) {
+        try {
+            return typeOfParameterized(rawClass, typeInfos, declaringClass);
+        } catch (IllegalArgumentException e) {
+            throw error(e.getMessage(), start);
+        }
+    }
+
+    private String parseIdentifier(char terminator) {
+        var start = pos;
+        while (pos < signature.length() && signature.charAt(pos) != terminator) {
+            pos = pos + 1;
+        }
+        if (pos == start) {
+            throw error("Expected identifier");
+        }
+        return signature.substring(start, pos);
+    }
+
+    private Class<?> loadClass(String name, int start) {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw error("Class not found: " + name, start);
+        }
+    }
+
+    /// 当前字符, 已到结尾时返回 0.
+    private char peek() {
+        return pos < signature.length() ? signature.charAt(pos) : 0;
+    }
+
+    private void expect(char c) {
+        if (peek() != c) {
+            throw error("Expected '" + c + "'");
+        }
+        pos = pos + 1;
+    }
+
+    private void expectEnd() {
+        if (pos != signature.length()) {
+            throw error("Unexpected character '" + signature.charAt(pos) + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return error(message, pos);
+    }
+
+    private IllegalArgumentException error(String message, int index) {
+        return new IllegalArgumentException(message + " at index " + index + " in \"" + signature + "\"");
+    }
+
+}
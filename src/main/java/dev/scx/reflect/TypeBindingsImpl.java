@@ -114,6 +114,16 @@ final class TypeBindingsImpl implements TypeBindings {
     }
 
     private int _hashCode() {
+        return hashCode(typeVariables, typeInfos);
+    }
+
+    /// 与 [#equals(Object)] 一致, 但无需先创建 TypeBindingsImpl.
+    public boolean equals(TypeVariable<?>[] typeVariables, TypeInfo[] typeInfos) {
+        return Arrays.equals(this.typeVariables, typeVariables) && Arrays.equals(this.typeInfos, typeInfos);
+    }
+
+    /// 与 [#hashCode()] 一致, 但无需先创建 TypeBindingsImpl.
+    public static int hashCode(TypeVariable<?>[] typeVariables, TypeInfo[] typeInfos) {
         int result = Arrays.hashCode(typeVariables);
         result = 31 * result + Arrays.hashCode(typeInfos);
         return result;
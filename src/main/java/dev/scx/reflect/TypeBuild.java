@@ -0,0 +1,132 @@
+package dev.scx.reflect;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import static dev.scx.reflect.TypeCacheCounters.*;
+
+/// 一次正在进行中的 TypeInfo 构建.
+///
+/// 用于 [TypeFactory] 的按 key 构建: 同一个 key 同一时刻只会由一个线程 (owner) 构建,
+/// 其他线程等待 owner 的构建结果, 而不同 key 的构建之间互不阻塞.
+///
+/// 由于构建过程中会递归解析其他类型 (例如 泛型参数, 外部类), 不同线程之间理论上可能互相等待形成环 (例如递归泛型).
+/// 所以每次等待之前, 我们会沿着 "owner 正在等待的构建" 这条链进行检测, 一旦发现链条回到当前线程, 当前线程就放弃等待, 自行构建.
+/// 自行构建的结果最终仍然会经过 [TypeFactory] 的规范化, 所以不会破坏 "语义上等价的类型始终映射到同一个 TypeInfo 实例".
+///
+/// @author scx567888
+/// @version 0.0.1
+final class TypeBuild {
+
+    // 正在进行中的构建, Key 可能是 Class, ParameterizedType, GenericArrayType.
+    // 构建完成后立即移除, 所以这里不会长期持有任何 Class.
+    private static final Map<Type, TypeBuild> BUILDS = new ConcurrentHashMap<>();
+
+    // 线程 -> 该线程当前正在等待的构建
+    private static final Map<Thread, TypeBuild> WAITING = new ConcurrentHashMap<>();
+
+    private final Thread owner;
+    private final CountDownLatch latch;
+    // 构建结果, 构建失败时为 null. 由 latch 保证可见性.
+    private TypeInfo result;
+
+    private TypeBuild(Thread owner) {
+        this.owner = owner;
+        this.latch = new CountDownLatch(1);
+    }
+
+    /// 保证同一个 key 只会被构建一次.
+    ///
+    /// @param cache   结果缓存, 构建完成后结果会以 key 写入其中.
+    ///                为 null 时表示结果由调用方自行发布 (例如 ClassValue).
+    /// @param key     key
+    /// @param builder 构建函数, 需要自行保证返回值是规范实例
+    public static TypeInfo computeOnce(TypeCacheSegment cache, Type key, Supplier<TypeInfo> builder) {
+        var kind = kindOf(key);
+        var result = cache != null ? cache.get(key) : null;
+        if (result != null) {
+            hit(kind);
+            return result;
+        }
+        miss(kind);
+        var build = new TypeBuild(Thread.currentThread());
+        var existing = BUILDS.putIfAbsent(key, build);
+        if (existing == null) {
+            // 当前线程是 owner
+            try {
+                // 双重检查, 上一个 owner 可能刚好在我们 get 之后完成
+                result = cache != null ? cache.get(key) : null;
+                if (result == null) {
+                    result = build(kind, builder);
+                    // 先写入缓存再移除构建, 保证之后到达的线程一定能看到结果
+                    if (cache != null) {
+                        cache.put(key, result);
+                    } else {
+                        entryAdded(kind);
+                    }
+                }
+                build.result = result;
+                return result;
+            } finally {
+                BUILDS.remove(key, build);
+                build.latch.countDown();
+            }
+        }
+        // 其他线程正在构建, 等待结果
+        result = existing.await();
+        if (result != null) {
+            return result;
+        }
+        // 发生了等待环 或者 owner 构建失败, 由当前线程自行构建 (不写入 key, 由 builder 负责规范化).
+        return build(kind, builder);
+    }
+
+    /// 构建并记录构建次数和耗时.
+    public static <T extends TypeInfo> T build(TypeCacheKind kind, Supplier<T> builder) {
+        var start = System.nanoTime();
+        try {
+            var result = builder.get();
+            WarmupRecorder.built(result);
+            return result;
+        } finally {
+            TypeCacheCounters.build(kind, System.nanoTime() - start);
+        }
+    }
+
+    /// 等待构建完成, 如果检测到等待环 或者 构建失败 则返回 null.
+    private TypeInfo await() {
+        var current = Thread.currentThread();
+        // 先登记再检测, 这样即使多个线程同时开始等待, 最后一个登记的线程也一定能看到完整的环.
+        WAITING.put(current, this);
+        try {
+            // 沿着等待链检测环, 步数上限用于防止在 "不包含当前线程的环" 上无限循环 (那个环会由其中的线程自己打破).
+            var build = this;
+            var maxSteps = WAITING.size() + 1;
+            for (int i = 0; build != null && i < maxSteps; i = i + 1) {
+                if (build.owner == current) {
+                    return null;
+                }
+                build = WAITING.get(build.owner);
+            }
+            var interrupted = false;
+            while (true) {
+                try {
+                    latch.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                current.interrupt();
+            }
+            return result;
+        } finally {
+            WAITING.remove(current);
+        }
+    }
+
+}
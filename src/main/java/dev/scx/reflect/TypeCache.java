@@ -0,0 +1,305 @@
+package dev.scx.reflect;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// TypeCache
+///
+/// [TypeFactory] 中除 Class 之外的缓存 (Key 为 ParameterizedType, GenericArrayType, ClassInfo, ArrayTypeInfo) 都按 "锚点 Class" 分段存放.
+///
+/// 每一段都通过 ClassValue 挂在锚点 Class 自身上, 而不是存放在一个全局的静态 Map 中.
+/// 锚点是 key 所引用到的全部 Class 中, 类加载器最 "具体" 的那一个 (例如 `List<PluginEntity>` 的锚点是 `PluginEntity`).
+/// 当 key 中全部的类加载器都位于锚点类加载器的父链上时, 段中的条目只会引用 锚点的类加载器 及其上层类加载器中的类,
+/// 当某个插件类加载器不再可达时, 挂在其中类上的缓存段 (以及其中的 ClassInfo 图) 会随之一起被回收, 不会造成 Metaspace 泄漏.
+///
+/// 但 key 也可能同时引用两个互不相关 (兄弟) 的类加载器中的类, 例如 `Map<PluginA, PluginB>`.
+/// 此时无论锚点选在哪一边, 段中的条目都会让锚点一侧的类加载器强引用另一侧的类加载器.
+/// 所以这类 key 会被放入锚点上的 "分离段" (见 [TypeCacheSegment]), 分离段只弱引用规范实例, 不会阻止任何一侧被回收.
+///
+/// 同一个 key 永远计算出同一个锚点 (以及是否分离), 所以 "语义上等价的类型始终映射到同一个 TypeInfo 实例" 的保证不受分段影响,
+/// 只是对于分离段, 与有界模式一样, 该保证仅限于仍被调用方持有的实例.
+///
+/// ## 有界模式
+///
+/// 默认情况下缓存是无界的. 对于会源源不断产生新类型 (例如 代码生成器产生的 `List<Foo$N>`) 的场景,
+/// 可以通过系统属性 `dev.scx.reflect.typeCache.capacity` 开启有界模式 (值为加速条目的最大数量).
+///
+/// 有界模式下:
+///
+/// - 加速条目 (ParameterizedType, GenericArrayType) 超出容量时按照 FIFO 顺序淘汰, 其 value 使用 SoftReference 持有.
+/// - 规范实例 (ClassInfo, ArrayTypeInfo) 使用 WeakReference 持有, 调用方仍然持有的实例永远是规范实例.
+/// - 当堆内存在 GC 之后仍然超过 `dev.scx.reflect.typeCache.heapUsageThreshold` (默认 0.8) 时, 清空全部加速条目.
+///
+/// Class 的缓存 (见 [TypeFactory]) 不受影响, 始终常驻.
+///
+/// @author scx567888
+/// @version 0.0.1
+final class TypeCache {
+
+    /// 加速条目的最大数量, 0 表示无界.
+    static final int CAPACITY = Integer.getInteger("dev.scx.reflect.typeCache.capacity", 0);
+
+    /// 是否为有界模式.
+    static final boolean BOUNDED = CAPACITY > 0;
+
+    private static final ClassValue<TypeCacheSegment> SEGMENTS = new ClassValue<>() {
+        @Override
+        protected TypeCacheSegment computeValue(Class<?> anchor) {
+            return new TypeCacheSegment(false);
+        }
+    };
+
+    // 引用了兄弟类加载器的 key 所在的分离段
+    private static final ClassValue<TypeCacheSegment> DETACHED_SEGMENTS = new ClassValue<>() {
+        @Override
+        protected TypeCacheSegment computeValue(Class<?> anchor) {
+            return new TypeCacheSegment(true);
+        }
+    };
+
+    // 有界模式下 加速条目的写入顺序, 只弱引用 段 和 key, 不会阻止类加载器被回收.
+    private static final ConcurrentLinkedQueue<TrackedAccelerator> ACCELERATORS = new ConcurrentLinkedQueue<>();
+
+    private static final AtomicInteger ACCELERATOR_COUNT = new AtomicInteger();
+
+    private static final ClassLoader PLATFORM_CLASS_LOADER = ClassLoader.getPlatformClassLoader();
+
+    private static final ClassLoader SYSTEM_CLASS_LOADER = ClassLoader.getSystemClassLoader();
+
+    static {
+        if (BOUNDED) {
+            var threshold = Double.parseDouble(System.getProperty("dev.scx.reflect.typeCache.heapUsageThreshold", "0.8"));
+            installMemoryListener(threshold);
+        }
+    }
+
+    /// 以 ParameterizedType 或 GenericArrayType 作为 key 时所在的缓存段.
+    public static TypeCacheSegment segmentOf(Type key) {
+        return new Anchor().visit(key).segment();
+    }
+
+    /// 以 ClassInfo 或 ArrayTypeInfo 作为 key 时所在的缓存段.
+    public static TypeCacheSegment segmentOf(TypeInfo key) {
+        return new Anchor().visit(key).segment();
+    }
+
+    /// 尚未构建的 ClassInfo 所在的缓存段, 与 [#segmentOf(TypeInfo)] 对构建完成后的 ClassInfo 的计算结果一致.
+    public static TypeCacheSegment segmentOf(Class<?> rawClass, TypeInfo[] typeInfos, ClassInfo declaringClass) {
+        var anchor = new Anchor();
+        // 访问顺序需要与 Anchor.visit(TypeInfo) 保持一致
+        anchor.accept(rawClass);
+        if (declaringClass != null) {
+            anchor.visit(declaringClass);
+        }
+        for (var t : typeInfos) {
+            anchor.visit(t);
+        }
+        return anchor.segment();
+    }
+
+    /// 记录一个新写入的加速条目, 超出容量时淘汰最早写入的条目.
+    static void trackAccelerator(TypeCacheSegment segment, Type key) {
+        ACCELERATORS.offer(new TrackedAccelerator(segment, key));
+        var count = ACCELERATOR_COUNT.incrementAndGet();
+        while (count > CAPACITY) {
+            if (!evictOldest()) {
+                break;
+            }
+            count = ACCELERATOR_COUNT.get();
+        }
+    }
+
+    /// 淘汰全部加速条目. 规范实例不受影响, 所以调用方持有的 TypeInfo 不会因此失去唯一性.
+    static void evictAccelerators() {
+        while (evictOldest()) {
+            // 继续淘汰
+        }
+    }
+
+    private static boolean evictOldest() {
+        var tracked = ACCELERATORS.poll();
+        if (tracked == null) {
+            return false;
+        }
+        ACCELERATOR_COUNT.decrementAndGet();
+        var segment = tracked.segment.get();
+        var key = tracked.key.get();
+        // 段或 key 已被回收时, 条目已经随之消失, 无需处理
+        if (segment != null && key != null) {
+            segment.remove(key);
+        }
+        return true;
+    }
+
+    /// 在支持的堆内存池上设置 GC 后使用量阈值, 超出时清空全部加速条目.
+    private static void installMemoryListener(double threshold) {
+        if (!(threshold > 0 && threshold < 1)) {
+            return;
+        }
+        for (var pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP || !pool.isCollectionUsageThresholdSupported()) {
+                continue;
+            }
+            var max = pool.getUsage().getMax();
+            // 不覆盖其他组件已经设置的阈值
+            if (max > 0 && pool.getCollectionUsageThreshold() == 0) {
+                pool.setCollectionUsageThreshold((long) (max * threshold));
+            }
+        }
+        if (ManagementFactory.getMemoryMXBean() instanceof NotificationEmitter emitter) {
+            emitter.addNotificationListener(TypeCache::onMemoryNotification, null, null);
+        }
+    }
+
+    private static void onMemoryNotification(Notification notification, Object handback) {
+        if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+            evictAccelerators();
+        }
+    }
+
+    /// 类加载器的 "具体程度".
+    ///
+    /// 内置类加载器依次为 bootstrap, platform, system, 其余自定义类加载器 (例如 插件) 总是比内置类加载器更具体,
+    /// 自定义类加载器之间则按照父链长度比较.
+    public static int loaderRank(ClassLoader classLoader) {
+        if (classLoader == null) {
+            return 0;
+        }
+        if (classLoader == PLATFORM_CLASS_LOADER) {
+            return 1;
+        }
+        if (classLoader == SYSTEM_CLASS_LOADER) {
+            return 2;
+        }
+        var rank = 3;
+        for (var parent = classLoader.getParent(); parent != null; parent = parent.getParent()) {
+            rank = rank + 1;
+        }
+        return rank;
+    }
+
+    /// ancestor 是否为 classLoader 本身 或 其父链上的类加载器 (bootstrap 类加载器是所有类加载器的祖先).
+    public static boolean isAncestorOrSelf(ClassLoader ancestor, ClassLoader classLoader) {
+        if (ancestor == null) {
+            return true;
+        }
+        for (var c = classLoader; c != null; c = c.getParent()) {
+            if (c == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class TrackedAccelerator {
+
+        private final WeakReference<TypeCacheSegment> segment;
+        private final WeakReference<Type> key;
+
+        private TrackedAccelerator(TypeCacheSegment segment, Type key) {
+            this.segment = new WeakReference<>(segment);
+            this.key = new WeakReference<>(key);
+        }
+
+    }
+
+    /// 在 key 所引用的全部 Class 中寻找锚点.
+    private static final class Anchor {
+
+        private Class<?> anchor;
+        private ClassLoader anchorLoader;
+        private int anchorRank;
+        // 是否引用了不在同一条父链上的类加载器
+        private boolean detached;
+
+        private void accept(Class<?> c) {
+            var classLoader = c.getClassLoader();
+            // 同一个类加载器时保留先访问到的 Class, 保证同一个 key 的锚点是确定的
+            if (anchor != null && classLoader == anchorLoader) {
+                return;
+            }
+            var rank = loaderRank(classLoader);
+            if (anchor == null || rank > anchorRank) {
+                // 之前的锚点 (以及已经在其父链上的类加载器) 必须位于新锚点的父链上
+                if (anchor != null && !isAncestorOrSelf(anchorLoader, classLoader)) {
+                    detached = true;
+                }
+                anchor = c;
+                anchorLoader = classLoader;
+                anchorRank = rank;
+            } else if (!isAncestorOrSelf(classLoader, anchorLoader)) {
+                detached = true;
+            }
+        }
+
+        private TypeCacheSegment segment() {
+            // 理论上 key 中至少会引用一个 Class, 这里只是兜底
+            var c = anchor != null ? anchor : Object.class;
+            return detached ? DETACHED_SEGMENTS.get(c) : SEGMENTS.get(c);
+        }
+
+        private Anchor visit(Type type) {
+            switch (type) {
+                case Class<?> c -> accept(c);
+                case ParameterizedType p -> {
+                    visit(p.getRawType());
+                    var ownerType = p.getOwnerType();
+                    if (ownerType != null) {
+                        visit(ownerType);
+                    }
+                    for (var actualTypeArgument : p.getActualTypeArguments()) {
+                        visit(actualTypeArgument);
+                    }
+                }
+                case GenericArrayType g -> visit(g.getGenericComponentType());
+                // 这里只访问 TypeVariable 的声明者, 不访问其上界 (上界可能再次引用自身), 上界中的类型必然对声明者可见.
+                case TypeVariable<?> t -> {
+                    switch (t.getGenericDeclaration()) {
+                        case Class<?> c -> accept(c);
+                        case Executable e -> accept(e.getDeclaringClass());
+                        default -> {
+                        }
+                    }
+                }
+                case WildcardType w -> {
+                    for (var upperBound : w.getUpperBounds()) {
+                        visit(upperBound);
+                    }
+                    for (var lowerBound : w.getLowerBounds()) {
+                        visit(lowerBound);
+                    }
+                }
+                default -> {
+                }
+            }
+            return this;
+        }
+
+        private Anchor visit(TypeInfo typeInfo) {
+            switch (typeInfo) {
+                case ClassInfo c -> {
+                    accept(c.rawClass());
+                    var declaringClass = c.declaringClass();
+                    if (declaringClass != null) {
+                        visit(declaringClass);
+                    }
+                    for (var t : c.bindings().typeInfos()) {
+                        visit(t);
+                    }
+                }
+                case ArrayTypeInfo a -> visit(a.componentType());
+                case PrimitiveTypeInfo p -> accept(p.rawClass());
+            }
+            return this;
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+package dev.scx.reflect;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/// TypeCache 的统计计数器.
+///
+/// 全部使用 LongAdder, 多线程同时计数时不会在同一个缓存行上产生竞争.
+///
+/// Class 的命中位于 `typeOf(Class)` 这一最热的路径上, 即使是 LongAdder 的一次累加也会使其耗时翻倍,
+/// 所以默认不统计, 需要时通过系统属性 `dev.scx.reflect.typeCache.classHitStats=true` 开启.
+/// 开启后只记录查找次数, 命中次数在生成快照时由 查找次数 - 未命中次数 得出.
+///
+/// @author scx567888
+/// @version 0.0.1
+final class TypeCacheCounters {
+
+    public static final ObjectName OBJECT_NAME = objectName("dev.scx.reflect:type=TypeCache");
+
+    /// 是否统计 Class 的命中次数
+    public static final boolean CLASS_HIT_STATS = Boolean.getBoolean("dev.scx.reflect.typeCache.classHitStats");
+
+    private static final int KINDS = TypeCacheKind.values().length;
+
+    private static final LongAdder CLASS_LOOKUPS = new LongAdder();
+    private static final LongAdder[] HITS = newAdders();
+    private static final LongAdder[] MISSES = newAdders();
+    private static final LongAdder[] BUILDS = newAdders();
+    private static final LongAdder[] BUILD_NANOS = newAdders();
+    private static final LongAdder[] DISCARDED_BUILDS = newAdders();
+    private static final LongAdder[] ENTRIES = newAdders();
+
+    public static void classLookup() {
+        CLASS_LOOKUPS.increment();
+    }
+
+    public static void hit(TypeCacheKind kind) {
+        HITS[kind.ordinal()].increment();
+    }
+
+    public static void miss(TypeCacheKind kind) {
+        MISSES[kind.ordinal()].increment();
+    }
+
+    public static void build(TypeCacheKind kind, long nanos) {
+        BUILDS[kind.ordinal()].increment();
+        BUILD_NANOS[kind.ordinal()].add(nanos);
+    }
+
+    public static void discardedBuild(TypeCacheKind kind) {
+        DISCARDED_BUILDS[kind.ordinal()].increment();
+    }
+
+    public static void entryAdded(TypeCacheKind kind) {
+        ENTRIES[kind.ordinal()].increment();
+    }
+
+    public static void entryRemoved(TypeCacheKind kind) {
+        ENTRIES[kind.ordinal()].decrement();
+    }
+
+    /// key 所对应的种类
+    public static TypeCacheKind kindOf(Object key) {
+        return switch (key) {
+            case Class<?> _ -> TypeCacheKind.CLASS;
+            case ParameterizedType _ -> TypeCacheKind.PARAMETERIZED_TYPE;
+            case GenericArrayType _ -> TypeCacheKind.GENERIC_ARRAY_TYPE;
+            case ArrayTypeInfo _ -> TypeCacheKind.ARRAY_TYPE_INFO;
+            default -> TypeCacheKind.CLASS_INFO;
+        };
+    }
+
+    public static TypeCacheStats snapshot() {
+        return new TypeCacheStats(hits(), sum(MISSES), sum(BUILDS), sum(BUILD_NANOS), sum(DISCARDED_BUILDS), sum(ENTRIES));
+    }
+
+    /// 注册 MXBean, 已经注册时直接返回.
+    public static void registerMBean() {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new StandardMBean(new StatsMXBean(), TypeCacheStatsMXBean.class, true), OBJECT_NAME);
+        } catch (InstanceAlreadyExistsException _) {
+            // 已经注册过
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    public static void unregisterMBean() {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(OBJECT_NAME);
+        } catch (InstanceNotFoundException _) {
+            // 没有注册过
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to unregister MBean: " + OBJECT_NAME, e);
+        }
+    }
+
+    private static LongAdder[] newAdders() {
+        var adders = new LongAdder[KINDS];
+        for (int i = 0; i < KINDS; i = i + 1) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static long[] hits() {
+        var hits = sum(HITS);
+        // 两个计数器分别读取, 并发时可能短暂不一致, 这里避免出现负数
+        if (!CLASS_HIT_STATS) {
+            return hits;
+        }
+        var classIndex = TypeCacheKind.CLASS.ordinal();
+        var lookups = CLASS_LOOKUPS.sum();
+        hits[classIndex] = Math.max(lookups - MISSES[classIndex].sum(), 0);
+        return hits;
+    }
+
+    private static long[] sum(LongAdder[] adders) {
+        var result = new long[KINDS];
+        for (int i = 0; i < KINDS; i = i + 1) {
+            result[i] = adders[i].sum();
+        }
+        return result;
+    }
+
+    private static ObjectName objectName(String name) {
+        try {
+            return new ObjectName(name);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class StatsMXBean implements TypeCacheStatsMXBean {
+
+        private static Map<String, Long> toMap(long[] values) {
+            var map = new LinkedHashMap<String, Long>();
+            for (var kind : TypeCacheKind.values()) {
+                map.put(kind.name(), values[kind.ordinal()]);
+            }
+            return map;
+        }
+
+        @Override
+        public Map<String, Long> getHits() {
+            return toMap(hits());
+        }
+
+        @Override
+        public Map<String, Long> getMisses() {
+            return toMap(sum(MISSES));
+        }
+
+        @Override
+        public Map<String, Long> getBuilds() {
+            return toMap(sum(BUILDS));
+        }
+
+        @Override
+        public Map<String, Long> getBuildNanos() {
+            return toMap(sum(BUILD_NANOS));
+        }
+
+        @Override
+        public Map<String, Long> getDiscardedBuilds() {
+            return toMap(sum(DISCARDED_BUILDS));
+        }
+
+        @Override
+        public Map<String, Long> getEntries() {
+            return toMap(sum(ENTRIES));
+        }
+
+    }
+
+}
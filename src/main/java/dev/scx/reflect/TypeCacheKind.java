@@ -0,0 +1,24 @@
+package dev.scx.reflect;
+
+/// TypeCache 中 key 的种类
+///
+/// @author scx567888
+/// @version 0.0.1
+public enum TypeCacheKind {
+
+    /// 原始 Class
+    CLASS,
+
+    /// ParameterizedType (仅上下文 bindings 为空时作为加速 key)
+    PARAMETERIZED_TYPE,
+
+    /// GenericArrayType (仅上下文 bindings 为空时作为加速 key)
+    GENERIC_ARRAY_TYPE,
+
+    /// 携带完整 bindings 的 ClassInfo 规范实例
+    CLASS_INFO,
+
+    /// 携带完整 bindings 的 ArrayTypeInfo 规范实例
+    ARRAY_TYPE_INFO
+
+}
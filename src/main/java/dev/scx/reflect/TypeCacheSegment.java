@@ -0,0 +1,246 @@
+package dev.scx.reflect;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static dev.scx.reflect.TypeCache.BOUNDED;
+import static dev.scx.reflect.TypeCacheCounters.*;
+
+/// TypeCache 中的一个缓存段, 挂在锚点 Class 上.
+///
+/// 段中存放两类条目:
+///
+/// 1. 加速条目: ParameterizedType / GenericArrayType -> TypeInfo.
+///    它们只是用来加速查找, 即使丢失也只会导致重新推导, 推导结果仍然会经过规范化.
+///
+/// 2. 规范实例: ClassInfo / ArrayTypeInfo -> 自身.
+///    用于保证 "语义上等价的类型始终映射到同一个 TypeInfo 实例".
+///
+/// 默认情况下两类条目都是强引用. 在有界模式下 (见 [TypeCache#BOUNDED]):
+///
+/// - 加速条目的 value 使用 SoftReference 持有, 并且受全局容量限制, 可以被淘汰.
+/// - 规范实例使用 WeakReference 持有, 只要调用方仍然持有某个实例, 它就仍然是规范实例,
+///   没有任何人持有的实例则可以被回收, 之后再次推导会得到一个新的 (同样唯一的) 实例.
+///
+/// 分离段 (见 [TypeCache]) 中的 key 引用了互不相关的类加载器中的类, 无论挂在哪个锚点上都会让锚点引用另一个类加载器,
+/// 所以分离段不存放加速条目, 规范实例也始终使用 WeakReference 持有 (与有界模式相同), 段本身不会强引用任何条目.
+///
+/// @author scx567888
+/// @version 0.0.1
+final class TypeCacheSegment {
+
+    // ParameterizedType / GenericArrayType -> TypeInfo, 有界模式下 value 为 SoftReference<TypeInfo>
+    private final ConcurrentHashMap<Type, Object> accelerators;
+    // 规范实例, 默认模式下 key 和 value 均为 TypeInfo 本身, 有界模式 或 分离段中 key 和 value 均为 WeakKey
+    private final ConcurrentHashMap<Object, Object> canonicals;
+    // 有界模式下 已被回收的规范实例
+    private final ReferenceQueue<TypeInfo> staleCanonicals;
+    // 是否为分离段
+    private final boolean detached;
+    // 是否弱引用规范实例, 有界模式 或 分离段
+    private final boolean weak;
+
+    TypeCacheSegment(boolean detached) {
+        this.accelerators = new ConcurrentHashMap<>();
+        this.canonicals = new ConcurrentHashMap<>();
+        this.detached = detached;
+        this.weak = BOUNDED || detached;
+        this.staleCanonicals = weak ? new ReferenceQueue<>() : null;
+    }
+
+    public TypeInfo get(Type key) {
+        var value = accelerators.get(key);
+        if (value instanceof SoftReference<?> ref) {
+            var typeInfo = (TypeInfo) ref.get();
+            if (typeInfo == null && accelerators.remove(key, value)) {
+                // 已被 GC 清理
+                entryRemoved(kindOf(key));
+            }
+            return typeInfo;
+        }
+        return (TypeInfo) value;
+    }
+
+    public void put(Type key, TypeInfo typeInfo) {
+        // 分离段不存放加速条目, 之后的查找会通过规范实例去重
+        if (detached) {
+            return;
+        }
+        var old = accelerators.put(key, BOUNDED ? new SoftReference<>(typeInfo) : typeInfo);
+        if (old != null) {
+            return;
+        }
+        entryAdded(kindOf(key));
+        if (BOUNDED) {
+            TypeCache.trackAccelerator(this, key);
+        }
+    }
+
+    public void remove(Type key) {
+        if (accelerators.remove(key) != null) {
+            entryRemoved(kindOf(key));
+        }
+    }
+
+    /// 使用 Probe 查找已存在的规范实例, 不存在时返回 null.
+    public TypeInfo find(Probe probe) {
+        var old = canonicals.get(probe);
+        var result = old instanceof WeakKey k ? k.get() : (TypeInfo) old;
+        if (result != null) {
+            hit(kindOf(result));
+        }
+        return result;
+    }
+
+    /// 将新构建的 TypeInfo 规范化: 如果已经存在等价的实例, 则返回旧的实例, 否则将其作为规范实例写入缓存.
+    public TypeInfo canonicalize(TypeInfo typeInfo) {
+        var kind = kindOf(typeInfo);
+        var result = weak ? canonicalizeWeak(typeInfo) : canonicalizeStrong(typeInfo);
+        if (result != typeInfo) {
+            hit(kind);
+            discardedBuild(kind);
+        } else {
+            miss(kind);
+            entryAdded(kind);
+        }
+        return result;
+    }
+
+    private TypeInfo canonicalizeStrong(TypeInfo typeInfo) {
+        // 快速无锁读
+        var old = canonicals.get(typeInfo);
+        if (old != null) {
+            return (TypeInfo) old;
+        }
+        old = canonicals.putIfAbsent(typeInfo, typeInfo);
+        return old != null ? (TypeInfo) old : typeInfo;
+    }
+
+    private TypeInfo canonicalizeWeak(TypeInfo typeInfo) {
+        expungeStaleCanonicals();
+        // 快速无锁读
+        var old = canonicals.get(new LookupKey(typeInfo));
+        if (old != null) {
+            var oldTypeInfo = ((WeakKey) old).get();
+            if (oldTypeInfo != null) {
+                return oldTypeInfo;
+            }
+        }
+        var key = new WeakKey(typeInfo, staleCanonicals);
+        while (true) {
+            old = canonicals.putIfAbsent(key, key);
+            if (old == null) {
+                return typeInfo;
+            }
+            var oldTypeInfo = ((WeakKey) old).get();
+            if (oldTypeInfo != null) {
+                return oldTypeInfo;
+            }
+            // 旧实例恰好在比较之后被回收, 说明已经没有任何人持有它, 移除后重试.
+            removeCanonical((WeakKey) old);
+        }
+    }
+
+    private void expungeStaleCanonicals() {
+        for (var ref = staleCanonicals.poll(); ref != null; ref = staleCanonicals.poll()) {
+            removeCanonical((WeakKey) ref);
+        }
+    }
+
+    private void removeCanonical(WeakKey key) {
+        if (canonicals.remove(key, key)) {
+            entryRemoved(key.kind);
+        }
+    }
+
+    /// 有界模式下规范实例的 key, 使用 TypeInfo 的 equals/hashCode, 但只弱引用 TypeInfo.
+    private static final class WeakKey extends WeakReference<TypeInfo> {
+
+        private final int hashCode;
+        private final TypeCacheKind kind;
+
+        private WeakKey(TypeInfo typeInfo, ReferenceQueue<TypeInfo> queue) {
+            super(typeInfo, queue);
+            this.hashCode = typeInfo.hashCode();
+            this.kind = kindOf(typeInfo);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object == this) {
+                return true;
+            }
+            // 已被回收的 key 只和自身相等
+            var typeInfo = get();
+            if (typeInfo == null) {
+                return false;
+            }
+            if (object instanceof WeakKey o) {
+                return typeInfo.equals(o.get());
+            }
+            if (object instanceof Probe o) {
+                return o.matches(typeInfo);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+    /// 仅用于查找规范实例的临时 key, 无需先构建出完整的 TypeInfo.
+    ///
+    /// hashCode 必须与要查找的 TypeInfo 的 hashCode 一致.
+    abstract static class Probe {
+
+        /// 是否与给定的规范实例等价
+        protected abstract boolean matches(TypeInfo typeInfo);
+
+        @Override
+        public final boolean equals(Object object) {
+            if (object == this) {
+                return true;
+            }
+            if (object instanceof WeakKey o) {
+                var typeInfo = o.get();
+                return typeInfo != null && matches(typeInfo);
+            }
+            if (object instanceof TypeInfo o) {
+                return matches(o);
+            }
+            return false;
+        }
+
+        @Override
+        public abstract int hashCode();
+
+    }
+
+    /// 使用已构建的 TypeInfo 进行查找.
+    private static final class LookupKey extends Probe {
+
+        private final TypeInfo typeInfo;
+
+        private LookupKey(TypeInfo typeInfo) {
+            this.typeInfo = typeInfo;
+        }
+
+        @Override
+        protected boolean matches(TypeInfo typeInfo) {
+            return this.typeInfo.equals(typeInfo);
+        }
+
+        @Override
+        public int hashCode() {
+            return typeInfo.hashCode();
+        }
+
+    }
+
+}
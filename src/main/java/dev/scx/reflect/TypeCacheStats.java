@@ -0,0 +1,83 @@
+package dev.scx.reflect;
+
+/// TypeCache 统计信息快照, 见 [ScxReflect#stats()].
+///
+/// 各项计数器是分别读取的, 在并发访问时彼此之间不保证严格一致.
+///
+/// @author scx567888
+/// @version 0.0.1
+public final class TypeCacheStats {
+
+    private final long[] hits;
+    private final long[] misses;
+    private final long[] builds;
+    private final long[] buildNanos;
+    private final long[] discardedBuilds;
+    private final long[] entries;
+
+    TypeCacheStats(long[] hits, long[] misses, long[] builds, long[] buildNanos, long[] discardedBuilds, long[] entries) {
+        this.hits = hits;
+        this.misses = misses;
+        this.builds = builds;
+        this.buildNanos = buildNanos;
+        this.discardedBuilds = discardedBuilds;
+        this.entries = entries;
+    }
+
+    /// 查找命中次数.
+    ///
+    /// [TypeCacheKind#CLASS] 的命中次数默认不统计 (始终为 0), 见系统属性 `dev.scx.reflect.typeCache.classHitStats`.
+    public long hits(TypeCacheKind kind) {
+        return hits[kind.ordinal()];
+    }
+
+    /// 查找未命中次数
+    public long misses(TypeCacheKind kind) {
+        return misses[kind.ordinal()];
+    }
+
+    /// 实际构建 TypeInfo 的次数
+    public long builds(TypeCacheKind kind) {
+        return builds[kind.ordinal()];
+    }
+
+    /// 累计构建耗时 (纳秒), 包含构建过程中嵌套构建其他类型的耗时
+    public long buildNanos(TypeCacheKind kind) {
+        return buildNanos[kind.ordinal()];
+    }
+
+    /// 构建完成后因为已经存在等价的规范实例而被丢弃的次数
+    public long discardedBuilds(TypeCacheKind kind) {
+        return discardedBuilds[kind.ordinal()];
+    }
+
+    /// 当前条目数.
+    ///
+    /// 这是根据写入和淘汰次数推算的近似值, 随类加载器一起被回收的缓存段不会被计入淘汰.
+    public long entries(TypeCacheKind kind) {
+        return entries[kind.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder();
+        sb.append("TypeCacheStats{");
+        for (var kind : TypeCacheKind.values()) {
+            var i = kind.ordinal();
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(kind).append("=[");
+            sb.append("hits=").append(hits[i]);
+            sb.append(", misses=").append(misses[i]);
+            sb.append(", builds=").append(builds[i]);
+            sb.append(", buildNanos=").append(buildNanos[i]);
+            sb.append(", discardedBuilds=").append(discardedBuilds[i]);
+            sb.append(", entries=").append(entries[i]);
+            sb.append("]");
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+}
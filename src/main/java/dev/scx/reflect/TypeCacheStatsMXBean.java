@@ -0,0 +1,25 @@
+package dev.scx.reflect;
+
+import java.util.Map;
+
+/// TypeCache 统计信息的 MXBean, 见 [ScxReflect#registerStatsMBean()].
+///
+/// 每个属性都是 [TypeCacheKind] 名称到计数的映射.
+///
+/// @author scx567888
+/// @version 0.0.1
+public interface TypeCacheStatsMXBean {
+
+    Map<String, Long> getHits();
+
+    Map<String, Long> getMisses();
+
+    Map<String, Long> getBuilds();
+
+    Map<String, Long> getBuildNanos();
+
+    Map<String, Long> getDiscardedBuilds();
+
+    Map<String, Long> getEntries();
+
+}
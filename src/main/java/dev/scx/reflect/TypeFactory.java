@@ -1,10 +1,8 @@
 package dev.scx.reflect;
 
 import java.lang.reflect.*;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+
+import static dev.scx.reflect.TypeCache.segmentOf;
 
 /// TypeFactory
 ///
@@ -15,7 +13,18 @@ import java.util.concurrent.locks.ReentrantLock;
 /// @version 0.0.1
 final class TypeFactory {
 
-    // Key 可能是 Class, ParameterizedType, GenericArrayType, ArrayTypeInfo, ClassInfo
+    // Class 专用缓存.
+    // ClassValue 的值直接挂在 Class 自身上, 查找时无需计算 hashCode, 也不会和 ParameterizedType 等其他 key 共用同一个 Map,
+    // 同时也不会阻止 Class 及其类加载器被回收.
+    // 注意 ClassValue 在并发时可能多次调用 computeValue, 但只有第一个被安装的结果会被返回给所有线程, 所以拿到的始终是同一个规范实例.
+    private static final ClassValue<TypeInfo> CLASS_CACHE = new ClassValue<>() {
+        @Override
+        protected TypeInfo computeValue(Class<?> clazz) {
+            return TypeBuild.computeOnce(null, clazz, () -> createTypeInfo(clazz));
+        }
+    };
+
+    // 其余类型的缓存见 TypeCache, Key 可能是 ParameterizedType, GenericArrayType, ArrayTypeInfo, ClassInfo
     // 其中 ParameterizedType 和 GenericArrayType 是存在 最终推导类型一致但是 本身的 equals 却不一致的情况
     // 举例 某两个 GenericArrayTypeImpl 的 genericComponentType 都是 TypeVariableImpl 类型,
     // 同时这两个 TypeVariableImpl 的 bounds 是相同的, 但是 genericDeclaration 却不同.
@@ -23,10 +32,6 @@ final class TypeFactory {
     // 这会间接影响外层 GenericArrayTypeImpl 的 等价性判断.
     // 但是这其实无所谓 因为 ParameterizedType 和 GenericArrayType 本质上在此处只是用来加速 查找.
     // 即使没有命中缓存 也会进行推导后类型查找, 不存在重复创建多个本质上完全一致的 TypeInfo 的风险
-    private static final Map<Object, TypeInfo> TYPE_CACHE = new ConcurrentHashMap<>();
-
-    // 写入锁
-    private static final Lock LOCK = new ReentrantLock();
 
     // 仅做分发
     public static TypeInfo typeOfAny(Type type, TypeResolutionContext context) {
@@ -42,36 +47,24 @@ final class TypeFactory {
 
     // Class 永远不存在 bindings
     public static TypeInfo typeOfClass(Class<?> clazz) {
+        if (TypeCacheCounters.CLASS_HIT_STATS) {
+            TypeCacheCounters.classLookup();
+        }
+        return CLASS_CACHE.get(clazz);
+    }
+
+    private static TypeInfo createTypeInfo(Class<?> clazz) {
         // 使用原始 Class 作为 key, 后续可以直接通过 Class 进行查找,
         // 这种类型不会携带任何泛型上下文, 天然是可重用的.
         // 因此可以安全地作为缓存 key, 且便于后续快速查找, 避免重复构造.
-        // 此处我们并不冗余缓存 ClassInfoImpl, ArrayTypeInfoImpl 之类,
-        // 因为在 typeOfParameterizedType 或 typeOfGenericArrayType 中会冗余缓存
-        // 我们只要在一个构建路径中冗余缓存就够了
-        // 先尝试快速无锁读
-        var result = TYPE_CACHE.get(clazz);
-        if (result != null) {
-            return result;
-        }
-        LOCK.lock();
-        try {
-            // 双重检查
-            result = TYPE_CACHE.get(clazz);
-            if (result != null) {
-                return result;
-            }
-            // 创建新的实例
-            if (clazz.isArray()) {
-                result = new ArrayTypeInfoImpl(clazz);
-            } else if (clazz.isPrimitive()) {
-                result = new PrimitiveTypeInfoImpl(clazz);
-            } else {
-                result = new ClassInfoImpl(clazz);
-            }
-            TYPE_CACHE.put(clazz, result);
-            return result;
-        } finally {
-            LOCK.unlock();
+        // Class 之间的构建依赖 (外部类, 数组组件类型) 不可能成环, 所以此处无需规范化.
+        // 此处我们并不冗余缓存 ClassInfoImpl, ArrayTypeInfoImpl 之类, 因为 Class 永远只会通过 CLASS_CACHE 查找.
+        if (clazz.isArray()) {
+            return new ArrayTypeInfoImpl(clazz);
+        } else if (clazz.isPrimitive()) {
+            return new PrimitiveTypeInfoImpl(clazz);
+        } else {
+            return new ClassInfoImpl(clazz);
         }
     }
 
@@ -81,34 +74,9 @@ final class TypeFactory {
         // 因此, 在无上下文 bindings 的场景下, 同一个 ParameterizedType 实例总是可以映射到同一个 TypeInfo.
         // 此处直接使用 ParameterizedType 作为缓存 key 是安全有效的 并且简化了缓存结构.
         if (context.bindings().isEmpty()) {
-            // 使用原始 ParameterizedType 作为 Key
-            // 快速无锁读
-            var result = TYPE_CACHE.get(parameterizedType);
-            if (result != null) {
-                return result;
-            }
-            LOCK.lock();
-            try {
-                // 双重检查
-                result = TYPE_CACHE.get(parameterizedType);
-                if (result != null) {
-                    return result;
-                }
-                var classInfo = new ClassInfoImpl(parameterizedType, context);
-                // 检测有可能已经有对应的 ClassInfo
-                var oldTypeInfo = TYPE_CACHE.get(classInfo);
-                if (oldTypeInfo != null) {
-                    // 如果有了 当前的 classInfo 就没意义了 直接替换为旧的
-                    TYPE_CACHE.put(parameterizedType, oldTypeInfo);
-                    return oldTypeInfo;
-                }
-                // 没有我们缓存两份, 一份 ParameterizedType 的, 一份 ClassInfo 的
-                TYPE_CACHE.put(parameterizedType, classInfo);
-                TYPE_CACHE.put(classInfo, classInfo);
-                return classInfo;
-            } finally {
-                LOCK.unlock();
-            }
+            // 使用原始 ParameterizedType 作为 Key, 同时检测有可能已经有对应的 ClassInfo.
+            // 没有的话我们缓存两份, 一份 ParameterizedType 的, 一份 ClassInfo 的.
+            return TypeBuild.computeOnce(segmentOf(parameterizedType), parameterizedType, () -> canonicalize(new ClassInfoImpl(parameterizedType, context.forBuild())));
         }
         // 当存在上下文 bindings 时, ParameterizedType 中可能包含被替换的 TypeVariable, 因此不能直接使用 ParameterizedType 作为 key.
         // 为了实现严格的 "同一个类型 永远只对应同一个 TypeInfo",
@@ -116,26 +84,16 @@ final class TypeFactory {
         // 虽然构建 ClassInfoImpl 看似重复, 但它创建是轻量的, 并且后续可以作为 cache key 和最终值双重使用, 避免多次构建.
         // 而且 实际上当代码走到这里的时候 只可能是 正在初始化 ClassInfoImpl 内部的对象, 诸如 FieldInfo, MethodInfo 等.
         // 而这些对象 实际上是会被 ClassInfoImpl 内部缓存起来的, 这意味着 以下的代码实际上 并不会执行很多次, 性能不至于成为问题.
-        var classInfo = new ClassInfoImpl(parameterizedType, context);
-        // 快速无锁读
-        var result = TYPE_CACHE.get(classInfo);
-        if (result != null) {
-            return result;
-        }
-        LOCK.lock();
-        try {
-            // 双重检查
-            result = TYPE_CACHE.get(classInfo);
-            if (result != null) {
-                return result;
-            }
-            TYPE_CACHE.put(classInfo, classInfo);
-            // 这里我们无需像 构建 ArrayTypeInfoImpl 那样尝试优化缓存
-            // 因为 任意一个类 只有没有泛型 就永远不可能是 ParameterizedType, 根本不会走到这段代码
-            return classInfo;
-        } finally {
-            LOCK.unlock();
+        // 这里我们无需像 构建 ArrayTypeInfoImpl 那样尝试优化缓存
+        // 因为 任意一个类 只有没有泛型 就永远不可能是 ParameterizedType, 根本不会走到这段代码
+        // 在共享上下文中 (解析类成员时) 同一个 ParameterizedType 的结果是确定的, 可以直接复用, 无需再构建 ClassInfoImpl.
+        var memoized = context.memoized(parameterizedType);
+        if (memoized != null) {
+            TypeCacheCounters.hit(TypeCacheKind.CLASS_INFO);
+            return memoized;
         }
+        var typeInfo = canonicalize(TypeBuild.build(TypeCacheKind.CLASS_INFO, () -> new ClassInfoImpl(parameterizedType, context.forBuild())));
+        return context.memoize(parameterizedType, typeInfo);
     }
 
     public static TypeInfo typeOfGenericArrayType(GenericArrayType genericArrayType, TypeResolutionContext context) {
@@ -144,100 +102,100 @@ final class TypeFactory {
         // 因此, 在无上下文 bindings 的场景下, 同一个 GenericArrayType 实例总是可以映射到同一个 TypeInfo.
         // 此处直接使用 GenericArrayType 作为缓存 key 是安全有效的 并且简化了缓存结构.
         if (context.bindings().isEmpty()) {
-            // 快速 get
-            var result = TYPE_CACHE.get(genericArrayType);
-            if (result != null) {
-                return result;
-            }
-            LOCK.lock();
-            try {
-                // 双重检查
-                result = TYPE_CACHE.get(genericArrayType);
-                if (result != null) {
-                    return result;
-                }
-
-                var arrayTypeInfo = new ArrayTypeInfoImpl(genericArrayType, context);
-                // 检测有可能已经有对应的 ArrayTypeInfo
-                var oldArrayTypeInfo = TYPE_CACHE.get(arrayTypeInfo);
-                if (oldArrayTypeInfo != null) {
-                    // 如果有了 当前的 arrayTypeInfo 就没意义了 直接替换为旧的
-                    // 这里无需 优化 rawClass 因为在构建 oldArrayTypeInfo 的过程中必定已经优化过了
-                    TYPE_CACHE.put(genericArrayType, oldArrayTypeInfo);
-                    return oldArrayTypeInfo;
-                }
-                // 判断能否优化
-                var canOptimize = arrayTypeInfo.isRaw();
-                // 没有优化的可能 缓存两份
-                if (!canOptimize) {
-                    TYPE_CACHE.put(genericArrayType, arrayTypeInfo);
-                    TYPE_CACHE.put(arrayTypeInfo, arrayTypeInfo);
-                    return arrayTypeInfo;
-                }
-                // 这里继续尝试使用 rawClass 查找
-                oldArrayTypeInfo = TYPE_CACHE.get(arrayTypeInfo.rawClass());
-                if (oldArrayTypeInfo != null) {
-                    // 如果有了 当前的 arrayTypeInfo 就没意义了 直接替换为旧的, 这里缓存两份
-                    TYPE_CACHE.put(genericArrayType, oldArrayTypeInfo);
-                    TYPE_CACHE.put(arrayTypeInfo, oldArrayTypeInfo);
-                    return oldArrayTypeInfo;
-                }
-                // 全部没有我们缓存三份, 一份 Class 的, 一份 GenericArrayType 的, 一份 ArrayTypeInfoImpl
-                TYPE_CACHE.put(genericArrayType, arrayTypeInfo);
-                TYPE_CACHE.put(arrayTypeInfo, arrayTypeInfo);
-                TYPE_CACHE.put(arrayTypeInfo.rawClass(), arrayTypeInfo);
-                return arrayTypeInfo;
-            } finally {
-                LOCK.unlock();
-            }
+            return TypeBuild.computeOnce(segmentOf(genericArrayType), genericArrayType, () -> canonicalizeArray(new ArrayTypeInfoImpl(genericArrayType, context)));
         }
         // 为了实现严格的 "同一个类型 永远只对应同一个 TypeInfo", 我们使用包含上下文的 ArrayTypeInfoImpl 作为 key.
         // 它携带了真正完整的 bindings, 同时正确的实现了 equals 和 hashCode. (只比较 componentType)
         // 虽然构建 ArrayTypeInfoImpl 看似重复, 但它创建是轻量的, 并且后续可以作为 cache key 和最终值双重使用, 避免多次构建.
         // 而且 实际上当代码走到这里的时候 只可能是 正在初始化 ClassInfoImpl 内部的对象, 诸如 FieldInfo, MethodInfo 等.
         // 而这些对象 实际上是会被 ClassInfoImpl 内部缓存起来的, 这意味着 以下的代码实际上 并不会执行很多次, 性能不至于成为问题.
-        var arrayTypeInfo = new ArrayTypeInfoImpl(genericArrayType, context);
-        // 快速 get
-        var result = TYPE_CACHE.get(arrayTypeInfo);
-        if (result != null) {
-            return result;
+        // 同 typeOfParameterizedType
+        var memoized = context.memoized(genericArrayType);
+        if (memoized != null) {
+            TypeCacheCounters.hit(TypeCacheKind.ARRAY_TYPE_INFO);
+            return memoized;
         }
-        LOCK.lock();
-        try {
-            // 双重检查
-            result = TYPE_CACHE.get(arrayTypeInfo);
-            if (result != null) {
-                return result;
-            }
+        var typeInfo = canonicalizeArray(TypeBuild.build(TypeCacheKind.ARRAY_TYPE_INFO, () -> new ArrayTypeInfoImpl(genericArrayType, context)));
+        return context.memoize(genericArrayType, typeInfo);
+    }
+
+    /// 将新构建的 TypeInfo 规范化: 如果已经存在等价的实例, 则返回旧的实例, 否则将其作为规范实例写入缓存.
+    private static TypeInfo canonicalize(TypeInfo typeInfo) {
+        return segmentOf(typeInfo).canonicalize(typeInfo);
+    }
 
-            // 这里尝试复用或提前缓存, 只有组件类型是没有任何泛型的情况下 我们才可能复用
-            // 如果可以优化, 我们会将 arrayTypeInfo 同时缓存为 typeKey 和 rawClass 两份.
-            // 如果 rawClass 已经存在缓存, 说明此前已有等价类型被缓存, 我们直接复用旧的.
-            // 否则, 将当前类型写入两个 key.
-            // 如果无法优化, 则仅以 typeKey 进行缓存.
-            // 这个优化不单单是 为了性能, 同时也保证了 同一个类型拿到的 TypeInfo 永远是一致的,
-            // 无论是先通过 Class 创建, 还是先通过 GenericArrayType 创建, 最终的 TypeInfo 是一致的.
-            var canOptimize = arrayTypeInfo.isRaw();
-            if (!canOptimize) {
-                //没有优化的可能
-                TYPE_CACHE.put(arrayTypeInfo, arrayTypeInfo);
-                return arrayTypeInfo;
+    private static TypeInfo canonicalizeArray(ArrayTypeInfoImpl arrayTypeInfo) {
+        // 这里尝试复用, 只有组件类型是没有任何泛型的情况下 我们才可能复用.
+        // 这个优化不单单是 为了性能, 同时也保证了 同一个类型拿到的 TypeInfo 永远是一致的,
+        // 无论是先通过 Class 创建, 还是先通过 GenericArrayType 创建, 最终的 TypeInfo 是一致的.
+        if (arrayTypeInfo.isRaw()) {
+            TypeCacheCounters.discardedBuild(TypeCacheKind.ARRAY_TYPE_INFO);
+            return typeOfClass(arrayTypeInfo.rawClass());
+        }
+        return canonicalize(arrayTypeInfo);
+    }
+
+    /// 程序化构建参数化类型, 结果与 typeOf 等价的 ParameterizedType 得到的实例相同.
+    ///
+    /// @param rawClass       原始类
+    /// @param typeInfos      类型参数, 个数必须与 rawClass 的类型参数个数一致
+    /// @param declaringClass 外部类, 为 null 时使用 rawClass 的原始外部类
+    public static ClassInfo typeOfParameterized(Class<?> rawClass, TypeInfo[] typeInfos, ClassInfo declaringClass) {
+        if (rawClass.isArray() || rawClass.isPrimitive()) {
+            throw new IllegalArgumentException("Raw class must not be an array or primitive type: " + rawClass.getName());
+        }
+        var typeVariables = rawClass.getTypeParameters();
+        if (typeInfos.length != typeVariables.length) {
+            throw new IllegalArgumentException("Wrong number of type arguments for " + rawClass.getName() + ": expected " + typeVariables.length + " but got " + typeInfos.length);
+        }
+        for (var typeInfo : typeInfos) {
+            if (typeInfo == null) {
+                throw new NullPointerException("Type argument must not be null");
             }
-            var oldArrayTypeInfo = TYPE_CACHE.get(arrayTypeInfo.rawClass());
-            if (oldArrayTypeInfo != null) {
-                // 如果有了 当前的 arrayTypeInfo 就没意义了 直接替换为旧的
-                TYPE_CACHE.put(arrayTypeInfo, oldArrayTypeInfo);
-                return oldArrayTypeInfo;
+            // 基本类型不能作为泛型参数
+            if (typeInfo instanceof PrimitiveTypeInfo) {
+                throw new IllegalArgumentException("Primitive type cannot be used as type argument: " + typeInfo);
             }
-            // 没有我们缓存两份, 一份 Class 的, 一份 GenericArrayType 的
-            TYPE_CACHE.put(arrayTypeInfo, arrayTypeInfo);
-            TYPE_CACHE.put(arrayTypeInfo.rawClass(), arrayTypeInfo);
-            return arrayTypeInfo;
-
-        } finally {
-            LOCK.unlock();
         }
+        var rawDeclaringClass = rawClass.getDeclaringClass();
+        if (declaringClass == null) {
+            declaringClass = rawDeclaringClass != null ? (ClassInfo) typeOfClass(rawDeclaringClass) : null;
+        } else {
+            if (declaringClass.rawClass() != rawDeclaringClass) {
+                throw new IllegalArgumentException(declaringClass + " is not the declaring class of " + rawClass.getName());
+            }
+            // 静态类不继承外部类的泛型, 所以其外部类只可能是原始类型 (与 Java 语法一致)
+            if (!declaringClass.isRaw() && Modifier.isStatic(rawClass.getModifiers())) {
+                throw new IllegalArgumentException("Static class " + rawClass.getName() + " cannot have a parameterized declaring class: " + declaringClass);
+            }
+        }
+        // 既没有类型参数, 外部类也是原始类型, 这就是 Class 本身 (ParameterizedType 永远不会出现这种情况)
+        if (typeInfos.length == 0 && (declaringClass == null || declaringClass.isRaw())) {
+            return (ClassInfo) typeOfClass(rawClass);
+        }
+        var segment = segmentOf(rawClass, typeInfos, declaringClass);
+        var oldTypeInfo = segment.find(new ClassInfoProbe(rawClass, typeVariables, typeInfos, declaringClass));
+        if (oldTypeInfo != null) {
+            return (ClassInfo) oldTypeInfo;
+        }
+        var finalDeclaringClass = declaringClass;
+        var classInfo = TypeBuild.build(TypeCacheKind.CLASS_INFO, () -> new ClassInfoImpl(rawClass, new TypeBindingsImpl(typeVariables, typeInfos), finalDeclaringClass));
+        return (ClassInfo) segment.canonicalize(classInfo);
+    }
 
+    /// 程序化构建数组类型, 结果与 typeOf 等价的 GenericArrayType (或数组 Class) 得到的实例相同.
+    public static ArrayTypeInfo typeOfArray(TypeInfo componentType) {
+        // 同 canonicalizeArray, 组件类型没有任何泛型时, 直接复用 Class 的实例
+        if (componentType.isRaw()) {
+            return (ArrayTypeInfo) typeOfClass(componentType.rawClass().arrayType());
+        }
+        var segment = segmentOf(componentType);
+        var oldTypeInfo = segment.find(new ArrayTypeInfoProbe(componentType));
+        if (oldTypeInfo != null) {
+            return (ArrayTypeInfo) oldTypeInfo;
+        }
+        var arrayTypeInfo = TypeBuild.build(TypeCacheKind.ARRAY_TYPE_INFO, () -> new ArrayTypeInfoImpl(componentType));
+        return (ArrayTypeInfo) segment.canonicalize(arrayTypeInfo);
     }
 
     public static TypeInfo typeOfTypeVariable(TypeVariable<?> typeVariable, TypeResolutionContext context) {
@@ -275,4 +233,52 @@ final class TypeFactory {
         return typeOfAny(bound, context);
     }
 
+    /// 查找 ClassInfoImpl 规范实例的 key
+    private static final class ClassInfoProbe extends TypeCacheSegment.Probe {
+
+        private final Class<?> rawClass;
+        private final TypeVariable<?>[] typeVariables;
+        private final TypeInfo[] typeInfos;
+        private final ClassInfo declaringClass;
+
+        private ClassInfoProbe(Class<?> rawClass, TypeVariable<?>[] typeVariables, TypeInfo[] typeInfos, ClassInfo declaringClass) {
+            this.rawClass = rawClass;
+            this.typeVariables = typeVariables;
+            this.typeInfos = typeInfos;
+            this.declaringClass = declaringClass;
+        }
+
+        @Override
+        protected boolean matches(TypeInfo typeInfo) {
+            return typeInfo instanceof ClassInfoImpl c && c.equals(rawClass, typeVariables, typeInfos, declaringClass);
+        }
+
+        @Override
+        public int hashCode() {
+            return ClassInfoImpl.hashCode(rawClass, TypeBindingsImpl.hashCode(typeVariables, typeInfos), declaringClass);
+        }
+
+    }
+
+    /// 查找 ArrayTypeInfoImpl 规范实例的 key
+    private static final class ArrayTypeInfoProbe extends TypeCacheSegment.Probe {
+
+        private final TypeInfo componentType;
+
+        private ArrayTypeInfoProbe(TypeInfo componentType) {
+            this.componentType = componentType;
+        }
+
+        @Override
+        protected boolean matches(TypeInfo typeInfo) {
+            return typeInfo instanceof ArrayTypeInfoImpl a && a.equals(componentType);
+        }
+
+        @Override
+        public int hashCode() {
+            return ArrayTypeInfoImpl.hashCode(componentType);
+        }
+
+    }
+
 }
@@ -0,0 +1,382 @@
+package dev.scx.reflect;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static dev.scx.reflect.TypeFactory.*;
+
+/// 将 Java 源码形式的类型字符串直接解析为规范的 TypeInfo, 例如:
+///
+/// ```
+/// java.util.Map<java.lang.String, java.util.List<com.acme.Order>>[]
+/// ```
+///
+/// 支持的语法:
+///
+/// - 全限定类名, 成员类可以使用 `.` 或 `$` 分隔 (例如 `java.util.Map.Entry`, `java.util.Map$Entry`).
+/// - `java.lang` 下的类可以省略包名 (例如 `String`).
+/// - 基本类型 (例如 `int`, `int[]`).
+/// - 泛型参数, 以及泛型外部类的成员类 (例如 `Outer<String>.Inner<Integer>`).
+/// - 通配符, 与 typeOf(Type) 一致退化为上界 (`?` 和 `? super X` 退化为 Object).
+/// - 任意维度的数组.
+///
+/// 解析是单遍的, 过程中不会创建任何 java.lang.reflect.Type, 而是直接通过 [TypeFactory#typeOfParameterized] 和 [TypeFactory#typeOfArray] 得到规范实例.
+///
+/// 解析结果按照 (字符串, 类加载器) 缓存. 缓存是有界的 (系统属性 `dev.scx.reflect.parseCache.capacity`, 默认 1024),
+/// 并且只弱引用 类加载器 和 TypeInfo, 所以不会阻止类加载器被回收.
+/// 缓存的 TypeInfo 本身由 TypeFactory 的缓存持有, 所以弱引用在正常情况下不会提前失效.
+///
+/// @author scx567888
+/// @version 0.0.1
+final class TypeParser {
+
+    private static final int CAPACITY = Integer.getInteger("dev.scx.reflect.parseCache.capacity", 1024);
+
+    // 字符串 -> 不同类加载器下的解析结果 (链表, 通常只有一个节点)
+    private static final ConcurrentHashMap<String, CacheEntry> CACHE = new ConcurrentHashMap<>();
+
+    private static final TypeInfo[] NO_TYPE_INFOS = new TypeInfo[0];
+
+    private final String text;
+    private final ClassLoader classLoader;
+    private int pos;
+
+    private TypeParser(String text, ClassLoader classLoader) {
+        this.text = text;
+        this.classLoader = classLoader;
+        this.pos = 0;
+    }
+
+    /// 解析类型字符串.
+    ///
+    /// @param text        类型字符串
+    /// @param classLoader 用于加载类的类加载器, null 表示 bootstrap 类加载器
+    /// @throws IllegalArgumentException 语法错误 或者 类不存在
+    public static TypeInfo parse(String text, ClassLoader classLoader) {
+        // 快速路径, 命中缓存时不会分配任何对象
+        var head = CACHE.get(text);
+        for (var entry = head; entry != null; entry = entry.next) {
+            if (entry.matches(classLoader)) {
+                var typeInfo = entry.typeInfo.get();
+                if (typeInfo != null) {
+                    return typeInfo;
+                }
+            }
+        }
+        var typeInfo = new TypeParser(text, classLoader).parseFully();
+        cache(text, classLoader, typeInfo);
+        return typeInfo;
+    }
+
+    private static void cache(String text, ClassLoader classLoader, TypeInfo typeInfo) {
+        if (CAPACITY <= 0) {
+            return;
+        }
+        CACHE.compute(text, (_, head) -> {
+            // 顺便清理 已失效的 和 同一个类加载器的旧条目
+            CacheEntry newHead = new CacheEntry(classLoader, typeInfo, null);
+            for (var entry = head; entry != null; entry = entry.next) {
+                var l = entry.classLoader.get();
+                var t = entry.typeInfo.get();
+                if (!entry.matches(classLoader) && t != null && (l != null || entry.bootstrap)) {
+                    newHead = new CacheEntry(l, t, newHead);
+                }
+            }
+            return newHead;
+        });
+        if (CACHE.size() > CAPACITY) {
+            evict();
+        }
+    }
+
+    /// 超出容量时淘汰约四分之一的条目.
+    /// ConcurrentHashMap 的遍历顺序与写入顺序无关, 所以这里相当于随机淘汰, 无需在命中时维护任何访问顺序.
+    private static void evict() {
+        var toRemove = CACHE.size() - CAPACITY * 3 / 4;
+        var iterator = CACHE.keySet().iterator();
+        while (toRemove > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            toRemove = toRemove - 1;
+        }
+    }
+
+    /// 返回可以被 [#parse(String, ClassLoader)] 解析回同一个 TypeInfo 的名称, 例如 `java.util.Map<java.lang.String, com.acme.Outer$Inner>`.
+    /// 其中包含隐藏类 (例如 Lambda) 时返回 null, 因为隐藏类无法通过名称加载.
+    static String typeName(TypeInfo typeInfo) {
+        var sb = new StringBuilder();
+        return appendTypeName(sb, typeInfo) ? sb.toString() : null;
+    }
+
+    /// 写入可以被 parse 解析回同一个 TypeInfo 的名称, 包含隐藏类时返回 false.
+    private static boolean appendTypeName(StringBuilder sb, TypeInfo typeInfo) {
+        return switch (typeInfo) {
+            case PrimitiveTypeInfo p -> {
+                sb.append(p.rawClass().getName());
+                yield true;
+            }
+            case ArrayTypeInfo a -> {
+                if (!appendTypeName(sb, a.componentType())) {
+                    yield false;
+                }
+                sb.append("[]");
+                yield true;
+            }
+            case ClassInfo c -> {
+                var rawClass = c.rawClass();
+                if (rawClass.isHidden()) {
+                    yield false;
+                }
+                var declaringClass = c.declaringClass();
+                // 泛型外部类的成员类, 例如 Outer<String>.Inner<Integer>
+                if (declaringClass != null && isParameterized(declaringClass)) {
+                    if (!appendTypeName(sb, declaringClass)) {
+                        yield false;
+                    }
+                    sb.append('.').append(rawClass.getSimpleName());
+                } else {
+                    sb.append(rawClass.getName());
+                }
+                var typeInfos = c.bindings().typeInfos();
+                if (typeInfos.length > 0) {
+                    sb.append('<');
+                    for (int i = 0; i < typeInfos.length; i = i + 1) {
+                        if (i > 0) {
+                            sb.append(", ");
+                        }
+                        if (!appendTypeName(sb, typeInfos[i])) {
+                            yield false;
+                        }
+                    }
+                    sb.append('>');
+                }
+                yield true;
+            }
+        };
+    }
+
+    private static boolean isParameterized(ClassInfo classInfo) {
+        if (classInfo.bindings().size() > 0) {
+            return true;
+        }
+        var declaringClass = classInfo.declaringClass();
+        return declaringClass != null && isParameterized(declaringClass);
+    }
+
+    private TypeInfo parseFully() {
+        var typeInfo = parseType();
+        skipWhitespace();
+        if (pos != text.length()) {
+            throw error("Unexpected character '" + text.charAt(pos) + "'");
+        }
+        return typeInfo;
+    }
+
+    /// type := className typeArguments? ('.' identifier typeArguments?)* ('[' ']')*
+    private TypeInfo parseType() {
+        skipWhitespace();
+        var start = pos;
+        var name = parseQualifiedName();
+        TypeInfo typeInfo;
+        var primitiveClass = primitiveClass(name);
+        if (primitiveClass != null) {
+            typeInfo = typeOfClass(primitiveClass);
+        } else {
+            var rawClass = loadClass(name, start);
+            var typeInfos = parseTypeArguments();
+            typeInfo = typeInfos != null ? parameterized(rawClass, typeInfos, null, start) : typeOfClass(rawClass);
+            // 泛型外部类的成员类, 例如 Outer<String>.Inner<Integer>, 外部类没有泛型参数时, 成员类已经包含在全限定名中.
+            if (typeInfos != null) {
+                while (peek() == '.') {
+                    pos = pos + 1;
+                    skipWhitespace();
+                    var memberStart = pos;
+                    parseIdentifier();
+                    var memberClass = loadClass(rawClass.getName() + "$" + text.substring(memberStart, pos), memberStart);
+                    var memberTypeInfos = parseTypeArguments();
+                    typeInfo = parameterized(memberClass, memberTypeInfos != null ? memberTypeInfos : NO_TYPE_INFOS, (ClassInfo) typeInfo, memberStart);
+                    rawClass = memberClass;
+                }
+            }
+        }
+        // 数组
+        while (peek() == '[') {
+            if (typeInfo.rawClass() == void.class) {
+                throw error("Illegal array of void");
+            }
+            pos = pos + 1;
+            if (peek() != ']') {
+                throw error("Expected ']'");
+            }
+            pos = pos + 1;
+            typeInfo = typeOfArray(typeInfo);
+        }
+        return typeInfo;
+    }
+
+    private TypeInfo parameterized(Class<?> rawClass, TypeInfo[] typeInfos, ClassInfo declaringClass, int start) {
+        try {
+            return typeOfParameterized(rawClass, typeInfos, declaringClass);
+        } catch (IllegalArgumentException e) {
+            throw error(e.getMessage(), start);
+        }
+    }
+
+    /// typeArguments := '<' typeArgument (',' typeArgument)* '>'
+    private TypeInfo[] parseTypeArguments() {
+        if (peek() != '<') {
+            return null;
+        }
+        pos = pos + 1;
+        var typeInfos = new ArrayList<TypeInfo>(2);
+        while (true) {
+            typeInfos.add(parseTypeArgument());
+            var c = peek();
+            pos = pos + 1;
+            if (c == '>') {
+                break;
+            }
+            if (c != ',') {
+                pos = pos - 1;
+                throw error("Expected ',' or '>'");
+            }
+        }
+        return typeInfos.toArray(TypeInfo[]::new);
+    }
+
+    /// typeArgument := type | '?' (('extends' | 'super') type)?
+    private TypeInfo parseTypeArgument() {
+        if (peek() != '?') {
+            return parseType();
+        }
+        pos = pos + 1;
+        skipWhitespace();
+        if (text.startsWith("extends", pos) && isBoundary(pos + 7)) {
+            pos = pos + 7;
+            return parseType();
+        }
+        if (text.startsWith("super", pos) && isBoundary(pos + 5)) {
+            pos = pos + 5;
+            // 与 typeOfWildcardType 一致, 忽略下界
+            parseType();
+        }
+        return typeOfClass(Object.class);
+    }
+
+    /// 读取 `a.b.C` 这样的全限定名, 遇到 `<`, `[`, `,`, `>` 或空白时停止.
+    private String parseQualifiedName() {
+        var start = pos;
+        parseIdentifier();
+        while (pos < text.length() && text.charAt(pos) == '.') {
+            pos = pos + 1;
+            parseIdentifier();
+        }
+        return text.substring(start, pos);
+    }
+
+    private void parseIdentifier() {
+        if (pos >= text.length() || !Character.isJavaIdentifierStart(text.charAt(pos))) {
+            throw error("Expected identifier");
+        }
+        pos = pos + 1;
+        while (pos < text.length() && Character.isJavaIdentifierPart(text.charAt(pos))) {
+            pos = pos + 1;
+        }
+    }
+
+    /// 依次尝试 `a.b.C.D`, `a.b.C$D`, `a.b$C$D` ..., 最后尝试 `java.lang` 下的同名类.
+    private Class<?> loadClass(String name, int start) {
+        var candidate = name;
+        while (true) {
+            var c = forName(candidate);
+            if (c != null) {
+                return c;
+            }
+            var i = candidate.lastIndexOf('.');
+            if (i < 0) {
+                break;
+            }
+            candidate = candidate.substring(0, i) + '$' + candidate.substring(i + 1);
+        }
+        if (name.indexOf('.') < 0) {
+            var c = forName("java.lang." + name);
+            if (c != null) {
+                return c;
+            }
+        }
+        throw error("Class not found: " + name, start);
+    }
+
+    private Class<?> forName(String name) {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private boolean isBoundary(int index) {
+        return index >= text.length() || !Character.isJavaIdentifierPart(text.charAt(index));
+    }
+
+    /// 跳过空白后返回当前字符, 已到结尾时返回 0.
+    private char peek() {
+        skipWhitespace();
+        return pos < text.length() ? text.charAt(pos) : 0;
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos = pos + 1;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return error(message, pos);
+    }
+
+    private IllegalArgumentException error(String message, int index) {
+        return new IllegalArgumentException(message + " at index " + index + " in \"" + text + "\"");
+    }
+
+    private static Class<?> primitiveClass(String name) {
+        return switch (name) {
+            case "boolean" -> boolean.class;
+            case "byte" -> byte.class;
+            case "short" -> short.class;
+            case "char" -> char.class;
+            case "int" -> int.class;
+            case "long" -> long.class;
+            case "float" -> float.class;
+            case "double" -> double.class;
+            case "void" -> void.class;
+            default -> null;
+        };
+    }
+
+    private static final class CacheEntry {
+
+        private final WeakReference<ClassLoader> classLoader;
+        // bootstrap 类加载器为 null, 用于区分 "bootstrap" 和 "已被回收"
+        private final boolean bootstrap;
+        private final WeakReference<TypeInfo> typeInfo;
+        private final CacheEntry next;
+
+        private CacheEntry(ClassLoader classLoader, TypeInfo typeInfo, CacheEntry next) {
+            this.classLoader = new WeakReference<>(classLoader);
+            this.bootstrap = classLoader == null;
+            this.typeInfo = new WeakReference<>(typeInfo);
+            this.next = next;
+        }
+
+        private boolean matches(ClassLoader classLoader) {
+            if (bootstrap) {
+                return classLoader == null;
+            }
+            return classLoader != null && this.classLoader.get() == classLoader;
+        }
+
+    }
+
+}
@@ -3,25 +3,51 @@ package dev.scx.reflect;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 
+import static dev.scx.reflect.TypeBindingsImpl.EMPTY_BINDINGS;
+import static dev.scx.reflect.TypeFactory.typeOfAny;
+
 /// TypeReference
 ///
+/// 同一个 TypeReference 子类 (通常是匿名类) 的 Type 和 TypeInfo 只会解析一次, 并通过 ClassValue 挂在子类自身上,
+/// 所以在热路径中反复 `new TypeReference<...>() {}` 的开销仅为一次对象分配和一次 ClassValue 查找, [#typeInfo()] 只是读取字段.
+///
 /// @author scx567888
 /// @version 0.0.1
 public abstract class TypeReference<T> {
 
+    private static final ClassValue<Resolved> RESOLVED_CACHE = new ClassValue<>() {
+        @Override
+        protected Resolved computeValue(Class<?> type) {
+            Type superClass = type.getGenericSuperclass();
+            if (superClass instanceof Class<?>) {
+                throw new IllegalArgumentException("TypeReference must be instantiated with an actual type argument");
+            }
+            var actualType = ((ParameterizedType) superClass).getActualTypeArguments()[0];
+            // 无上下文 bindings, 同一个子类的解析结果是确定的
+            return new Resolved(actualType, typeOfAny(actualType, new TypeResolutionContext(EMPTY_BINDINGS)));
+        }
+    };
+
     protected final Type type;
 
+    private final TypeInfo typeInfo;
+
     protected TypeReference() {
-        Type superClass = this.getClass().getGenericSuperclass();
-        if (superClass instanceof Class<?>) {
-            throw new IllegalArgumentException("TypeReference must be instantiated with an actual type argument");
-        } else {
-            this.type = ((ParameterizedType) superClass).getActualTypeArguments()[0];
-        }
+        var resolved = RESOLVED_CACHE.get(this.getClass());
+        this.type = resolved.type();
+        this.typeInfo = resolved.typeInfo();
     }
 
     public final Type type() {
         return this.type;
     }
 
+    public final TypeInfo typeInfo() {
+        return this.typeInfo;
+    }
+
+    private record Resolved(Type type, TypeInfo typeInfo) {
+
+    }
+
 }
@@ -1,8 +1,13 @@
 package dev.scx.reflect;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static dev.scx.reflect.TypeBindingsImpl.EMPTY_BINDINGS;
 
 /// 类型解析上下文, 用于支持 [TypeFactory] 构建复杂泛型结构时的类型变量绑定与递归检测.
 ///
@@ -35,21 +40,104 @@ import java.util.Map;
 /// @version 0.0.1
 final class TypeResolutionContext {
 
+    private static final VarHandle MEMO_HANDLE;
+    // 已释放的 memo
+    private static final Map<Type, TypeInfo> RELEASED = Map.of();
+    // bindings 为空的共享上下文不持有任何状态, 所有 ClassInfoImpl 共用同一个实例
+    private static final TypeResolutionContext EMPTY_SHARED = new TypeResolutionContext(EMPTY_BINDINGS, true);
+
+    static {
+        try {
+            MEMO_HANDLE = MethodHandles.lookup().findVarHandle(TypeResolutionContext.class, "memo", Map.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final TypeBindings bindings;
+    // 是否为共享上下文 (见 shared)
+    private final boolean shared;
+    // 是否使用 memo, 仅共享上下文并且 bindings 非空时使用
+    private final boolean memoizing;
+    // 共享上下文中 Type -> 解析结果, 首次使用时创建, 成员全部构建完成后释放 (见 release)
+    private volatile Map<Type, TypeInfo> memo;
     // 正在解析的半成品 ClassInfo, 用于解决递归问题
     private Map<Type, ClassInfo> inProgressTypes;
 
     TypeResolutionContext(TypeBindings bindings) {
+        this(bindings, false);
+    }
+
+    private TypeResolutionContext(TypeBindings bindings, boolean shared) {
         this.bindings = bindings;
+        this.shared = shared;
+        this.memoizing = shared && !bindings.isEmpty();
+    }
+
+    /// 创建一个可以被多个线程共享的上下文, 由 ClassInfoImpl 持有, 用于解析其全部成员 (字段, 方法, 参数, 父类 等).
+    ///
+    /// - 共享上下文从不记录 inProgressTypes (永远为空), 所以同一个 Type 在其中的解析结果是确定的,
+    ///   可以按 Type 进行缓存 (memo), 重复出现的类型 (例如 getter, setter 和字段上的同一个 `List<T>`) 无需再次构建 ClassInfoImpl.
+    ///   memo 只在构建成员期间有用, 持有者在全部成员构建完成后调用 [#release()] 将其释放.
+    /// - memo 的作用范围仅限于单个持有者, 不同的 ClassInfoImpl 即使 bindings 相同也不会共享解析结果,
+    ///   跨类的去重交给全局类型缓存. 全局按 (Type, bindings) 缓存会让缓存项同时引用多个类加载器中的类型, 所以没有采用.
+    /// - bindings 为空时不会使用 memo, 直接返回共用的 [#EMPTY_SHARED], 无需为每个 ClassInfoImpl 创建上下文.
+    /// - 真正需要构建 ClassInfoImpl 时, 必须通过 [#forBuild()] 得到一个独立的上下文.
+    public static TypeResolutionContext shared(TypeBindings bindings) {
+        if (bindings.isEmpty()) {
+            return EMPTY_SHARED;
+        }
+        return new TypeResolutionContext(bindings, true);
     }
 
     public TypeBindings bindings() {
         return bindings;
     }
 
-    // 这个方法实际上永远不可能在多个线程中被调用
+    /// 构建 ClassInfoImpl 时使用的上下文, 共享上下文会返回一个新的独立上下文.
+    public TypeResolutionContext forBuild() {
+        return shared ? new TypeResolutionContext(bindings) : this;
+    }
+
+    /// 共享上下文中已缓存的解析结果
+    public TypeInfo memoized(Type type) {
+        var memo = this.memo;
+        return memo != null ? memo.get(type) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public TypeInfo memoize(Type type, TypeInfo typeInfo) {
+        if (!memoizing) {
+            return typeInfo;
+        }
+        var memo = this.memo;
+        if (memo == null) {
+            var created = new ConcurrentHashMap<Type, TypeInfo>();
+            var witness = (Map<Type, TypeInfo>) MEMO_HANDLE.compareAndExchange(this, (Map<Type, TypeInfo>) null, (Map<Type, TypeInfo>) created);
+            memo = witness != null ? witness : created;
+        }
+        // 释放之后不再缓存, 解析结果仍然正确, 只是不再去重
+        if (memo == RELEASED) {
+            return typeInfo;
+        }
+        var old = memo.putIfAbsent(type, typeInfo);
+        return old != null ? old : typeInfo;
+    }
+
+    /// 释放 memo, 之后的解析不再缓存.
+    public void release() {
+        if (memoizing) {
+            memo = RELEASED;
+        }
+    }
+
+    // 非共享上下文实际上永远不可能在多个线程中被调用
     // 所以无需考虑线程安全 也不用加锁
     public Map<Type, ClassInfo> inProgressTypes() {
+        if (shared) {
+            // 共享上下文中永远不存在半成品, 返回不可变的空 Map 以防止被误写
+            return Map.of();
+        }
         if (inProgressTypes == null) {
             // 此处需要保证 equals 相等性 所以不能使用 IdentityHashMap
             // 不然的话会导致 复杂的递归泛型解析出现问题
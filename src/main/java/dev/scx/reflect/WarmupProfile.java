@@ -0,0 +1,126 @@
+package dev.scx.reflect;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+import static dev.scx.reflect.WarmupRecorder.MEMBER_CHARS;
+
+/// 预热记录的结果, 见 [ScxReflect#stopWarmupRecording()].
+///
+/// 文件格式为 UTF-8 文本, 第一行为固定的文件头, 之后每行一个类型:
+///
+/// ```
+/// java.util.Map<java.lang.String, java.lang.Integer>
+/// com.acme.Order	sfFM
+/// ```
+///
+/// 类型使用 [ScxReflect#parse(String, ClassLoader)] 的语法, 其后可选的 Tab 和字符表示被使用到的成员:
+/// `s` superClass, `i` interfaces, `c` constructors, `f` fields, `m` methods, `r` recordComponents,
+/// `S` allSuperClasses, `I` allInterfaces, `F` allFields, `M` allMethods, `D` defaultConstructor, `R` recordConstructor.
+///
+/// 隐藏类 (例如 Lambda) 无法通过名称重新加载, 所以不会被记录.
+///
+/// @author scx567888
+/// @version 0.0.1
+public final class WarmupProfile {
+
+    private static final String HEADER = "# scx-reflect warmup profile v1";
+
+    // 类型名称 -> 被使用到的成员, 按名称排序, 使得同样的记录得到同样的文件
+    private final Map<String, Integer> entries;
+
+    private WarmupProfile(Map<String, Integer> entries) {
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    static WarmupProfile of(Map<TypeInfo, Integer> recorded) {
+        var entries = new TreeMap<String, Integer>();
+        for (var entry : recorded.entrySet()) {
+            var typeName = TypeParser.typeName(entry.getKey());
+            if (typeName != null) {
+                entries.merge(typeName, entry.getValue(), (a, b) -> a | b);
+            }
+        }
+        return new WarmupProfile(entries);
+    }
+
+    /// 读取 [#write(Path)] 写入的文件.
+    ///
+    /// @throws IOException 读取失败 或者 文件格式不正确
+    public static WarmupProfile read(Path path) throws IOException {
+        var lines = Files.readAllLines(path);
+        if (lines.isEmpty() || !lines.getFirst().equals(HEADER)) {
+            throw new IOException("Not a warmup profile: " + path);
+        }
+        var entries = new TreeMap<String, Integer>();
+        for (int i = 1; i < lines.size(); i = i + 1) {
+            var line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            var tab = line.indexOf('\t');
+            var typeName = tab < 0 ? line : line.substring(0, tab);
+            var members = 0;
+            if (tab >= 0) {
+                for (int j = tab + 1; j < line.length(); j = j + 1) {
+                    var bit = MEMBER_CHARS.indexOf(line.charAt(j));
+                    if (bit < 0) {
+                        throw new IOException("Unknown member '" + line.charAt(j) + "' at line " + (i + 1) + " in " + path);
+                    }
+                    members = members | (1 << bit);
+                }
+            }
+            entries.merge(typeName, members, (a, b) -> a | b);
+        }
+        return new WarmupProfile(entries);
+    }
+
+    /// 写入文件, 已存在时覆盖.
+    public void write(Path path) throws IOException {
+        var lines = new ArrayList<String>(entries.size() + 1);
+        lines.add(HEADER);
+        for (var entry : entries.entrySet()) {
+            var members = entry.getValue();
+            if (members == 0) {
+                lines.add(entry.getKey());
+                continue;
+            }
+            var sb = new StringBuilder(entry.getKey()).append('\t');
+            for (int bit = 0; bit < MEMBER_CHARS.length(); bit = bit + 1) {
+                if ((members & (1 << bit)) != 0) {
+                    sb.append(MEMBER_CHARS.charAt(bit));
+                }
+            }
+            lines.add(sb.toString());
+        }
+        Files.write(path, lines);
+    }
+
+    /// 记录的类型个数
+    public int size() {
+        return entries.size();
+    }
+
+    /// 记录的类型名称, 按名称排序
+    public Set<String> typeNames() {
+        return entries.keySet();
+    }
+
+    /// 在 executor 上并行重新解析记录的全部类型, 以及每个类型被使用到的成员, 阻塞直到全部完成.
+    ///
+    /// 已经不存在的类型 (例如类被删除或重命名) 会记录在返回结果的 failures 中, 不会中断其他类型.
+    ///
+    /// @param classLoader 用于加载其中的类, null 表示 bootstrap 类加载器
+    /// @see ScxReflect#preload(java.util.Collection, Executor)
+    public PreloadReport replay(Executor executor, ClassLoader classLoader) {
+        return Preloader.replay(entries, executor, classLoader);
+    }
+
+}
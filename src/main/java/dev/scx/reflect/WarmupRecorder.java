@@ -0,0 +1,94 @@
+package dev.scx.reflect;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.System.Logger.Level.WARNING;
+
+/// 预热记录器, 见 [ScxReflect#startWarmupRecording()].
+///
+/// 记录期间, 记录 TypeFactory 构建的每一个 TypeInfo, 以及每个 ClassInfoImpl 实际被使用到的延迟成员 (见下方的成员常量).
+/// TypeInfo 在首次构建时记录. 成员在每次访问时记录 (包括开始记录之前就已经计算过的成员), 否则重放的集合并不完整.
+/// 未开启记录时每次访问仅多一次 volatile 读, 开启记录时已经记录过的成员只多一次 Map 查找.
+///
+/// 记录期间会强引用所有被记录的 TypeInfo, 所以记录只应在启动阶段短暂开启.
+///
+/// 也可以通过系统属性 `dev.scx.reflect.warmup.recordTo=<文件路径>` 在启动时自动开始记录, 并在 JVM 退出时写入该文件.
+///
+/// @author scx567888
+/// @version 0.0.1
+final class WarmupRecorder {
+
+    // ClassInfo 的延迟成员, 每个成员对应一位
+    static final int SUPER_CLASS = 1;
+    static final int INTERFACES = 1 << 1;
+    static final int CONSTRUCTORS = 1 << 2;
+    static final int FIELDS = 1 << 3;
+    static final int METHODS = 1 << 4;
+    static final int RECORD_COMPONENTS = 1 << 5;
+    static final int ALL_SUPER_CLASSES = 1 << 6;
+    static final int ALL_INTERFACES = 1 << 7;
+    static final int ALL_FIELDS = 1 << 8;
+    static final int ALL_METHODS = 1 << 9;
+    static final int DEFAULT_CONSTRUCTOR = 1 << 10;
+    static final int RECORD_CONSTRUCTOR = 1 << 11;
+
+    // 文件中表示各个成员的字符, 下标即位的序号
+    static final String MEMBER_CHARS = "sicfmrSIFMDR";
+
+    // TypeInfo -> 被使用到的成员, 为 null 表示未在记录
+    private static volatile ConcurrentHashMap<TypeInfo, Integer> recording;
+
+    static {
+        var recordTo = System.getProperty("dev.scx.reflect.warmup.recordTo");
+        if (recordTo != null && !recordTo.isBlank()) {
+            start();
+            Runtime.getRuntime().addShutdownHook(Thread.ofPlatform().unstarted(() -> {
+                try {
+                    stop().write(Path.of(recordTo));
+                } catch (IOException e) {
+                    // JVM 正在退出, 抛出异常只会打印出堆栈, 这里只记录日志
+                    System.getLogger(WarmupRecorder.class.getName()).log(WARNING, "failed to write warmup profile to " + recordTo, e);
+                }
+            }));
+        }
+    }
+
+    public static void start() {
+        synchronized (WarmupRecorder.class) {
+            if (recording == null) {
+                recording = new ConcurrentHashMap<>();
+            }
+        }
+    }
+
+    public static WarmupProfile stop() {
+        ConcurrentHashMap<TypeInfo, Integer> r;
+        synchronized (WarmupRecorder.class) {
+            r = recording;
+            recording = null;
+        }
+        return r != null ? WarmupProfile.of(r) : WarmupProfile.of(new ConcurrentHashMap<>());
+    }
+
+    /// TypeFactory 构建了一个 TypeInfo.
+    public static void built(TypeInfo typeInfo) {
+        var r = recording;
+        if (r != null && !(typeInfo instanceof PrimitiveTypeInfo)) {
+            r.putIfAbsent(typeInfo, 0);
+        }
+    }
+
+    /// ClassInfo 的某个延迟成员被访问.
+    public static void touched(ClassInfo classInfo, int member) {
+        var r = recording;
+        if (r != null) {
+            var recorded = r.get(classInfo);
+            if (recorded == null || (recorded & member) == 0) {
+                r.merge(classInfo, member, (a, b) -> a | b);
+            }
+        }
+    }
+
+}
@@ -5,8 +5,9 @@ import dev.scx.reflect.ScxReflect;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
-import java.util.Arrays;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingDeque;
 import java.util.stream.Collectors;
 
 /// allInterfaces / findSuperType 测试
@@ -21,6 +22,7 @@ import java.util.stream.Collectors;
 /// 7. 泛型接口绑定
 /// 8. 父类传递的泛型接口绑定
 /// 9. 多层泛型接口继承后的绑定
+/// 10. findSuperType 的结果与逐个遍历 allSuperClasses / allInterfaces 一致
 ///
 /// @author scx567888
 public class AllInterfacesTest {
@@ -38,6 +40,7 @@ public class AllInterfacesTest {
         test10_genericInterfaceBinding_direct();
         test11_genericInterfaceBinding_fromSuperclass();
         test12_genericInterfaceBinding_multiLevelInterfaceChain();
+        test13_findSuperType_shouldMatchLinearScan();
     }
 
     /// 基础场景:
@@ -278,6 +281,47 @@ public class AllInterfacesTest {
         );
     }
 
+    /// findSuperType 使用索引, 结果必须与逐个遍历 allSuperClasses / allInterfaces 完全一致 (同一实例).
+    @Test
+    public static void test13_findSuperType_shouldMatchLinearScan() {
+        var classes = List.of(
+            ArrayList.class, LinkedList.class, HashMap.class, LinkedHashMap.class, TreeMap.class,
+            ConcurrentSkipListMap.class, LinkedBlockingDeque.class, EnumMap.class, MM.class, D.class
+        );
+        var targets = List.of(
+            Object.class, Iterable.class, Collection.class, List.class, Map.class, SortedMap.class,
+            Deque.class, AbstractMap.class, Cloneable.class, Runnable.class, String.class, LL.class, JJ.class
+        );
+        for (var c : classes) {
+            var typeInfo = typeOf(c);
+            var allTargets = new ArrayList<Class<?>>(targets);
+            for (var s : typeInfo.allSuperClasses()) {
+                allTargets.add(s.rawClass());
+            }
+            for (var i : typeInfo.allInterfaces()) {
+                allTargets.add(i.rawClass());
+            }
+            for (var target : allTargets) {
+                Assert.assertSame(typeInfo.findSuperType(target), scanSuperType(typeInfo, target), c.getName() + " -> " + target.getName());
+            }
+            Assert.assertSame(typeInfo.findSuperType(c), typeInfo);
+        }
+    }
+
+    /// 原先的实现: 逐个遍历.
+    private static ClassInfo scanSuperType(ClassInfo typeInfo, Class<?> rawTarget) {
+        if (rawTarget == typeInfo.rawClass()) {
+            return typeInfo;
+        }
+        var candidates = rawTarget.isInterface() ? typeInfo.allInterfaces() : typeInfo.allSuperClasses();
+        for (var candidate : candidates) {
+            if (candidate.rawClass() == rawTarget) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
     private static ClassInfo assertFindSuperType(ClassInfo typeInfo, Class<?> rawTarget, Class<?> expectedRawClass) {
         var result = typeInfo.findSuperType(rawTarget);
         Assert.assertNotNull(
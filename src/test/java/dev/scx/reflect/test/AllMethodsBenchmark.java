@@ -0,0 +1,62 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ScxReflect;
+import dev.scx.reflect.TypeInfo;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/// 首次计算 allMethods 的耗时 (JDK 集合类型).
+///
+/// JDK 类型无法重新加载, 所以每一轮使用不同的类型参数 (例如 `ArrayList<X>`, `HashMap<X, X>`) 得到全新的 ClassInfo,
+/// 其父类和接口 (AbstractList<X>, List<X>, Collection<X> ...) 同样是全新的, 需要重新计算.
+public class AllMethodsBenchmark {
+
+    public static final List<Class<?>> COLLECTIONS = List.of(
+        ArrayList.class, LinkedList.class, ArrayDeque.class, PriorityQueue.class, HashSet.class, LinkedHashSet.class, TreeSet.class,
+        HashMap.class, LinkedHashMap.class, TreeMap.class, ConcurrentHashMap.class, ConcurrentSkipListMap.class,
+        CopyOnWriteArrayList.class, LinkedBlockingDeque.class
+    );
+
+    public static void main(String[] args) throws Exception {
+        // 作为类型参数的类, 每一轮使用一个
+        var arguments = new ArrayList<TypeInfo>();
+        for (var c : FootprintBenchmark.corpus()) {
+            arguments.add(ScxReflect.typeOf(c));
+        }
+        var warmup = arguments.size() / 4;
+
+        // 预热 JIT
+        run(arguments.subList(0, warmup));
+
+        var rounds = arguments.subList(warmup, arguments.size());
+        var result = run(rounds);
+        System.out.printf("collections: %d, rounds: %d, methods per round: %d%n", COLLECTIONS.size(), rounds.size(), result[1] / rounds.size());
+        System.out.printf("allMethods : %8.3f ms/round%n", result[0] / 1e6 / rounds.size());
+    }
+
+    /// 返回 [总耗时 (纳秒), allMethods 总数].
+    public static long[] run(List<TypeInfo> arguments) {
+        var elapsed = 0L;
+        var methodCount = 0L;
+        for (var argument : arguments) {
+            var classInfos = new ArrayList<ClassInfo>();
+            for (var c : COLLECTIONS) {
+                var typeArguments = new TypeInfo[c.getTypeParameters().length];
+                Arrays.fill(typeArguments, argument);
+                classInfos.add(ScxReflect.parameterized(c, typeArguments));
+            }
+            var start = System.nanoTime();
+            for (var classInfo : classInfos) {
+                methodCount = methodCount + classInfo.allMethods().length;
+            }
+            elapsed = elapsed + (System.nanoTime() - start);
+        }
+        return new long[]{elapsed, methodCount};
+    }
+
+}
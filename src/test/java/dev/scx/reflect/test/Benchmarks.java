@@ -0,0 +1,48 @@
+package dev.scx.reflect.test;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntConsumer;
+
+/// 简易基准测试工具 (不依赖 JMH), 供 XXXBenchmark 的 main 方法以及测试中的分配检查使用.
+///
+/// 每个基准会先预热, 然后多轮测量, 输出每轮中最好的 ns/op.
+public final class Benchmarks {
+
+    /// 防止 JIT 消除无副作用的调用.
+    public static volatile Object sink;
+
+    public static double run(String name, int operations, IntConsumer op) {
+        // 预热
+        for (int round = 0; round < 5; round = round + 1) {
+            for (int i = 0; i < operations; i = i + 1) {
+                op.accept(i);
+            }
+        }
+        // 测量
+        var best = Double.MAX_VALUE;
+        for (int round = 0; round < 10; round = round + 1) {
+            var start = System.nanoTime();
+            for (int i = 0; i < operations; i = i + 1) {
+                op.accept(i);
+            }
+            var nsPerOp = (double) (System.nanoTime() - start) / operations;
+            best = Math.min(best, nsPerOp);
+        }
+        System.out.printf("%-50s %10.2f ns/op%n", name, best);
+        return best;
+    }
+
+    /// 当前线程执行 iterations 次 task 所分配的字节数 (先以同样的次数预热, 预热中的分配不计入).
+    public static long allocatedBytes(Runnable task, int iterations) {
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < iterations; i = i + 1) {
+            task.run();
+        }
+        var before = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i = i + 1) {
+            task.run();
+        }
+        return threadMXBean.getCurrentThreadAllocatedBytes() - before;
+    }
+
+}
@@ -0,0 +1,120 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ScxReflect;
+import dev.scx.reflect.TypeInfo;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/// 有界模式需要在 TypeCache 初始化之前通过系统属性开启, 所以这里在独立的子 JVM 中运行.
+public class BoundedTypeCacheTest {
+
+    public static void main(String[] args) throws Exception {
+        test1_bounded_cache_should_keep_identity_and_release_dropped_types();
+    }
+
+    @Test
+    public static void test1_bounded_cache_should_keep_identity_and_release_dropped_types() throws Exception {
+        var exitCode = runChild(BoundedChild.class, "-Ddev.scx.reflect.typeCache.capacity=64");
+        Assert.assertEquals(exitCode, 0, "子 JVM 中的检查失败");
+    }
+
+    public static int runChild(Class<?> mainClass, String... jvmArgs) throws Exception {
+        var command = new ArrayList<String>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.addAll(List.of(jvmArgs));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(mainClass.getName());
+        var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        if (!process.waitFor(2, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            Assert.fail("子 JVM 超时");
+        }
+        return process.exitValue();
+    }
+
+    public static class BoundedChild {
+
+        private static final Class<?>[] ARGS = {
+                String.class, Integer.class, Long.class, Short.class, Byte.class, Double.class, Float.class,
+                Character.class, Boolean.class, Object.class, Number.class, BigDecimal.class, BigInteger.class,
+                LocalDate.class, LocalTime.class, LocalDateTime.class, Instant.class, Duration.class,
+                Period.class, ZonedDateTime.class, OffsetDateTime.class, UUID.class, Locale.class,
+                File.class, Thread.class, StringBuilder.class, Optional.class, Date.class, Currency.class,
+                BitSet.class,
+        };
+
+        public static void main(String[] args) throws Exception {
+            var held = ScxReflect.typeOf(new SimpleParameterizedType(Map.class, String.class, Integer.class));
+            var dropped = new WeakReference<>(ScxReflect.typeOf(new SimpleParameterizedType(Map.class, Long.class, Short.class)));
+
+            // 远超容量的不同类型
+            for (var a : ARGS) {
+                for (var b : ARGS) {
+                    ScxReflect.typeOf(new SimpleParameterizedType(Map.class, a, b));
+                }
+            }
+
+            // 仍被持有的类型 必须保持唯一
+            var again = ScxReflect.typeOf(new SimpleParameterizedType(Map.class, String.class, Integer.class));
+            Assert.assertSame(again, held);
+
+            // 未被持有的类型 可以被回收
+            for (int i = 0; i < 50 && dropped.get() != null; i = i + 1) {
+                System.gc();
+                Thread.sleep(20);
+            }
+            Assert.assertNull(dropped.get(), "未被持有的类型应当可以被回收");
+
+            // 回收之后再次推导, 结果同样是唯一的
+            TypeInfo rebuilt = ScxReflect.typeOf(new SimpleParameterizedType(Map.class, Long.class, Short.class));
+            Assert.assertSame(ScxReflect.typeOf(new SimpleParameterizedType(Map.class, Long.class, Short.class)), rebuilt);
+        }
+
+    }
+
+    public record SimpleParameterizedType(Class<?> rawType, Type... actualTypeArguments) implements ParameterizedType {
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return actualTypeArguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SimpleParameterizedType p && rawType == p.rawType && Arrays.equals(actualTypeArguments, p.actualTypeArguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return rawType.hashCode() * 31 + Arrays.hashCode(actualTypeArguments);
+        }
+
+    }
+
+}
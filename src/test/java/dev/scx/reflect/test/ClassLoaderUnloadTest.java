@@ -0,0 +1,115 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Map;
+
+public class ClassLoaderUnloadTest {
+
+    public static void main(String[] args) throws Exception {
+        test1_plugin_class_loader_should_be_collected_after_resolution();
+        test2_sibling_class_loader_should_not_be_pinned_by_mixed_type();
+    }
+
+    @Test
+    public static void test1_plugin_class_loader_should_be_collected_after_resolution() throws Exception {
+        var loaderRef = loadAndResolvePlugin();
+
+        for (int i = 0; i < 50 && loaderRef.get() != null; i = i + 1) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        Assert.assertNull(loaderRef.get(), "插件类加载器应当可以被回收");
+    }
+
+    @Test
+    public static void test2_sibling_class_loader_should_not_be_pinned_by_mixed_type() throws Exception {
+        var classFolder = IsolatedClassLoader.testClassFolder();
+        try (var loaderA = new URLClassLoader(new URL[]{classFolder.toUri().toURL()}, ClassLoader.getPlatformClassLoader())) {
+            var entityClass = loaderA.loadClass("dev.scx.reflect.test.plugin.PluginEntity");
+            var entity = (ClassInfo) ScxReflect.typeOf(entityClass);
+
+            var loaderRef = resolveMixedType(entityClass);
+
+            for (int i = 0; i < 50 && loaderRef.get() != null; i = i + 1) {
+                System.gc();
+                Thread.sleep(20);
+            }
+
+            Assert.assertNull(loaderRef.get(), "兄弟插件类加载器不应被另一个插件中的缓存段持有");
+            // 另一侧仍然可用
+            Assert.assertSame(ScxReflect.typeOf(entityClass), entity);
+        }
+    }
+
+    /// 通过另一个一次性的类加载器构建 `Map<PluginEntity(A), PluginItem(B)>`, 返回 B 的弱引用.
+    public static WeakReference<ClassLoader> resolveMixedType(Class<?> entityClass) throws Exception {
+        var classFolder = IsolatedClassLoader.testClassFolder();
+        try (var loaderB = new URLClassLoader(new URL[]{classFolder.toUri().toURL()}, ClassLoader.getPlatformClassLoader())) {
+            var itemClass = loaderB.loadClass("dev.scx.reflect.test.plugin.PluginItem");
+
+            var mixed = ScxReflect.typeOf(new BoundedTypeCacheTest.SimpleParameterizedType(Map.class, entityClass, itemClass));
+            // 仍被持有时保持唯一
+            Assert.assertSame(ScxReflect.typeOf(new BoundedTypeCacheTest.SimpleParameterizedType(Map.class, entityClass, itemClass)), mixed);
+            Assert.assertSame(ScxReflect.parameterized(Map.class, ScxReflect.typeOf(entityClass), ScxReflect.typeOf(itemClass)), mixed);
+            inspect((ClassInfo) mixed);
+
+            return new WeakReference<>(loaderB);
+        }
+    }
+
+    /// 通过一次性的 URLClassLoader 加载插件类并完整解析, 返回类加载器的弱引用.
+    /// 单独放在一个方法中, 保证返回之后没有任何局部变量继续持有插件中的对象.
+    public static WeakReference<ClassLoader> loadAndResolvePlugin() throws Exception {
+        var classFolder = IsolatedClassLoader.testClassFolder();
+        try (var loader = new URLClassLoader(new URL[]{classFolder.toUri().toURL()}, ClassLoader.getPlatformClassLoader())) {
+            var entityClass = loader.loadClass("dev.scx.reflect.test.plugin.PluginEntity");
+            // 确认确实是由插件类加载器加载的
+            Assert.assertSame(entityClass.getClassLoader(), loader);
+
+            var entity = (ClassInfo) ScxReflect.typeOf(entityClass);
+            inspect(entity);
+
+            // ParameterizedType / GenericArrayType 作为 key 的路径
+            for (var field : entityClass.getDeclaredFields()) {
+                var typeInfo = ScxReflect.typeOf(field.getGenericType());
+                Assert.assertNotNull(typeInfo);
+            }
+
+            // 内部类 和 数组
+            var inner = (ClassInfo) ScxReflect.typeOf(loader.loadClass("dev.scx.reflect.test.plugin.PluginEntity$Inner"));
+            inspect(inner);
+            Assert.assertNotNull(ScxReflect.typeOf(entityClass.arrayType()));
+
+            return new WeakReference<>(loader);
+        }
+    }
+
+    public static void inspect(ClassInfo classInfo) {
+        classInfo.allSuperClasses();
+        classInfo.allInterfaces();
+        classInfo.constructors();
+        classInfo.recordComponents();
+        classInfo.defaultConstructor();
+        for (var field : classInfo.allFields()) {
+            if (field.fieldType() instanceof ClassInfo c) {
+                c.allFields();
+            }
+        }
+        for (var method : classInfo.allMethods()) {
+            method.returnType();
+            method.superMethods();
+            method.allSuperMethods();
+            for (var parameter : method.parameters()) {
+                parameter.parameterType();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.FieldInfo;
+import dev.scx.reflect.MethodInfo;
+import dev.scx.reflect.ScxReflect;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+/// 多线程冷启动解析基准.
+///
+/// 每个线程使用独立的 [IsolatedClassLoader] 重新加载测试类, 因此每个线程面对的都是从未解析过的全新类型图,
+/// 对比 单线程 和 多线程 解析同样数量的类型图所需的时间.
+public class ColdResolutionBenchmark {
+
+    public static final String PACKAGE_PREFIX = "dev.scx.reflect.test.";
+
+    public static void main(String[] args) throws Exception {
+        var threadCount = Math.max(2, Runtime.getRuntime().availableProcessors());
+        var graphsPerThread = 4;
+
+        // 预热 JIT
+        run(1, 2);
+        run(threadCount, 1);
+
+        var single = run(1, threadCount * graphsPerThread);
+        var multi = run(threadCount, graphsPerThread);
+
+        System.out.printf("graphs: %d, threads: %d%n", threadCount * graphsPerThread, threadCount);
+        System.out.printf("1 thread  : %8.2f ms%n", single / 1e6);
+        System.out.printf("%-2d threads: %8.2f ms%n", threadCount, multi / 1e6);
+        System.out.printf("speedup   : %8.2f x%n", (double) single / multi);
+    }
+
+    /// 使用 threadCount 个线程, 每个线程解析 graphsPerThread 份全新的类型图, 返回总耗时 (纳秒).
+    public static long run(int threadCount, int graphsPerThread) throws Exception {
+        var classFolder = IsolatedClassLoader.testClassFolder();
+        var classNames = IsolatedClassLoader.listClassNames(classFolder, PACKAGE_PREFIX);
+
+        // 预先加载 Class, 只测量 ScxReflect 的解析耗时
+        var graphs = new ArrayList<List<Class<?>>>();
+        for (int i = 0; i < threadCount * graphsPerThread; i = i + 1) {
+            var loader = new IsolatedClassLoader(classFolder, PACKAGE_PREFIX, ColdResolutionBenchmark.class.getClassLoader());
+            var classes = new ArrayList<Class<?>>();
+            for (var name : classNames) {
+                classes.add(Class.forName(name, false, loader));
+            }
+            graphs.add(classes);
+        }
+
+        var pool = Executors.newFixedThreadPool(threadCount);
+        try {
+            var tasks = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < threadCount; t = t + 1) {
+                var myGraphs = graphs.subList(t * graphsPerThread, (t + 1) * graphsPerThread);
+                tasks.add(() -> {
+                    for (var classes : myGraphs) {
+                        for (var c : classes) {
+                            resolve(c);
+                        }
+                    }
+                    return null;
+                });
+            }
+            var start = System.nanoTime();
+            for (var future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+            return System.nanoTime() - start;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static void resolve(Class<?> c) {
+        try {
+            if (ScxReflect.typeOf(c) instanceof ClassInfo classInfo) {
+                for (FieldInfo field : classInfo.allFields()) {
+                    Benchmarks.sink = field.fieldType();
+                }
+                for (MethodInfo method : classInfo.allMethods()) {
+                    Benchmarks.sink = method.returnType();
+                }
+                Benchmarks.sink = classInfo.constructors();
+            }
+        } catch (NoClassDefFoundError | TypeNotPresentException e) {
+            // 部分测试类依赖的类型在当前环境中不可见, 直接跳过
+        }
+    }
+
+}
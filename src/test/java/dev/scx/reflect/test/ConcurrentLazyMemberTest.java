@@ -0,0 +1,61 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ScxReflect;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+
+public class ConcurrentLazyMemberTest {
+
+    private static final String PREFIX = "dev.scx.reflect.test.plugin.";
+
+    public static void main(String[] args) throws Exception {
+        test1_concurrent_access_should_publish_one_result();
+    }
+
+    @Test
+    public static void test1_concurrent_access_should_publish_one_result() throws Exception {
+        var threadCount = 8;
+        for (int round = 0; round < 20; round = round + 1) {
+            // 每一轮都使用全新的 ClassInfo
+            var loader = new IsolatedClassLoader(IsolatedClassLoader.testClassFolder(), PREFIX, ConcurrentLazyMemberTest.class.getClassLoader());
+            var classInfo = (ClassInfo) ScxReflect.typeOf(Class.forName(PREFIX + "PluginEntity", false, loader));
+            var barrier = new CyclicBarrier(threadCount);
+            var tasks = new ArrayList<Callable<List<Object>>>();
+            for (int t = 0; t < threadCount; t = t + 1) {
+                tasks.add(() -> {
+                    barrier.await();
+                    var result = new ArrayList<Object>();
+                    result.add(classInfo.superClass());
+                    result.addAll(List.of(classInfo.allMethods()));
+                    result.addAll(List.of(classInfo.methods()));
+                    result.addAll(List.of(classInfo.allFields()));
+                    result.add(classInfo.defaultConstructor());
+                    for (var method : classInfo.methods()) {
+                        result.addAll(List.of(method.allSuperMethods()));
+                    }
+                    return result;
+                });
+            }
+            try (var executor = Executors.newFixedThreadPool(threadCount)) {
+                var futures = executor.invokeAll(tasks);
+                var expected = futures.get(0).get();
+                for (var future : futures) {
+                    var actual = future.get();
+                    Assert.assertEquals(actual.size(), expected.size());
+                    // 所有线程得到的是同一批实例
+                    for (int i = 0; i < expected.size(); i = i + 1) {
+                        Assert.assertSame(actual.get(i), expected.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+}
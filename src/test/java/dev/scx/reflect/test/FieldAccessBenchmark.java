@@ -0,0 +1,125 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.FieldInfo;
+import dev.scx.reflect.ScxReflect;
+
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+
+import static dev.scx.reflect.FieldAccessMode.VOLATILE;
+import static dev.scx.reflect.test.Benchmarks.sink;
+
+/// 读取 int / long / double 字段: 直接访问, Field.get (装箱), Field.getInt, FieldInfo.getInt (缓存的 VarHandle),
+/// 以及保存在 static final 字段中的 VarHandle (JIT 视为常量).
+public class FieldAccessBenchmark {
+
+    private static final VarHandle INT_VALUE = varHandle("intValue");
+    private static final VarHandle COUNTER = varHandle("COUNTER");
+
+    public static void main(String[] args) throws Exception {
+        var values = new Values();
+        values.intValue = 1;
+        values.longValue = 2;
+        values.doubleValue = 3.5;
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Values.class);
+        var intField = classInfo.findField("intValue");
+        var longField = classInfo.findField("longValue");
+        var doubleField = classInfo.findField("doubleValue");
+        var counter = classInfo.findField("COUNTER");
+
+        var operations = 5_000_000;
+        Benchmarks.run("int direct", operations, _ -> sink = values.intValue + values.longValue + values.doubleValue);
+        Benchmarks.run("int Field.get (boxing)", operations, _ -> sink = (int) get(intField.rawField(), values) + (long) get(longField.rawField(), values) + (double) get(doubleField.rawField(), values));
+        Benchmarks.run("int Field.getInt", operations, _ -> sink = getInt(intField.rawField(), values) + getLong(longField.rawField(), values) + getDouble(doubleField.rawField(), values));
+        Benchmarks.run("int FieldInfo.getInt", operations, _ -> sink = getInt(intField, values) + getLong(longField, values) + getDouble(doubleField, values));
+        Benchmarks.run("int static final VarHandle", operations, _ -> sink = (int) INT_VALUE.get(values));
+
+        Benchmarks.run("static Field.getLong (volatile)", operations, _ -> sink = getLong(counter.rawField(), null));
+        Benchmarks.run("static FieldInfo.getLong (VOLATILE)", operations, _ -> sink = getLongVolatile(counter));
+        Benchmarks.run("static static final VarHandle (volatile)", operations, _ -> sink = (long) COUNTER.getVolatile());
+    }
+
+    private static VarHandle varHandle(String name) {
+        try {
+            return ((ClassInfo) ScxReflect.typeOf(Values.class)).findField(name).varHandle();
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static Object get(Field field, Object obj) {
+        try {
+            return field.get(obj);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int getInt(Field field, Object obj) {
+        try {
+            return field.getInt(obj);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long getLong(Field field, Object obj) {
+        try {
+            return field.getLong(obj);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double getDouble(Field field, Object obj) {
+        try {
+            return field.getDouble(obj);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int getInt(FieldInfo field, Object obj) {
+        try {
+            return field.getInt(obj);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long getLong(FieldInfo field, Object obj) {
+        try {
+            return field.getLong(obj);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double getDouble(FieldInfo field, Object obj) {
+        try {
+            return field.getDouble(obj);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long getLongVolatile(FieldInfo field) {
+        try {
+            return field.getLong(null, VOLATILE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class Values {
+
+        public static volatile long COUNTER = 4;
+
+        public int intValue;
+        public long longValue;
+        public double doubleValue;
+
+    }
+
+}
@@ -0,0 +1,255 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.AccessModifier;
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.FieldInfo;
+import dev.scx.reflect.ScxReflect;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.invoke.VarHandle;
+import java.util.List;
+
+import static dev.scx.reflect.FieldAccessMode.*;
+import static dev.scx.reflect.test.Benchmarks.allocatedBytes;
+
+public class FieldAccessTest {
+
+    public static void main(String[] args) throws Exception {
+        test1_primitive_accessors_should_match_Field();
+        test2_conversions_should_follow_Field_rules();
+        test3_static_fields_and_varHandle();
+        test4_access_modes();
+        test5_final_fields_should_follow_Field_rules();
+        test6_invalid_access_should_throw_like_Field();
+        test7_primitive_accessors_should_not_allocate();
+    }
+
+    @Test
+    public static void test1_primitive_accessors_should_match_Field() throws Exception {
+        var values = new Values();
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Values.class);
+
+        field(classInfo, "booleanValue").setBoolean(values, true);
+        field(classInfo, "byteValue").setByte(values, (byte) 1);
+        field(classInfo, "charValue").setChar(values, 'c');
+        field(classInfo, "shortValue").setShort(values, (short) 2);
+        field(classInfo, "intValue").setInt(values, 3);
+        field(classInfo, "longValue").setLong(values, 4L);
+        field(classInfo, "floatValue").setFloat(values, 5.5f);
+        field(classInfo, "doubleValue").setDouble(values, 6.5);
+        field(classInfo, "name").set(values, "name", PLAIN);
+
+        Assert.assertTrue(field(classInfo, "booleanValue").getBoolean(values));
+        Assert.assertEquals(field(classInfo, "byteValue").getByte(values), (byte) 1);
+        Assert.assertEquals(field(classInfo, "charValue").getChar(values), 'c');
+        Assert.assertEquals(field(classInfo, "shortValue").getShort(values), (short) 2);
+        Assert.assertEquals(field(classInfo, "intValue").getInt(values), 3);
+        Assert.assertEquals(field(classInfo, "longValue").getLong(values), 4L);
+        Assert.assertEquals(field(classInfo, "floatValue").getFloat(values), 5.5f);
+        Assert.assertEquals(field(classInfo, "doubleValue").getDouble(values), 6.5);
+        Assert.assertEquals(field(classInfo, "name").get(values, PLAIN), "name");
+
+        // 与 Field 以及 直接访问 的结果一致
+        for (var field : classInfo.fields()) {
+            if (!field.isStatic() && field.accessModifier() == AccessModifier.PUBLIC) {
+                Assert.assertEquals(field.get(values, PLAIN), field.rawField().get(values), field.name());
+            }
+        }
+        Assert.assertEquals(values.intValue, 3);
+        Assert.assertEquals(values.name, "name");
+    }
+
+    @Test
+    public static void test2_conversions_should_follow_Field_rules() throws Exception {
+        var values = new Values();
+        values.byteValue = 7;
+        values.intValue = 8;
+        values.floatValue = 1.5f;
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Values.class);
+        var byteField = field(classInfo, "byteValue");
+        var intField = field(classInfo, "intValue");
+        var longField = field(classInfo, "longValue");
+
+        // 拓宽转换
+        Assert.assertEquals(byteField.getInt(values), 7);
+        Assert.assertEquals(intField.getLong(values), 8L);
+        Assert.assertEquals(field(classInfo, "floatValue").getDouble(values), 1.5);
+        longField.setInt(values, 9);
+        Assert.assertEquals(values.longValue, 9L);
+        intField.set(values, (short) 10, PLAIN);
+        Assert.assertEquals(values.intValue, 10);
+
+        // 窄化转换
+        Assert.assertThrows(IllegalArgumentException.class, () -> longField.getInt(values));
+        Assert.assertThrows(IllegalArgumentException.class, () -> byteField.setInt(values, 1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> intField.set(values, 1L, PLAIN));
+        Assert.assertThrows(IllegalArgumentException.class, () -> intField.rawField().set(values, 1L));
+        Assert.assertThrows(IllegalArgumentException.class, () -> field(classInfo, "booleanValue").getInt(values));
+        // 基本类型的读写方法不能用于包装类型字段, 基本类型字段不能写入 null
+        Assert.assertThrows(IllegalArgumentException.class, () -> field(classInfo, "boxed").getInt(values));
+        Assert.assertThrows(IllegalArgumentException.class, () -> field(classInfo, "boxed").rawField().getInt(values));
+        Assert.assertThrows(IllegalArgumentException.class, () -> intField.set(values, null, PLAIN));
+        // 引用类型字段写入错误的类型
+        Assert.assertThrows(IllegalArgumentException.class, () -> field(classInfo, "name").set(values, 1, PLAIN));
+    }
+
+    @Test
+    public static void test3_static_fields_and_varHandle() throws Exception {
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Values.class);
+        var counter = field(classInfo, "COUNTER");
+
+        // 静态字段忽略 obj
+        counter.setLong(null, 1L);
+        Assert.assertEquals(counter.getLong("ignored"), 1L);
+        Assert.assertEquals(Values.COUNTER, 1L);
+
+        // 静态字段的 VarHandle 没有坐标, 实例字段的坐标为声明类
+        var staticHandle = counter.varHandle();
+        Assert.assertEquals(staticHandle.coordinateTypes(), List.of());
+        Assert.assertEquals(staticHandle.varType(), long.class);
+        staticHandle.setVolatile(2L);
+        Assert.assertEquals((long) staticHandle.getVolatile(), 2L);
+        Assert.assertSame(counter.varHandle(), staticHandle);
+
+        var instanceHandle = field(classInfo, "intValue").varHandle();
+        Assert.assertEquals(instanceHandle.coordinateTypes(), List.of(Values.class));
+        var values = new Values();
+        instanceHandle.set(values, 5);
+        Assert.assertEquals(values.intValue, 5);
+
+        // static final 的 VarHandle 可以被 JIT 视为常量
+        Assert.assertEquals((int) Holder.INT_VALUE.get(values), 5);
+    }
+
+    @Test
+    public static void test4_access_modes() throws Exception {
+        var values = new Values();
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Values.class);
+        var intField = field(classInfo, "intValue");
+        var volatileField = field(classInfo, "volatileValue");
+        for (var mode : List.of(PLAIN, OPAQUE, VOLATILE)) {
+            intField.setInt(values, mode.ordinal() + 1, mode);
+            Assert.assertEquals(intField.getInt(values, mode), mode.ordinal() + 1);
+            volatileField.setLong(values, mode.ordinal() + 10, mode);
+            Assert.assertEquals(volatileField.getLong(values, mode), mode.ordinal() + 10);
+            field(classInfo, "name").set(values, mode.name(), mode);
+            Assert.assertEquals(field(classInfo, "name").get(values, mode), mode.name());
+        }
+        Assert.assertEquals(values.volatileValue, 12L);
+    }
+
+    @Test
+    public static void test5_final_fields_should_follow_Field_rules() throws Exception {
+        var values = new Values();
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Values.class);
+        var finalField = field(classInfo, "finalValue");
+        Assert.assertEquals(finalField.getInt(values), 42);
+        Assert.assertEquals(field(classInfo, "CONSTANT").getInt(null), 100);
+
+        // final 字段: 与 Field 相同, 需要 setAccessible(true), 静态 final 字段永远不可写
+        Assert.assertThrows(IllegalAccessException.class, () -> finalField.setInt(values, 1));
+        Assert.assertThrows(IllegalAccessException.class, () -> field(classInfo, "CONSTANT").setInt(null, 1));
+        finalField.setAccessible(true);
+        finalField.setInt(values, 43, VOLATILE);
+        Assert.assertEquals(finalField.getInt(values, VOLATILE), 43);
+        finalField.setAccessible(false);
+    }
+
+    @Test
+    public static void test6_invalid_access_should_throw_like_Field() throws Exception {
+        var values = new Values();
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Values.class);
+        var intField = field(classInfo, "intValue");
+
+        Assert.assertThrows(NullPointerException.class, () -> intField.getInt(null));
+        Assert.assertThrows(NullPointerException.class, () -> intField.setInt(null, 1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> intField.getInt("wrong"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> intField.setInt("wrong", 1, VOLATILE));
+
+        // 私有字段需要 setAccessible(true)
+        var secret = field(classInfo, "secret");
+        Assert.assertThrows(IllegalAccessException.class, () -> secret.getInt(values));
+        Assert.assertThrows(IllegalAccessException.class, secret::varHandle);
+        secret.setAccessible(true);
+        secret.setInt(values, 7);
+        Assert.assertEquals(secret.getInt(values), 7);
+        Assert.assertEquals((int) secret.varHandle().get(values), 7);
+        // setAccessible(false) 之后缓存的访问器不再可用, 重新以当前包的身份检查
+        secret.setAccessible(false);
+        Assert.assertThrows(IllegalAccessException.class, () -> secret.getInt(values));
+        Assert.assertThrows(IllegalAccessException.class, () -> secret.setInt(values, 8, VOLATILE));
+        Assert.assertThrows(IllegalAccessException.class, secret::varHandle);
+        secret.setAccessible(true);
+        Assert.assertEquals(secret.getInt(values), 7);
+        secret.setAccessible(false);
+    }
+
+    @Test
+    public static void test7_primitive_accessors_should_not_allocate() throws Exception {
+        var values = new Values();
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Values.class);
+        var intField = field(classInfo, "intValue");
+        var longField = field(classInfo, "longValue");
+        var doubleField = field(classInfo, "doubleValue");
+        // 计数和累加都放在数组中, 避免装箱
+        var counter = new int[1];
+        var sum = new double[1];
+        Runnable accesses = () -> {
+            var i = counter[0];
+            counter[0] = i + 1;
+            try {
+                intField.setInt(values, i);
+                longField.setLong(values, i * 1000L);
+                doubleField.setDouble(values, i + 0.5, OPAQUE);
+                sum[0] = sum[0] + intField.getInt(values) + longField.getLong(values) + doubleField.getDouble(values, OPAQUE);
+            } catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
+        };
+        var allocated = allocatedBytes(accesses, 10_000);
+        Benchmarks.sink = sum;
+        Assert.assertTrue(allocated < 1024, "allocated: " + allocated);
+    }
+
+    private static FieldInfo field(ClassInfo classInfo, String name) {
+        return classInfo.findField(name);
+    }
+
+    public static class Holder {
+
+        public static final VarHandle INT_VALUE;
+
+        static {
+            try {
+                INT_VALUE = field((ClassInfo) ScxReflect.typeOf(Values.class), "intValue").varHandle();
+            } catch (IllegalAccessException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+    }
+
+    public static class Values {
+
+        public static final int CONSTANT = 100;
+        public static long COUNTER;
+
+        public final int finalValue = 42;
+
+        public boolean booleanValue;
+        public byte byteValue;
+        public char charValue;
+        public short shortValue;
+        public int intValue;
+        public long longValue;
+        public float floatValue;
+        public double doubleValue;
+        public volatile long volatileValue;
+        public Integer boxed;
+        public String name;
+        private int secret;
+
+    }
+
+}
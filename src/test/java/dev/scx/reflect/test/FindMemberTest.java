@@ -0,0 +1,207 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.MethodInfo;
+import dev.scx.reflect.ScxReflect;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static dev.scx.reflect.test.Benchmarks.allocatedBytes;
+
+public class FindMemberTest {
+
+    public static void main(String[] args) {
+        test1_findField_should_resolve_shadowing();
+        test2_findMethod_should_resolve_overrides_and_overloads();
+        test3_findConstructor_should_match_parameter_types();
+        test4_lookups_should_match_linear_scan();
+        test5_lookups_should_not_allocate();
+    }
+
+    @Test
+    public static void test1_findField_should_resolve_shadowing() {
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Child.class);
+        // 当前类的字段隐藏父类的同名字段
+        Assert.assertEquals(classInfo.findField("value").declaringClass().rawClass(), Child.class);
+        Assert.assertEquals(classInfo.findField("value").fieldType().rawClass(), String.class);
+        // 父类的字段优先于接口的同名常量
+        Assert.assertEquals(classInfo.findField("NAME").declaringClass().rawClass(), Parent.class);
+        Assert.assertEquals(classInfo.findField("CONSTANT").declaringClass().rawClass(), Named.class);
+        Assert.assertEquals(classInfo.findField("count").declaringClass().rawClass(), Parent.class);
+        Assert.assertNull(classInfo.findField("missing"));
+    }
+
+    @Test
+    public static void test2_findMethod_should_resolve_overrides_and_overloads() {
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Child.class);
+
+        // 重写的方法只保留子类的版本
+        var name = classInfo.findMethod("name");
+        Assert.assertEquals(name.declaringClass().rawClass(), Child.class);
+
+        // 参数类型为解析泛型之后的原始类型
+        var set = classInfo.findMethod("set", String.class);
+        Assert.assertEquals(set.declaringClass().rawClass(), Child.class);
+        Assert.assertNull(classInfo.findMethod("set", Object.class));
+
+        // 重载
+        var overloads = classInfo.findMethods("put");
+        Assert.assertEquals(overloads.size(), 2);
+        Assert.assertEquals(classInfo.findMethod("put", int.class).parameter(0).parameterType().rawClass(), int.class);
+        Assert.assertEquals(classInfo.findMethod("put", String.class, int.class).parameterCount(), 2);
+        Assert.assertNull(classInfo.findMethod("put", long.class));
+
+        // 父类和 Object 中的方法
+        Assert.assertEquals(classInfo.findMethod("get").declaringClass().rawClass(), Parent.class);
+        Assert.assertEquals(classInfo.findMethod("get").returnType().rawClass(), String.class);
+        Assert.assertEquals(classInfo.findMethod("hashCode").declaringClass().rawClass(), Object.class);
+
+        Assert.assertTrue(classInfo.findMethods("missing").isEmpty());
+        Assert.assertNull(classInfo.findMethod("missing"));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> classInfo.findMethods("put").clear());
+    }
+
+    @Test
+    public static void test3_findConstructor_should_match_parameter_types() {
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Child.class);
+        Assert.assertSame(classInfo.findConstructor(), classInfo.defaultConstructor());
+        Assert.assertEquals(classInfo.findConstructor(String.class, int.class).parameterCount(), 2);
+        Assert.assertNull(classInfo.findConstructor(int.class));
+
+        // 泛型参数同样按照解析后的类型匹配
+        var box = ((ClassInfo) ScxReflect.typeOf(StringBox.class)).superClass();
+        Assert.assertNotNull(box.findConstructor(String.class));
+        Assert.assertNull(box.findConstructor(Object.class));
+    }
+
+    @Test
+    public static void test4_lookups_should_match_linear_scan() {
+        for (var c : List.of(ArrayList.class, HashMap.class, ConcurrentHashMap.class, String.class, Thread.class, Child.class)) {
+            var classInfo = (ClassInfo) ScxReflect.typeOf(c);
+            for (var method : classInfo.allMethods()) {
+                var expected = new ArrayList<MethodInfo>();
+                for (var m : classInfo.allMethods()) {
+                    if (m.name().equals(method.name())) {
+                        expected.add(m);
+                    }
+                }
+                Assert.assertEquals(classInfo.findMethods(method.name()), expected);
+                var found = classInfo.findMethod(method.name(), method.signature().parameterTypes());
+                Assert.assertEquals(found.signature(), method.signature());
+            }
+            for (var field : classInfo.allFields()) {
+                Assert.assertEquals(classInfo.findField(field.name()).name(), field.name());
+            }
+            for (var constructor : classInfo.constructors()) {
+                var parameterTypes = Arrays.stream(constructor.parameters()).map(p -> p.parameterType().rawClass()).toArray(Class<?>[]::new);
+                Assert.assertSame(classInfo.findConstructor(parameterTypes), constructor);
+            }
+        }
+    }
+
+    @Test
+    public static void test5_lookups_should_not_allocate() {
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Child.class);
+        var noParameters = new Class<?>[0];
+        var stringParameter = new Class<?>[]{String.class};
+        Runnable lookups = () -> {
+            Benchmarks.sink = classInfo.findField("value");
+            Benchmarks.sink = classInfo.findField("missing");
+            Benchmarks.sink = classInfo.findMethods("put");
+            Benchmarks.sink = classInfo.findMethod("name", noParameters);
+            Benchmarks.sink = classInfo.findMethod("set", stringParameter);
+            Benchmarks.sink = classInfo.findConstructor(noParameters);
+        };
+        // 预热时 (第一次调用) 构建索引
+        var allocated = allocatedBytes(lookups, 10_000);
+        Assert.assertTrue(allocated < 1024, "allocated: " + allocated);
+    }
+
+    public interface Named {
+
+        String CONSTANT = "constant";
+        String NAME = "named";
+
+        String name();
+
+    }
+
+    public static class Parent<T> {
+
+        public static final String NAME = "parent";
+
+        public T value;
+        public int count;
+
+        public T get() {
+            return value;
+        }
+
+        public void set(T value) {
+            this.value = value;
+        }
+
+        public String name() {
+            return NAME;
+        }
+
+    }
+
+    public static class Child extends Parent<String> implements Named {
+
+        public String value;
+
+        public Child() {
+        }
+
+        public Child(String value, int count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        @Override
+        public String name() {
+            return value;
+        }
+
+        @Override
+        public void set(String value) {
+            this.value = value;
+        }
+
+        public void put(int count) {
+            this.count = count;
+        }
+
+        public void put(String value, int count) {
+            this.value = value;
+            this.count = count;
+        }
+
+    }
+
+    public static class Box<T> {
+
+        public final T value;
+
+        public Box(T value) {
+            this.value = value;
+        }
+
+    }
+
+    public static class StringBox extends Box<String> {
+
+        public StringBox(String value) {
+            super(value);
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ScxReflect;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import static dev.scx.reflect.test.TestCompiler.compile;
+import static dev.scx.reflect.test.TestCompiler.loader;
+
+/// findSuperType (索引) 和 原先逐个遍历 allSuperClasses / allInterfaces 的对比.
+///
+/// - jdk: 常见集合类型查找 Map, Iterable, Collection 等 (编解码器中的典型用法).
+/// - deep: 生成的深层继承体系 (8 层父类, 每层 6 个泛型接口), 查找最底层的接口.
+public class FindSuperTypeBenchmark {
+
+    public static final int DEPTH = 8;
+    public static final int INTERFACES_PER_LEVEL = 6;
+
+    public static void main(String[] args) throws Exception {
+        var jdk = new ArrayList<ClassInfo>();
+        for (var c : List.of(ArrayList.class, LinkedHashMap.class, ConcurrentSkipListMap.class, LinkedBlockingDeque.class)) {
+            jdk.add((ClassInfo) ScxReflect.typeOf(c));
+        }
+        var jdkTargets = List.<Class<?>>of(Map.class, Iterable.class, Collection.class, Object.class);
+
+        var classes = compile(sources());
+        try (var loader = loader(classes)) {
+            var deep = List.of((ClassInfo) ScxReflect.typeOf(loader.loadClass("deep.Level" + (DEPTH - 1))));
+            var deepTargets = List.<Class<?>>of(loader.loadClass("deep.I0_0"), loader.loadClass("deep.I0_" + (INTERFACES_PER_LEVEL - 1)), loader.loadClass("deep.Level0"), Map.class);
+            System.out.printf("deep: %d interfaces, %d super classes%n", deep.get(0).allInterfaces().length, deep.get(0).allSuperClasses().length);
+
+            var iterations = 200_000;
+            // 预热 JIT
+            run(jdk, jdkTargets, iterations, true);
+            run(jdk, jdkTargets, iterations, false);
+            run(deep, deepTargets, iterations, true);
+            run(deep, deepTargets, iterations, false);
+
+            System.out.printf("jdk  scan  : %8.2f ns/op%n", run(jdk, jdkTargets, iterations, true));
+            System.out.printf("jdk  index : %8.2f ns/op%n", run(jdk, jdkTargets, iterations, false));
+            System.out.printf("deep scan  : %8.2f ns/op%n", run(deep, deepTargets, iterations, true));
+            System.out.printf("deep index : %8.2f ns/op%n", run(deep, deepTargets, iterations, false));
+        }
+    }
+
+    /// 返回每次查找的平均耗时 (纳秒).
+    public static double run(List<ClassInfo> classInfos, List<Class<?>> targets, int iterations, boolean scan) {
+        var start = System.nanoTime();
+        for (int n = 0; n < iterations; n = n + 1) {
+            for (var classInfo : classInfos) {
+                for (var target : targets) {
+                    Benchmarks.sink = scan ? scanSuperType(classInfo, target) : classInfo.findSuperType(target);
+                }
+            }
+        }
+        return (System.nanoTime() - start) / (double) ((long) iterations * classInfos.size() * targets.size());
+    }
+
+    /// 原先的实现: 复制数组后逐个遍历.
+    public static ClassInfo scanSuperType(ClassInfo classInfo, Class<?> rawTarget) {
+        if (rawTarget == classInfo.rawClass()) {
+            return classInfo;
+        }
+        var candidates = rawTarget.isInterface() ? classInfo.allInterfaces() : classInfo.allSuperClasses();
+        for (var candidate : candidates) {
+            if (candidate.rawClass() == rawTarget) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> sources() {
+        var sources = new LinkedHashMap<String, String>();
+        for (int level = 0; level < DEPTH; level = level + 1) {
+            var implemented = new ArrayList<String>();
+            for (int i = 0; i < INTERFACES_PER_LEVEL; i = i + 1) {
+                var name = "I" + level + "_" + i;
+                sources.put("deep." + name, "package deep; public interface " + name + "<T> {}");
+                implemented.add(name + "<T>");
+            }
+            var superClass = level == 0 ? "" : " extends Level" + (level - 1) + "<T>";
+            sources.put("deep.Level" + level, "package deep; public class Level" + level + "<T>" + superClass + " implements " + String.join(", ", implemented) + " {}");
+        }
+        return sources;
+    }
+
+}
@@ -0,0 +1,125 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ScxReflect;
+import dev.scx.reflect.TypeInfo;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.net.URI;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/// 对象模型的内存占用.
+///
+/// 语料为 java.base 中 java.util, java.util.concurrent, java.time, java.io 包下的公开顶层类.
+/// 先调用一遍 getDeclaredXxx 和泛型相关方法, 让 JVM 自身的反射缓存就绪, 再用 ScxReflect 解析全部成员,
+/// 比较前后 (多次 GC 之后) 的堆占用, 得到 ScxReflect 对象图的保留字节数.
+/// 原始类型 (raw) 之后, 再以 String 作为类型参数测量其中的泛型类 (parameterized), 其成员类型需要按 bindings 重新解析.
+///
+/// 建议使用独立的 JVM 运行, 例如 `java -Xmx1g ... FootprintBenchmark`.
+public class FootprintBenchmark {
+
+    public static final List<String> PACKAGES = List.of("java/util", "java/util/concurrent", "java/time", "java/io");
+
+    public static void main(String[] args) throws Exception {
+        var classes = corpus();
+
+        // 让 JVM 自身的反射缓存就绪, 只测量 ScxReflect 额外保留的内存
+        for (var c : classes) {
+            for (var f : c.getDeclaredFields()) {
+                Benchmarks.sink = f.getGenericType();
+            }
+            for (var m : c.getDeclaredMethods()) {
+                Benchmarks.sink = m.getGenericReturnType();
+                Benchmarks.sink = m.getParameters();
+            }
+            for (var ctor : c.getDeclaredConstructors()) {
+                Benchmarks.sink = ctor.getParameters();
+            }
+        }
+        Benchmarks.sink = null;
+
+        measure("raw", classes, c -> (ClassInfo) ScxReflect.typeOf(c));
+        // 泛型类以 String 作为全部类型参数, 此时成员类型的解析会用到共享上下文中的 memo
+        var string = ScxReflect.typeOf(String.class);
+        var generic = classes.stream().filter(c -> c.getTypeParameters().length > 0).toList();
+        measure("parameterized", generic, c -> {
+            var typeArguments = new TypeInfo[c.getTypeParameters().length];
+            Arrays.fill(typeArguments, string);
+            return ScxReflect.parameterized(c, typeArguments);
+        });
+    }
+
+    /// 创建并解析全部成员, 输出新增的保留字节数.
+    private static void measure(String name, List<Class<?>> classes, Function<Class<?>, ClassInfo> factory) throws InterruptedException {
+        var before = usedHeap();
+        var classInfos = new ArrayList<ClassInfo>();
+        var methodCount = 0;
+        var fieldCount = 0;
+        var parameterCount = 0;
+        for (var c : classes) {
+            var classInfo = factory.apply(c);
+            classInfos.add(classInfo);
+            Benchmarks.sink = classInfo.allFields();
+            Benchmarks.sink = classInfo.allMethods();
+            for (var constructor : classInfo.constructors()) {
+                parameterCount = parameterCount + constructor.parameters().length;
+            }
+            for (var method : classInfo.methods()) {
+                parameterCount = parameterCount + method.parameters().length;
+            }
+            methodCount = methodCount + classInfo.methods().length;
+            fieldCount = fieldCount + classInfo.fields().length;
+            Benchmarks.sink = classInfo.recordComponents();
+            Benchmarks.sink = classInfo.superClass();
+            Benchmarks.sink = classInfo.interfaces();
+        }
+        Benchmarks.sink = null;
+        var after = usedHeap();
+        Reference.reachabilityFence(classInfos);
+
+        var retained = after - before;
+        System.out.printf("[%s] classes: %d, methods: %d, fields: %d, parameters: %d%n", name, classInfos.size(), methodCount, fieldCount, parameterCount);
+        System.out.printf("[%s] retained : %8.2f MB%n", name, retained / 1024.0 / 1024.0);
+        System.out.printf("[%s] per class: %8d bytes%n", name, retained / classInfos.size());
+    }
+
+    public static List<Class<?>> corpus() throws Exception {
+        var result = new ArrayList<Class<?>>();
+        try (var fs = FileSystems.newFileSystem(URI.create("jrt:/"), java.util.Map.of())) {
+            for (var p : PACKAGES) {
+                try (var files = Files.list(fs.getPath("modules", "java.base", p))) {
+                    for (var file : files.sorted().toList()) {
+                        var fileName = file.getFileName().toString();
+                        if (!fileName.endsWith(".class") || fileName.contains("$") || fileName.equals("package-info.class")) {
+                            continue;
+                        }
+                        var c = Class.forName(p.replace('/', '.') + "." + fileName.substring(0, fileName.length() - 6), false, null);
+                        if (java.lang.reflect.Modifier.isPublic(c.getModifiers())) {
+                            result.add(c);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        var memory = ManagementFactory.getMemoryMXBean();
+        var used = Long.MAX_VALUE;
+        // 多次 GC, 取最小值
+        for (int i = 0; i < 5; i = i + 1) {
+            System.gc();
+            Thread.sleep(50);
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+}
@@ -0,0 +1,102 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ConstructorInfo;
+import dev.scx.reflect.Instantiator;
+import dev.scx.reflect.ScxReflect;
+
+import java.lang.reflect.Constructor;
+
+import static dev.scx.reflect.test.Benchmarks.sink;
+
+/// 创建实例: new, Constructor.newInstance, ConstructorInfo.newInstance, Instantiator.
+///
+/// - default: 公开的无参构造器 (反序列化中的典型用法), Instantiator 使用生成的 Supplier.
+/// - private: setAccessible 之后的私有无参构造器, 生成的类无法直接访问, Instantiator 使用 MethodHandle.
+/// - xy: 两个基本类型参数, 参数预先装箱, Instantiator 使用 MethodHandle.
+public class InstantiatorBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        var pojo = (ClassInfo) ScxReflect.typeOf(Pojo.class);
+        var defaultConstructor = pojo.defaultConstructor();
+        var defaultInstantiator = defaultConstructor.instantiator();
+        var hidden = ((ClassInfo) ScxReflect.typeOf(Hidden.class)).defaultConstructor();
+        hidden.setAccessible(true);
+        var hiddenInstantiator = hidden.instantiator();
+        var xy = pojo.findConstructor(int.class, int.class);
+        var xyInstantiator = xy.instantiator();
+        Object one = 1;
+        Object two = 2;
+
+        var operations = 2_000_000;
+        Benchmarks.run("default new", operations, _ -> sink = new Pojo());
+        Benchmarks.run("default Constructor.newInstance", operations, _ -> sink = newInstance(defaultConstructor.rawConstructor()));
+        Benchmarks.run("default ConstructorInfo.newInstance", operations, _ -> sink = newInstance(defaultConstructor));
+        Benchmarks.run("default Instantiator.newInstance0", operations, _ -> sink = newInstance0(defaultInstantiator));
+
+        Benchmarks.run("private Constructor.newInstance", operations, _ -> sink = newInstance(hidden.rawConstructor()));
+        Benchmarks.run("private Instantiator.newInstance0", operations, _ -> sink = newInstance0(hiddenInstantiator));
+
+        Benchmarks.run("xy new", operations, _ -> sink = new Pojo((Integer) one, (Integer) two));
+        Benchmarks.run("xy Constructor.newInstance", operations, _ -> sink = newInstance(xy.rawConstructor(), one, two));
+        Benchmarks.run("xy ConstructorInfo.newInstance", operations, _ -> sink = newInstance(xy, one, two));
+        Benchmarks.run("xy Instantiator.newInstance2", operations, _ -> sink = newInstance2(xyInstantiator, one, two));
+    }
+
+    private static Object newInstance(Constructor<?> constructor, Object... args) {
+        try {
+            return constructor.newInstance(args);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object newInstance(ConstructorInfo constructor, Object... args) {
+        try {
+            return constructor.newInstance(args);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object newInstance0(Instantiator instantiator) {
+        try {
+            return instantiator.newInstance0();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object newInstance2(Instantiator instantiator, Object arg0, Object arg1) {
+        try {
+            return instantiator.newInstance2(arg0, arg1);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class Pojo {
+
+        public int x;
+        public int y;
+
+        public Pojo() {
+
+        }
+
+        public Pojo(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+    }
+
+    public static class Hidden {
+
+        private Hidden() {
+
+        }
+
+    }
+
+}
@@ -0,0 +1,238 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ScxReflect;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+
+import static dev.scx.reflect.test.Benchmarks.allocatedBytes;
+import static dev.scx.reflect.test.TestCompiler.compile;
+import static dev.scx.reflect.test.TestCompiler.loader;
+
+public class InstantiatorTest {
+
+    public static void main(String[] args) throws Exception {
+        test1_newInstance_should_match_Constructor_newInstance();
+        test2_fixed_arity_newInstance_should_match_newInstance();
+        test3_default_constructor_should_create_new_instances();
+        test4_invalid_arguments_should_throw_like_Constructor_newInstance();
+        test5_access_should_be_checked_like_Constructor_newInstance();
+        test6_class_from_other_loader_should_fall_back_to_MethodHandle();
+        test7_newInstance0_should_not_allocate_arguments();
+    }
+
+    @Test
+    public static void test1_newInstance_should_match_Constructor_newInstance() throws Exception {
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Point.class);
+
+        var xy = classInfo.findConstructor(int.class, int.class);
+        Assert.assertEquals(xy.newInstance(1, 2), xy.rawConstructor().newInstance(1, 2));
+        Assert.assertEquals(xy.newInstance(1, 2), new Point(1, 2));
+        // 与 Constructor.newInstance 相同, 允许基本类型的拓宽转换
+        Assert.assertEquals(xy.newInstance((byte) 1, 'a'), xy.rawConstructor().newInstance((byte) 1, 'a'));
+
+        // null 等同于空参数数组
+        var defaultConstructor = classInfo.defaultConstructor();
+        Assert.assertEquals(defaultConstructor.newInstance((Object[]) null), new Point(0, 0));
+
+        // 可变参数构造器按照固定参数个数调用
+        var varargs = classInfo.findConstructor(int[].class);
+        Assert.assertEquals(varargs.newInstance((Object) new int[]{3, 4}), new Point(3, 4));
+
+        // 构造器抛出的异常包装为 InvocationTargetException
+        var named = classInfo.findConstructor(String.class);
+        var e = Assert.expectThrows(InvocationTargetException.class, () -> named.newInstance("boom"));
+        Assert.assertEquals(e.getCause().getClass(), IllegalStateException.class);
+        Assert.assertEquals(e.getCause().getMessage(), "boom");
+        Assert.assertEquals(Assert.expectThrows(InvocationTargetException.class, () -> named.instantiator().newInstance1(null)).getCause().getClass(), NullPointerException.class);
+    }
+
+    @Test
+    public static void test2_fixed_arity_newInstance_should_match_newInstance() throws Exception {
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Point.class);
+        Assert.assertEquals(classInfo.defaultConstructor().instantiator().newInstance0(), new Point(0, 0));
+        Assert.assertEquals(classInfo.findConstructor(String.class).instantiator().newInstance1("5,6"), new Point(5, 6));
+        Assert.assertEquals(classInfo.findConstructor(int.class, int.class).instantiator().newInstance2(1, 2), new Point(1, 2));
+        Assert.assertEquals(classInfo.findConstructor(int.class, int.class, int.class).instantiator().newInstance3(1, 2, 3), new Point(6, 0));
+        Assert.assertEquals(classInfo.findConstructor(int.class, int.class, int.class, int.class).instantiator().newInstance4(1, 2, 3, 4), new Point(4, 6));
+
+        // 参数个数不一致
+        var xy = classInfo.findConstructor(int.class, int.class).instantiator();
+        Assert.assertThrows(IllegalArgumentException.class, () -> xy.newInstance1(1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> xy.newInstance0());
+        var five = classInfo.findConstructor(int.class, int.class, int.class, int.class, int.class).instantiator();
+        Assert.assertThrows(IllegalArgumentException.class, () -> five.newInstance4(1, 2, 3, 4));
+        Assert.assertEquals(five.newInstance(1, 2, 3, 4, 5), new Point(15, 0));
+    }
+
+    @Test
+    public static void test3_default_constructor_should_create_new_instances() throws Exception {
+        var defaultConstructor = ((ClassInfo) ScxReflect.typeOf(Point.class)).defaultConstructor();
+        // 缓存
+        var instantiator = defaultConstructor.instantiator();
+        Assert.assertSame(defaultConstructor.instantiator(), instantiator);
+        // 每次都是新实例
+        var a = instantiator.newInstance0();
+        var b = instantiator.newInstance0();
+        Assert.assertEquals(a.getClass(), Point.class);
+        Assert.assertNotSame(a, b);
+
+        // 构造器抛出的异常 (包括受检异常) 包装为 InvocationTargetException
+        var failing = ((ClassInfo) ScxReflect.typeOf(Failing.class)).defaultConstructor().instantiator();
+        var e = Assert.expectThrows(InvocationTargetException.class, failing::newInstance0);
+        Assert.assertEquals(e.getCause().getClass(), Exception.class);
+        Assert.assertEquals(Assert.expectThrows(InvocationTargetException.class, failing::newInstance).getCause().getClass(), Exception.class);
+    }
+
+    @Test
+    public static void test4_invalid_arguments_should_throw_like_Constructor_newInstance() throws Exception {
+        var xy = ((ClassInfo) ScxReflect.typeOf(Point.class)).findConstructor(int.class, int.class);
+
+        // 参数类型错误, null 传给基本类型, 窄化转换
+        Assert.assertThrows(IllegalArgumentException.class, () -> xy.newInstance("1", 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> xy.instantiator().newInstance2(null, 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> xy.instantiator().newInstance2(1L, 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> xy.rawConstructor().newInstance(1L, 2));
+        // 参数个数错误
+        Assert.assertThrows(IllegalArgumentException.class, () -> xy.newInstance(1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> xy.newInstance());
+
+        // 抽象类
+        var shape = ((ClassInfo) ScxReflect.typeOf(Shape.class)).defaultConstructor();
+        Assert.assertThrows(InstantiationException.class, () -> shape.rawConstructor().newInstance());
+        Assert.assertThrows(InstantiationException.class, () -> shape.newInstance());
+        Assert.assertThrows(InstantiationException.class, () -> shape.instantiator().newInstance0());
+
+        // 枚举
+        var color = ((ClassInfo) ScxReflect.typeOf(Color.class)).constructors()[0];
+        color.setAccessible(true);
+        Assert.assertThrows(IllegalArgumentException.class, () -> color.rawConstructor().newInstance("BLUE", 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> color.newInstance("BLUE", 2));
+    }
+
+    @Test
+    public static void test5_access_should_be_checked_like_Constructor_newInstance() throws Exception {
+        var secret = ((ClassInfo) ScxReflect.typeOf(Secret.class)).defaultConstructor();
+        Assert.assertThrows(IllegalAccessException.class, secret::instantiator);
+        Assert.assertThrows(IllegalAccessException.class, () -> secret.newInstance());
+        // setAccessible 之后可以调用
+        secret.setAccessible(true);
+        Assert.assertEquals(secret.instantiator().newInstance0().getClass(), Secret.class);
+        Assert.assertEquals(secret.newInstance().getClass(), Secret.class);
+        // setAccessible(false) 之后不再返回缓存的调用器, 已经得到的调用器保留创建时的访问权限
+        var instantiator = secret.instantiator();
+        secret.setAccessible(false);
+        Assert.assertThrows(IllegalAccessException.class, secret::instantiator);
+        Assert.assertThrows(IllegalAccessException.class, () -> secret.newInstance());
+        Assert.assertEquals(instantiator.newInstance0().getClass(), Secret.class);
+    }
+
+    @Test
+    public static void test6_class_from_other_loader_should_fall_back_to_MethodHandle() throws Exception {
+        var classes = compile(Map.of("plugin.Greeter", """
+            package plugin;
+            public class Greeter {
+                public final String greeting;
+                public Greeter() {
+                    this.greeting = "hello";
+                }
+            }
+            """));
+        try (var loader = loader(classes)) {
+            var greeterClass = loader.loadClass("plugin.Greeter");
+            var instantiator = ((ClassInfo) ScxReflect.typeOf(greeterClass)).defaultConstructor().instantiator();
+            var greeter = instantiator.newInstance0();
+            Assert.assertEquals(greeter.getClass(), greeterClass);
+            Assert.assertEquals(greeterClass.getField("greeting").get(greeter), "hello");
+            Assert.assertEquals(instantiator.newInstance().getClass(), greeterClass);
+        }
+    }
+
+    @Test
+    public static void test7_newInstance0_should_not_allocate_arguments() throws Exception {
+        var instantiator = ((ClassInfo) ScxReflect.typeOf(Empty.class)).defaultConstructor().instantiator();
+        Runnable instantiations = () -> {
+            try {
+                Benchmarks.sink = instantiator.newInstance0();
+            } catch (ReflectiveOperationException e) {
+                throw new AssertionError(e);
+            }
+        };
+        var iterations = 10_000;
+        var allocated = allocatedBytes(instantiations, iterations);
+        // 只分配 Empty 本身 (16 字节)
+        Assert.assertTrue(allocated < iterations * 16L + 1024, "allocated: " + allocated);
+    }
+
+    public record Point(int x, int y) {
+
+        public Point() {
+            this(0, 0);
+        }
+
+        public Point(int... values) {
+            this(values[0], values[1]);
+        }
+
+        public Point(String text) {
+            this(parse(text, 0), parse(text, 1));
+        }
+
+        public Point(int a, int b, int c) {
+            this(a + b + c, 0);
+        }
+
+        public Point(int a, int b, int c, int d) {
+            this(a + c, b + d);
+        }
+
+        public Point(int a, int b, int c, int d, int e) {
+            this(a + b + c + d + e, 0);
+        }
+
+        private static int parse(String text, int index) {
+            var parts = text.split(",");
+            if (parts.length != 2) {
+                throw new IllegalStateException(text);
+            }
+            return Integer.parseInt(parts[index]);
+        }
+
+    }
+
+    public static class Failing {
+
+        public Failing() throws Exception {
+            throw new Exception("checked");
+        }
+
+    }
+
+    public static abstract class Shape {
+
+        public Shape() {
+
+        }
+
+    }
+
+    public enum Color {
+        RED, GREEN
+    }
+
+    public static class Secret {
+
+        private Secret() {
+
+        }
+
+    }
+
+    public static class Empty {
+
+    }
+
+}
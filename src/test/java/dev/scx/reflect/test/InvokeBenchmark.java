@@ -0,0 +1,113 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.MethodInfo;
+import dev.scx.reflect.ScxReflect;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.function.IntConsumer;
+
+import static dev.scx.reflect.test.Benchmarks.sink;
+
+/// 方法调用: 直接调用, Method.invoke, MethodInfo.invoke (缓存的 MethodHandle + 参数数组), MethodInfo.invoke2 (固定参数个数).
+///
+/// - concat: 引用类型的参数和返回值, 没有装箱.
+/// - add: 基本类型的参数和返回值, 参数预先装箱, 返回值的装箱无法避免.
+/// - describe: 接口的 default 方法.
+///
+/// JDK 18 起 Method.invoke 本身也基于 MethodHandle (JEP 416), 所以耗时的差别主要来自参数数组的分配.
+public class InvokeBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        var target = new Target();
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Target.class);
+        var concat = classInfo.findMethod("concat", String.class, String.class);
+        var add = classInfo.findMethod("add", int.class, int.class);
+        var describe = ((ClassInfo) ScxReflect.typeOf(Named.class)).findMethod("describe");
+        var a = "a";
+        var b = "b";
+        Object one = 1;
+        Object two = 2;
+
+        var operations = 2_000_000;
+        run("concat direct", operations, _ -> sink = target.concat(a, b));
+        run("concat Method.invoke", operations, _ -> sink = invoke(concat.rawMethod(), target, a, b));
+        run("concat MethodInfo.invoke", operations, _ -> sink = invoke(concat, target, a, b));
+        run("concat MethodInfo.invoke2", operations, _ -> sink = invoke2(concat, target, a, b));
+
+        run("add direct", operations, _ -> sink = target.add((Integer) one, (Integer) two));
+        run("add Method.invoke", operations, _ -> sink = invoke(add.rawMethod(), target, one, two));
+        run("add MethodInfo.invoke", operations, _ -> sink = invoke(add, target, one, two));
+        run("add MethodInfo.invoke2", operations, _ -> sink = invoke2(add, target, one, two));
+
+        run("describe (default) direct", operations, _ -> sink = target.describe());
+        run("describe (default) Method.invoke", operations, _ -> sink = invoke(describe.rawMethod(), target));
+        run("describe (default) MethodInfo.invoke0", operations, _ -> sink = invoke0(describe, target));
+    }
+
+    /// 同时输出每次调用分配的字节数 (Method.invoke 的可变参数数组, 以及 invoke 的参数数组).
+    private static void run(String name, int operations, IntConsumer op) {
+        Benchmarks.run(name, operations, op);
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var before = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < operations; i = i + 1) {
+            op.accept(i);
+        }
+        var allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+        System.out.printf("%-50s %10.2f bytes/op%n", name, (double) allocated / operations);
+    }
+
+    private static Object invoke(Method method, Object obj, Object... args) {
+        try {
+            return method.invoke(obj, args);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object invoke(MethodInfo method, Object obj, Object... args) {
+        try {
+            return method.invoke(obj, args);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object invoke0(MethodInfo method, Object obj) {
+        try {
+            return method.invoke0(obj);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object invoke2(MethodInfo method, Object obj, Object arg0, Object arg1) {
+        try {
+            return method.invoke2(obj, arg0, arg1);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public interface Named {
+
+        default String describe() {
+            return "named";
+        }
+
+    }
+
+    public static class Target implements Named {
+
+        public String concat(String a, String b) {
+            return a;
+        }
+
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+    }
+
+}
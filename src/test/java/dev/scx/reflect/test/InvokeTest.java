@@ -0,0 +1,260 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ScxReflect;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.InvocationTargetException;
+
+import static dev.scx.reflect.test.Benchmarks.allocatedBytes;
+
+public class InvokeTest {
+
+    public static void main(String[] args) throws Exception {
+        test1_invoke_should_match_Method_invoke();
+        test2_fixed_arity_invoke_should_match_invoke();
+        test3_invoke_should_dispatch_default_and_static_methods();
+        test4_invalid_arguments_should_throw_like_Method_invoke();
+        test5_access_should_be_checked_like_Method_invoke();
+        test6_fixed_arity_invoke_should_not_allocate();
+    }
+
+    @Test
+    public static void test1_invoke_should_match_Method_invoke() throws Exception {
+        var calculator = new Calculator();
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Calculator.class);
+
+        var add = classInfo.findMethod("add", int.class, int.class);
+        Assert.assertEquals(add.invoke(calculator, 1, 2), add.rawMethod().invoke(calculator, 1, 2));
+        Assert.assertEquals(add.invoke(calculator, 1, 2), 3);
+        // 与 Method.invoke 相同, 允许基本类型的拓宽转换
+        var widen = classInfo.findMethod("widen", long.class, double.class);
+        Assert.assertEquals(widen.invoke(calculator, 1, 'a'), widen.rawMethod().invoke(calculator, 1, 'a'));
+        Assert.assertEquals(widen.invoke(calculator, (byte) 1, 2.5f), 3.5);
+
+        // void 方法返回 null
+        var reset = classInfo.findMethod("reset");
+        Assert.assertNull(reset.invoke(calculator));
+        // null 等同于空参数数组
+        Assert.assertNull(reset.invoke(calculator, (Object[]) null));
+
+        // 可变参数方法按照固定参数个数调用
+        var sum = classInfo.findMethod("sum", int[].class);
+        Assert.assertEquals(sum.invoke(calculator, (Object) new int[]{1, 2, 3}), 6);
+
+        // 目标方法抛出的异常包装为 InvocationTargetException
+        var fail = classInfo.findMethod("fail", String.class);
+        var e = Assert.expectThrows(InvocationTargetException.class, () -> fail.invoke(calculator, "boom"));
+        Assert.assertEquals(e.getCause().getClass(), IllegalStateException.class);
+        Assert.assertEquals(e.getCause().getMessage(), "boom");
+        // 目标方法抛出的 NullPointerException 同样被包装
+        var length = classInfo.findMethod("length", String.class);
+        Assert.assertEquals(Assert.expectThrows(InvocationTargetException.class, () -> length.invoke(calculator, (Object) null)).getCause().getClass(), NullPointerException.class);
+    }
+
+    @Test
+    public static void test2_fixed_arity_invoke_should_match_invoke() throws Exception {
+        var calculator = new Calculator();
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Calculator.class);
+        Assert.assertEquals(classInfo.findMethod("zero").invoke0(calculator), 0);
+        Assert.assertEquals(classInfo.findMethod("negate", int.class).invoke1(calculator, 5), -5);
+        Assert.assertEquals(classInfo.findMethod("add", int.class, int.class).invoke2(calculator, 1, 2), 3);
+        Assert.assertEquals(classInfo.findMethod("join", String.class, String.class, String.class).invoke3(calculator, "a", "b", "c"), "abc");
+        Assert.assertEquals(classInfo.findMethod("join", String.class, String.class, String.class, String.class).invoke4(calculator, "a", "b", "c", "d"), "abcd");
+
+        // 参数个数不一致
+        var add = classInfo.findMethod("add", int.class, int.class);
+        Assert.assertThrows(IllegalArgumentException.class, () -> add.invoke1(calculator, 1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> add.invoke3(calculator, 1, 2, 3));
+        var five = classInfo.findMethod("five", int.class, int.class, int.class, int.class, int.class);
+        Assert.assertThrows(IllegalArgumentException.class, () -> five.invoke4(calculator, 1, 2, 3, 4));
+        Assert.assertEquals(five.invoke(calculator, 1, 2, 3, 4, 5), 15);
+    }
+
+    @Test
+    public static void test3_invoke_should_dispatch_default_and_static_methods() throws Exception {
+        var shape = (ClassInfo) ScxReflect.typeOf(Shape.class);
+
+        // 接口的 default 方法: 未重写时调用 default 实现, 重写时按实际类型分派
+        var describe = shape.findMethod("describe");
+        Assert.assertTrue(describe.isDefault());
+        Assert.assertEquals(describe.invoke(new Square()), "shape 4");
+        Assert.assertEquals(describe.invoke0(new Circle()), "circle");
+        Assert.assertEquals(describe.invoke(new Circle()), describe.rawMethod().invoke(new Circle()));
+
+        // 抽象方法同样按实际类型分派
+        Assert.assertEquals(shape.findMethod("sides").invoke0(new Square()), 4);
+
+        // 静态方法忽略 obj
+        var of = shape.findMethod("of", int.class);
+        Assert.assertEquals(of.invoke(null, 4).getClass(), Square.class);
+        Assert.assertEquals(of.invoke1("ignored", 0).getClass(), Circle.class);
+        var max = ((ClassInfo) ScxReflect.typeOf(Math.class)).findMethod("max", int.class, int.class);
+        Assert.assertEquals(max.invoke2(null, 3, 7), 7);
+    }
+
+    @Test
+    public static void test4_invalid_arguments_should_throw_like_Method_invoke() throws Exception {
+        var calculator = new Calculator();
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Calculator.class);
+        var add = classInfo.findMethod("add", int.class, int.class);
+        var length = classInfo.findMethod("length", String.class);
+
+        // 实例方法的 obj 为 null
+        Assert.assertThrows(NullPointerException.class, () -> add.invoke(null, 1, 2));
+        Assert.assertThrows(NullPointerException.class, () -> add.rawMethod().invoke(null, 1, 2));
+        // obj 类型错误
+        Assert.assertThrows(IllegalArgumentException.class, () -> add.invoke("x", 1, 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> add.invoke2("x", 1, 2));
+        // 参数类型错误, null 传给基本类型, 窄化转换
+        Assert.assertThrows(IllegalArgumentException.class, () -> add.invoke(calculator, "1", 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> add.invoke2(calculator, null, 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> add.invoke2(calculator, 1L, 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> add.rawMethod().invoke(calculator, 1L, 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> length.invoke1(calculator, 1));
+        // 参数个数错误
+        Assert.assertThrows(IllegalArgumentException.class, () -> add.invoke(calculator, 1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> add.invoke(calculator));
+    }
+
+    @Test
+    public static void test5_access_should_be_checked_like_Method_invoke() throws Exception {
+        var calculator = new Calculator();
+        var secret = ((ClassInfo) ScxReflect.typeOf(Calculator.class)).findMethod("secret");
+        Assert.assertThrows(IllegalAccessException.class, () -> secret.invoke(calculator));
+        Assert.assertThrows(IllegalAccessException.class, () -> secret.invoke0(calculator));
+        // setAccessible 之后可以调用
+        secret.setAccessible(true);
+        Assert.assertEquals(secret.invoke0(calculator), "secret");
+        Assert.assertEquals(secret.invoke(calculator), "secret");
+        // setAccessible(false) 之后缓存的 MethodHandle 不再可用, 重新以当前包的身份检查
+        secret.setAccessible(false);
+        Assert.assertThrows(IllegalAccessException.class, () -> secret.invoke0(calculator));
+        secret.setAccessible(true);
+        Assert.assertEquals(secret.invoke0(calculator), "secret");
+        secret.setAccessible(false);
+        // 不依赖 setAccessible 的方法不受影响
+        var add = ((ClassInfo) ScxReflect.typeOf(Calculator.class)).findMethod("add", int.class, int.class);
+        add.setAccessible(true);
+        Assert.assertEquals(add.invoke2(calculator, 1, 2), 3);
+        add.setAccessible(false);
+        Assert.assertEquals(add.invoke2(calculator, 1, 2), 3);
+    }
+
+    @Test
+    public static void test6_fixed_arity_invoke_should_not_allocate() throws Exception {
+        var calculator = new Calculator();
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Calculator.class);
+        var first = classInfo.findMethod("first", String.class, String.class);
+        Runnable invocations = () -> {
+            try {
+                Benchmarks.sink = first.invoke2(calculator, "a", "b");
+            } catch (ReflectiveOperationException e) {
+                throw new AssertionError(e);
+            }
+        };
+        var allocated = allocatedBytes(invocations, 10_000);
+        Assert.assertTrue(allocated < 1024, "allocated: " + allocated);
+    }
+
+    public interface Shape {
+
+        static Shape of(int sides) {
+            return sides == 4 ? new Square() : new Circle();
+        }
+
+        int sides();
+
+        default String describe() {
+            return "shape " + sides();
+        }
+
+    }
+
+    public static class Square implements Shape {
+
+        @Override
+        public int sides() {
+            return 4;
+        }
+
+    }
+
+    public static class Circle implements Shape {
+
+        @Override
+        public int sides() {
+            return 0;
+        }
+
+        @Override
+        public String describe() {
+            return "circle";
+        }
+
+    }
+
+    public static class Calculator {
+
+        public int count;
+
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        public double widen(long a, double b) {
+            return a + b;
+        }
+
+        public void reset() {
+            count = 0;
+        }
+
+        public int sum(int... values) {
+            var result = 0;
+            for (var value : values) {
+                result = result + value;
+            }
+            return result;
+        }
+
+        public void fail(String message) {
+            throw new IllegalStateException(message);
+        }
+
+        public int length(String value) {
+            return value.length();
+        }
+
+        public int zero() {
+            return 0;
+        }
+
+        public int negate(int value) {
+            return -value;
+        }
+
+        public String first(String a, String b) {
+            return a;
+        }
+
+        public String join(String a, String b, String c) {
+            return a + b + c;
+        }
+
+        public String join(String a, String b, String c, String d) {
+            return a + b + c + d;
+        }
+
+        public int five(int a, int b, int c, int d, int e) {
+            return a + b + c + d + e;
+        }
+
+        private String secret() {
+            return "secret";
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+package dev.scx.reflect.test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/// 子优先的类加载器, 从指定目录中重新加载指定包前缀下的类.
+///
+/// 每个实例加载出的 Class 都是全新的, 用于模拟 冷启动 或 插件热部署 的场景.
+public final class IsolatedClassLoader extends ClassLoader {
+
+    private final Path classFolder;
+    private final String packagePrefix;
+
+    public IsolatedClassLoader(Path classFolder, String packagePrefix, ClassLoader parent) {
+        super(parent);
+        this.classFolder = classFolder;
+        this.packagePrefix = packagePrefix;
+    }
+
+    /// 当前测试类所在的 class 目录.
+    public static Path testClassFolder() {
+        try {
+            return Path.of(IsolatedClassLoader.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /// 列出 classFolder 中 packagePrefix 下的全部类名.
+    public static List<String> listClassNames(Path classFolder, String packagePrefix) {
+        var packageFolder = classFolder.resolve(packagePrefix.replace('.', '/'));
+        var result = new ArrayList<String>();
+        try (var stream = Files.walk(packageFolder)) {
+            for (var path : (Iterable<Path>) stream::iterator) {
+                var fileName = path.toString();
+                if (fileName.endsWith(".class")) {
+                    var relative = classFolder.relativize(path).toString();
+                    result.add(relative.substring(0, relative.length() - 6).replace('/', '.').replace('\\', '.'));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (!name.startsWith(packagePrefix)) {
+            return super.loadClass(name, resolve);
+        }
+        synchronized (getClassLoadingLock(name)) {
+            var c = findLoadedClass(name);
+            if (c == null) {
+                c = findClass(name);
+            }
+            if (resolve) {
+                resolveClass(c);
+            }
+            return c;
+        }
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        var path = classFolder.resolve(name.replace('.', '/') + ".class");
+        try {
+            var bytes = Files.readAllBytes(path);
+            return defineClass(name, bytes, 0, bytes.length);
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+    }
+
+}
@@ -0,0 +1,113 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ScxReflect;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.function.Function;
+
+import static dev.scx.reflect.test.ColdResolutionBenchmark.PACKAGE_PREFIX;
+
+/// 多个线程同时访问同一批 ClassInfo 的 不同 延迟成员.
+///
+/// - cold: 每一轮使用新的 [IsolatedClassLoader], 每个线程负责一种成员, 所有线程同时开始, 测量全部完成的耗时.
+/// - hot: 成员已经计算完成后, 所有线程反复读取各自的成员.
+public class LazyMemberContentionBenchmark {
+
+    public static final List<Function<ClassInfo, Object>> MEMBERS = List.of(
+        ClassInfo::superClass,
+        ClassInfo::interfaces,
+        ClassInfo::constructors,
+        ClassInfo::fields,
+        ClassInfo::methods,
+        ClassInfo::recordComponents,
+        ClassInfo::allSuperClasses,
+        ClassInfo::allInterfaces,
+        ClassInfo::allFields,
+        ClassInfo::allMethods,
+        ClassInfo::defaultConstructor,
+        ClassInfo::recordConstructor
+    );
+
+    public static void main(String[] args) throws Exception {
+        var threadCount = MEMBERS.size();
+        var rounds = 20;
+
+        // 预热 JIT
+        cold(threadCount, 5);
+        hot(threadCount, 20);
+
+        var cold = cold(threadCount, rounds);
+        var hot = hot(threadCount, 200);
+        System.out.printf("threads: %d, cpus: %d%n", threadCount, Runtime.getRuntime().availableProcessors());
+        System.out.printf("cold : %8.2f ms/round%n", cold / 1e6 / rounds);
+        System.out.printf("hot  : %8.2f ms/200 passes%n", hot / 1e6);
+    }
+
+    /// 每一轮解析全新的类型, 返回 rounds 轮的总耗时 (纳秒).
+    public static long cold(int threadCount, int rounds) throws Exception {
+        var total = 0L;
+        for (int r = 0; r < rounds; r = r + 1) {
+            total = total + contend(threadCount, classInfos(), 1);
+        }
+        return total;
+    }
+
+    /// 成员已经计算完成, 返回 passes 次遍历的耗时 (纳秒).
+    public static long hot(int threadCount, int passes) throws Exception {
+        var classInfos = classInfos();
+        contend(threadCount, classInfos, 1);
+        return contend(threadCount, classInfos, passes);
+    }
+
+    private static long contend(int threadCount, List<ClassInfo> classInfos, int passes) throws Exception {
+        var barrier = new CyclicBarrier(threadCount + 1);
+        var threads = new ArrayList<Thread>();
+        for (int t = 0; t < threadCount; t = t + 1) {
+            var member = MEMBERS.get(t % MEMBERS.size());
+            // 不同的线程从不同的位置开始, 让它们尽量同时落在同一个 ClassInfo 上
+            var offset = t * classInfos.size() / threadCount;
+            var thread = Thread.ofPlatform().start(() -> {
+                try {
+                    barrier.await();
+                    for (int p = 0; p < passes; p = p + 1) {
+                        for (int i = 0; i < classInfos.size(); i = i + 1) {
+                            Benchmarks.sink = member.apply(classInfos.get((i + offset) % classInfos.size()));
+                        }
+                    }
+                    barrier.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            threads.add(thread);
+        }
+        barrier.await();
+        var start = System.nanoTime();
+        barrier.await();
+        var elapsed = System.nanoTime() - start;
+        for (var thread : threads) {
+            thread.join();
+        }
+        return elapsed;
+    }
+
+    private static List<ClassInfo> classInfos() throws Exception {
+        var classFolder = IsolatedClassLoader.testClassFolder();
+        var loader = new IsolatedClassLoader(classFolder, PACKAGE_PREFIX, LazyMemberContentionBenchmark.class.getClassLoader());
+        var result = new ArrayList<ClassInfo>();
+        for (var name : IsolatedClassLoader.listClassNames(classFolder, PACKAGE_PREFIX)) {
+            try {
+                if (ScxReflect.typeOf(Class.forName(name, false, loader)) instanceof ClassInfo classInfo) {
+                    result.add(classInfo);
+                }
+            } catch (ClassNotFoundException | NoClassDefFoundError | TypeNotPresentException e) {
+                // 部分测试类依赖的类型在当前环境中不可见, 直接跳过
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,198 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ScxReflect;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+import static dev.scx.reflect.test.Benchmarks.allocatedBytes;
+
+public class MemberAccessTest {
+
+    public static void main(String[] args) {
+        test1_indexed_accessors_should_match_arrays();
+        test2_list_views_should_match_arrays_and_be_unmodifiable();
+        test3_streams_should_match_arrays();
+        test4_indexed_accessors_and_forEach_should_not_allocate();
+        test5_list_views_should_not_copy_arrays();
+        test6_parameter_name_should_not_copy_parameters();
+    }
+
+    @Test
+    public static void test1_indexed_accessors_should_match_arrays() {
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Child.class);
+        var fields = classInfo.fields();
+        Assert.assertEquals(classInfo.fieldCount(), fields.length);
+        for (int i = 0; i < fields.length; i = i + 1) {
+            Assert.assertSame(classInfo.field(i), fields[i]);
+        }
+        var methods = classInfo.methods();
+        Assert.assertEquals(classInfo.methodCount(), methods.length);
+        for (int i = 0; i < methods.length; i = i + 1) {
+            Assert.assertSame(classInfo.method(i), methods[i]);
+            var parameters = methods[i].parameters();
+            Assert.assertEquals(methods[i].parameterCount(), parameters.length);
+            for (int j = 0; j < parameters.length; j = j + 1) {
+                Assert.assertSame(methods[i].parameter(j), parameters[j]);
+            }
+        }
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> classInfo.field(fields.length));
+
+        var visited = new ArrayList<Object>();
+        classInfo.forEachField(visited::add);
+        classInfo.forEachMethod(visited::add);
+        var expected = new ArrayList<Object>(List.of(fields));
+        expected.addAll(List.of(methods));
+        Assert.assertEquals(visited, expected);
+    }
+
+    @Test
+    public static void test2_list_views_should_match_arrays_and_be_unmodifiable() {
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Child.class);
+        var method = classInfo.methodList().stream().filter(m -> m.name().equals("set")).findFirst().orElseThrow();
+        var views = List.<List<?>>of(
+            classInfo.interfaceList(),
+            classInfo.fieldList(),
+            classInfo.methodList(),
+            classInfo.allFieldList(),
+            classInfo.allMethodList(),
+            method.parameterList()
+        );
+        var arrays = List.<Object[]>of(
+            classInfo.interfaces(),
+            classInfo.fields(),
+            classInfo.methods(),
+            classInfo.allFields(),
+            classInfo.allMethods(),
+            method.parameters()
+        );
+        for (int i = 0; i < views.size(); i = i + 1) {
+            var view = views.get(i);
+            Assert.assertEquals(view, List.of(arrays.get(i)));
+            Assert.assertTrue(view instanceof RandomAccess);
+            Assert.assertThrows(UnsupportedOperationException.class, () -> view.add(null));
+            Assert.assertThrows(UnsupportedOperationException.class, () -> view.set(0, null));
+            Assert.assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+        }
+    }
+
+    @Test
+    public static void test3_streams_should_match_arrays() {
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Child.class);
+        Assert.assertEquals(classInfo.allSuperClassStream().toList(), List.of(classInfo.allSuperClasses()));
+        Assert.assertEquals(classInfo.allInterfaceStream().toList(), List.of(classInfo.allInterfaces()));
+        Assert.assertEquals(classInfo.allFieldStream().toList(), List.of(classInfo.allFields()));
+        Assert.assertEquals(classInfo.allMethodStream().toList(), List.of(classInfo.allMethods()));
+
+        // 惰性遍历: 只取第一个父类
+        var first = classInfo.allSuperClassStream().findFirst().orElseThrow();
+        Assert.assertSame(first, classInfo.superClass());
+        Assert.assertEquals(((ClassInfo) ScxReflect.typeOf(Object.class)).allSuperClassStream().count(), 0);
+    }
+
+    @Test
+    public static void test4_indexed_accessors_and_forEach_should_not_allocate() {
+        var classInfo = (ClassInfo) ScxReflect.typeOf(Child.class);
+        var method = classInfo.methodList().stream().filter(m -> m.name().equals("set")).findFirst().orElseThrow();
+        var counter = new int[1];
+        // 捕获变量的 lambda 每次创建都会分配, 所以在循环外创建
+        Consumer<Object> count = _ -> counter[0] = counter[0] + 1;
+        Runnable indexed = () -> {
+            for (int i = 0; i < classInfo.fieldCount(); i = i + 1) {
+                Benchmarks.sink = classInfo.field(i);
+            }
+            for (int i = 0; i < classInfo.methodCount(); i = i + 1) {
+                Benchmarks.sink = classInfo.method(i);
+            }
+            for (int i = 0; i < method.parameterCount(); i = i + 1) {
+                Benchmarks.sink = method.parameter(i);
+            }
+        };
+        Runnable forEach = () -> {
+            classInfo.forEachField(count);
+            classInfo.forEachMethod(count);
+        };
+        Runnable cloning = () -> {
+            Benchmarks.sink = classInfo.fields();
+            Benchmarks.sink = classInfo.methods();
+        };
+        var iterations = 10_000;
+        // 对照组: 复制数组时每次调用至少分配两个数组
+        Assert.assertTrue(allocatedBytes(cloning, iterations) >= iterations * 32L);
+        Assert.assertTrue(allocatedBytes(indexed, iterations) < 1024, "indexed accessors should not allocate");
+        Assert.assertTrue(allocatedBytes(forEach, iterations) < 1024, "forEach should not allocate");
+    }
+
+    @Test
+    public static void test5_list_views_should_not_copy_arrays() {
+        // 方法越多, 复制数组的代价越大, 而视图的分配与成员个数无关
+        var small = (ClassInfo) ScxReflect.typeOf(Child.class);
+        var large = (ClassInfo) ScxReflect.typeOf(ArrayList.class);
+        Runnable smallViews = () -> {
+            Benchmarks.sink = small.methodList();
+            Benchmarks.sink = small.allMethodList();
+        };
+        Runnable largeViews = () -> {
+            Benchmarks.sink = large.methodList();
+            Benchmarks.sink = large.allMethodList();
+        };
+        var iterations = 10_000;
+        var smallBytes = allocatedBytes(smallViews, iterations);
+        var largeBytes = allocatedBytes(largeViews, iterations);
+        Assert.assertTrue(largeBytes <= smallBytes + 1024, "small: " + smallBytes + ", large: " + largeBytes);
+        Assert.assertTrue(largeBytes < iterations * large.methodCount() * 4L);
+    }
+
+    @Test
+    public static void test6_parameter_name_should_not_copy_parameters() {
+        var classInfo = (ClassInfo) ScxReflect.typeOf(ArrayList.class);
+        var parameter = classInfo.findMethod("add", int.class, Object.class).parameters()[1];
+        Assert.assertEquals(parameter.name(), parameter.rawParameter().getName());
+        // rawParameter() 每次都会复制 Parameter 数组, name() 在第一次调用后使用缓存的名称
+        Runnable names = () -> Benchmarks.sink = parameter.name();
+        Assert.assertTrue(allocatedBytes(names, 10_000) < 1024, "name() should not allocate");
+    }
+
+    public interface Named {
+
+        String name();
+
+    }
+
+    public static class Parent<T> {
+
+        public T value;
+
+        public void set(T value, int index) {
+            this.value = value;
+        }
+
+    }
+
+    public static class Child extends Parent<String> implements Named, Comparable<Child> {
+
+        public String name;
+        public int age;
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public int compareTo(Child o) {
+            return Integer.compare(age, o.age);
+        }
+
+        public void set(String value, int index) {
+            this.value = value;
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ScxReflect;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class MethodSignatureTest {
+
+    public static void main(String[] args) {
+        test1_equal_signatures_should_be_same_instance();
+        test2_different_signatures_should_not_be_equal();
+        test3_accessors_should_match_parameters();
+    }
+
+    @Test
+    public static void test1_equal_signatures_should_be_same_instance() {
+        // 重写链上的同签名方法
+        var arrayList = (ClassInfo) ScxReflect.typeOf(ArrayList.class);
+        var abstractList = (ClassInfo) ScxReflect.typeOf(AbstractList.class);
+        var collection = (ClassInfo) ScxReflect.typeOf(Collection.class);
+        Assert.assertSame(arrayList.findMethod("size").signature(), collection.findMethod("size").signature());
+        Assert.assertSame(arrayList.findMethod("get", int.class).signature(), abstractList.findMethod("get", int.class).signature());
+        Assert.assertSame(arrayList.findMethod("toString").signature(), ((ClassInfo) ScxReflect.typeOf(Object.class)).findMethod("toString").signature());
+
+        // 不同的参数化实例, 解析后的参数类型相同
+        var strings = ScxReflect.parameterized(List.class, ScxReflect.typeOf(String.class));
+        var collectionStrings = ScxReflect.parameterized(Collection.class, ScxReflect.typeOf(String.class));
+        Assert.assertNotEquals(strings.findMethod("add", String.class), collectionStrings.findMethod("add", String.class));
+        Assert.assertSame(strings.findMethod("add", String.class).signature(), collectionStrings.findMethod("add", String.class).signature());
+        // 参数类型与泛型无关的方法, 所有参数化实例共享同一个签名
+        Assert.assertSame(strings.findMethod("indexOf", Object.class).signature(), arrayList.findMethod("indexOf", Object.class).signature());
+    }
+
+    @Test
+    public static void test2_different_signatures_should_not_be_equal() {
+        var strings = ScxReflect.parameterized(List.class, ScxReflect.typeOf(String.class));
+        var integers = ScxReflect.parameterized(List.class, ScxReflect.typeOf(Integer.class));
+        var addString = strings.findMethod("add", String.class).signature();
+        var addInteger = integers.findMethod("add", Integer.class).signature();
+        Assert.assertNotEquals(addString, addInteger);
+        Assert.assertNotEquals(strings.findMethod("remove", int.class).signature(), strings.findMethod("remove", Object.class).signature());
+        Assert.assertNotEquals(strings.findMethod("size").signature(), strings.findMethod("isEmpty").signature());
+    }
+
+    @Test
+    public static void test3_accessors_should_match_parameters() {
+        var arrayList = (ClassInfo) ScxReflect.typeOf(ArrayList.class);
+        for (var method : arrayList.allMethods()) {
+            var signature = method.signature();
+            Assert.assertEquals(signature.name(), method.name());
+            var parameterTypes = signature.parameterTypes();
+            Assert.assertEquals(parameterTypes.length, method.parameterCount());
+            for (int i = 0; i < parameterTypes.length; i = i + 1) {
+                Assert.assertSame(parameterTypes[i], method.parameter(i).parameterType().rawClass());
+            }
+            // 返回的是副本
+            if (parameterTypes.length > 0) {
+                parameterTypes[0] = Void.class;
+                Assert.assertNotSame(signature.parameterTypes()[0], Void.class);
+            }
+        }
+    }
+
+}
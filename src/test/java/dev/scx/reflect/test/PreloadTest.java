@@ -0,0 +1,113 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ScxReflect;
+import dev.scx.reflect.TypeReference;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+public class PreloadTest {
+
+    public static void main(String[] args) throws Exception {
+        test1_shared_super_types_should_be_preloaded_once();
+        test2_preload_should_resolve_members();
+        test3_failures_should_be_reported();
+        test4_preload_many_types_on_fixed_pool();
+    }
+
+    @Test
+    public static void test1_shared_super_types_should_be_preloaded_once() {
+        var types = List.<Type>of(PreloadA.class, PreloadB.class, PreloadA.class, PreloadB.class, PreloadA.class);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var report = ScxReflect.preload(types, executor);
+            Assert.assertEquals(report.requestedCount(), 5);
+            // PreloadA, PreloadB, PreloadBase<String>, PreloadBase<Integer>, PreloadI, Object
+            Assert.assertEquals(report.preloadedCount(), 6);
+            Assert.assertEquals(report.timings().size(), 6);
+            var a = (ClassInfo) ScxReflect.typeOf(PreloadA.class);
+            Assert.assertTrue(report.timings().containsKey(a.superClass()));
+            Assert.assertTrue(report.timings().containsKey(ScxReflect.typeOf(PreloadI.class)));
+            Assert.assertTrue(report.failures().isEmpty());
+            Assert.assertTrue(report.elapsedNanos() > 0);
+        }
+    }
+
+    @Test
+    public static void test2_preload_should_resolve_members() {
+        var listOfA = new TypeReference<List<PreloadA>>() {}.type();
+        var report = ScxReflect.preload(List.of(listOfA, PreloadRecord[].class), ForkJoinPool.commonPool());
+        Assert.assertTrue(report.failures().isEmpty());
+        Assert.assertTrue(report.timings().containsKey(ScxReflect.typeOf(listOfA)));
+        // 数组的元素类型同样被预加载
+        var recordInfo = (ClassInfo) ScxReflect.typeOf(PreloadRecord.class);
+        Assert.assertTrue(report.timings().containsKey(recordInfo));
+        Assert.assertEquals(recordInfo.recordComponents().length, 2);
+    }
+
+    @Test
+    public static void test3_failures_should_be_reported() {
+        // 不支持的 Type 实现无法推导, 但不应影响其他类型
+        var badType = new Type() {};
+        var report = ScxReflect.preload(List.of(PreloadA.class, badType), Runnable::run);
+        Assert.assertEquals(report.failures().size(), 1);
+        Assert.assertTrue(report.failures().get(badType.getTypeName()) instanceof IllegalArgumentException);
+        Assert.assertTrue(report.timings().containsKey(ScxReflect.typeOf(PreloadA.class)));
+    }
+
+    @Test
+    public static void test4_preload_many_types_on_fixed_pool() throws Exception {
+        var classFolder = IsolatedClassLoader.testClassFolder();
+        var prefix = "dev.scx.reflect.test.p1.";
+        var loader = new IsolatedClassLoader(classFolder, prefix, PreloadTest.class.getClassLoader());
+        var types = new ArrayList<Type>();
+        for (var name : IsolatedClassLoader.listClassNames(classFolder, prefix)) {
+            types.add(Class.forName(name, false, loader));
+        }
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var report = ScxReflect.preload(types, executor);
+            Assert.assertTrue(report.failures().isEmpty(), report.failures().toString());
+            Assert.assertTrue(report.preloadedCount() >= types.size());
+            Assert.assertTrue(report.toString().startsWith("PreloadReport{"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public interface PreloadI {
+
+        default String name() {
+            return "i";
+        }
+
+    }
+
+    public static class PreloadBase<T> implements PreloadI {
+
+        public T value;
+
+    }
+
+    public static class PreloadA extends PreloadBase<String> {
+
+        public int a;
+
+    }
+
+    public static class PreloadB extends PreloadBase<Integer> implements PreloadI {
+
+        public long b;
+
+    }
+
+    public record PreloadRecord(String x, int y) {
+
+    }
+
+}
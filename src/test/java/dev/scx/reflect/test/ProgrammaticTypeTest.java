@@ -0,0 +1,117 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ScxReflect;
+import dev.scx.reflect.TypeInfo;
+import dev.scx.reflect.TypeReference;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static dev.scx.reflect.ScxReflect.*;
+
+public class ProgrammaticTypeTest {
+
+    public static void main(String[] args) {
+        test1_parameterized_should_match_type_reference();
+        test2_parameterized_first_should_match_type_reference();
+        test3_array_of_should_match_generic_array_type();
+        test4_array_of_raw_should_match_class();
+        test5_inner_class_should_match_type_reference();
+        test6_zero_arguments_should_return_class();
+        test7_invalid_arguments_should_fail();
+    }
+
+    @Test
+    public static void test1_parameterized_should_match_type_reference() {
+        var expected = typeOf(new TypeReference<Map<String, List<Integer>>>() {});
+        var actual = parameterized(Map.class, typeOf(String.class), parameterized(List.class, typeOf(Integer.class)));
+        Assert.assertSame(actual, expected);
+        Assert.assertSame(parameterized(Map.class, typeOf(String.class), parameterized(List.class, typeOf(Integer.class))), expected);
+    }
+
+    @Test
+    public static void test2_parameterized_first_should_match_type_reference() {
+        // 先程序化构建, 再通过 ParameterizedType 解析
+        var actual = parameterized(Map.class, typeOf(ProgrammaticA.class), typeOf(ProgrammaticA.class));
+        var expected = typeOf(new TypeReference<Map<ProgrammaticA, ProgrammaticA>>() {});
+        Assert.assertSame(actual, expected);
+        Assert.assertEquals(actual.toString(), "Map<ProgrammaticTypeTest.ProgrammaticA, ProgrammaticTypeTest.ProgrammaticA>");
+    }
+
+    @Test
+    public static void test3_array_of_should_match_generic_array_type() {
+        var listOfString = parameterized(List.class, typeOf(String.class));
+        var actual = arrayOf(listOfString);
+        Assert.assertSame(actual, typeOf(new TypeReference<List<String>[]>() {}));
+        Assert.assertSame(actual.componentType(), listOfString);
+        Assert.assertSame(arrayOf(actual), typeOf(new TypeReference<List<String>[][]>() {}));
+        Assert.assertEquals(actual.rawClass(), List[].class);
+    }
+
+    @Test
+    public static void test4_array_of_raw_should_match_class() {
+        Assert.assertSame(arrayOf(typeOf(String.class)), typeOf(String[].class));
+        Assert.assertSame(arrayOf(typeOf(int.class)), typeOf(int[].class));
+        Assert.assertSame(arrayOf(arrayOf(typeOf(int.class))), typeOf(int[][].class));
+    }
+
+    @Test
+    public static void test5_inner_class_should_match_type_reference() {
+        var outer = parameterized(Outer.class, typeOf(String.class));
+        Assert.assertSame(
+            parameterized(outer, Outer.Inner.class, typeOf(Integer.class)),
+            typeOf(new TypeReference<Outer<String>.Inner<Integer>>() {})
+        );
+        Assert.assertSame(
+            parameterized(outer, Outer.Plain.class),
+            typeOf(new TypeReference<Outer<String>.Plain>() {})
+        );
+        // 外部类为原始类型
+        Assert.assertSame(
+            parameterized(Outer.Inner.class, typeOf(Integer.class)).declaringClass(),
+            typeOf(Outer.class)
+        );
+    }
+
+    @Test
+    public static void test6_zero_arguments_should_return_class() {
+        Assert.assertSame(parameterized(String.class), typeOf(String.class));
+        Assert.assertSame(parameterized((ClassInfo) typeOf(Outer.class), Outer.Plain.class), typeOf(Outer.Plain.class));
+    }
+
+    @Test
+    public static void test7_invalid_arguments_should_fail() {
+        // 参数个数不一致
+        Assert.assertThrows(IllegalArgumentException.class, () -> parameterized(Map.class, typeOf(String.class)));
+        Assert.assertThrows(IllegalArgumentException.class, () -> parameterized(List.class));
+        // 基本类型
+        Assert.assertThrows(IllegalArgumentException.class, () -> parameterized(List.class, typeOf(int.class)));
+        // 数组
+        Assert.assertThrows(IllegalArgumentException.class, () -> parameterized(List[].class, typeOf(String.class)));
+        // 错误的外部类
+        Assert.assertThrows(IllegalArgumentException.class, () -> parameterized(parameterized(List.class, typeOf(String.class)), Outer.Inner.class, typeOf(Integer.class)));
+        // 静态类的外部类不能是参数化类型
+        Assert.assertThrows(IllegalArgumentException.class, () -> parameterized(parameterized(Map.class, typeOf(String.class), typeOf(String.class)), Map.Entry.class, typeOf(String.class), typeOf(String.class)));
+        Assert.assertThrows(NullPointerException.class, () -> ScxReflect.parameterized(List.class, (TypeInfo) null));
+    }
+
+    public static class ProgrammaticA {
+
+    }
+
+    public static class Outer<T> {
+
+        public class Inner<U> {
+
+        }
+
+        public class Plain {
+
+        }
+
+    }
+
+}
@@ -0,0 +1,231 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.MethodInfo;
+import dev.scx.reflect.ScxReflect;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static dev.scx.reflect.test.Benchmarks.allocatedBytes;
+
+public class ResolveMethodTest {
+
+    public static void main(String[] args) {
+        test1_resolveMethod_should_find_implementation_of_interface_method();
+        test2_resolveMethod_should_prefer_class_methods_and_defaults();
+        test3_resolveMethod_should_skip_non_inheritable_methods();
+        test4_resolveMethod_should_match_allMethods();
+        test5_resolveMethod_should_not_allocate();
+    }
+
+    @Test
+    public static void test1_resolveMethod_should_find_implementation_of_interface_method() {
+        var service = (ClassInfo) ScxReflect.typeOf(Service.class);
+        var impl = (ClassInfo) ScxReflect.typeOf(ServiceImpl.class);
+        for (var method : service.methods()) {
+            if (method.isStatic()) {
+                continue;
+            }
+            var resolved = impl.resolveMethod(method.signature());
+            Assert.assertEquals(resolved.declaringClass().rawClass(), ServiceImpl.class);
+            Assert.assertEquals(resolved.signature(), method.signature());
+        }
+
+        // 泛型接口使用参数化视图中的签名
+        var handler = impl.findSuperType(Handler.class);
+        var handle = handler.findMethods("handle").get(0);
+        Assert.assertEquals(impl.resolveMethod(handle.signature()).declaringClass().rawClass(), ServiceImpl.class);
+
+        // 继承自 Object 的方法
+        var hashCode = ((ClassInfo) ScxReflect.typeOf(Object.class)).findMethod("hashCode");
+        Assert.assertEquals(impl.resolveMethod(hashCode.signature()).declaringClass().rawClass(), Object.class);
+
+        // 静态方法不参与分派
+        var create = service.findMethod("create");
+        Assert.assertNotNull(create);
+        Assert.assertNull(impl.resolveMethod(create.signature()));
+        Assert.assertNull(service.resolveMethod(create.signature()));
+    }
+
+    @Test
+    public static void test2_resolveMethod_should_prefer_class_methods_and_defaults() {
+        var name = ((ClassInfo) ScxReflect.typeOf(Named.class)).findMethod("name");
+
+        // 父类的实现优先于接口的 default 方法 和 抽象方法
+        var child = (ClassInfo) ScxReflect.typeOf(Child.class);
+        Assert.assertEquals(child.resolveMethod(name.signature()).declaringClass().rawClass(), Parent.class);
+
+        // 没有类中的实现时, 使用接口的 default 方法
+        var defaulted = (ClassInfo) ScxReflect.typeOf(Defaulted.class);
+        var resolved = defaulted.resolveMethod(name.signature());
+        Assert.assertEquals(resolved.declaringClass().rawClass(), Named.class);
+        Assert.assertFalse(resolved.isAbstract());
+
+        // 抽象类中只有接口的抽象方法
+        var unnamed = (ClassInfo) ScxReflect.typeOf(Unnamed.class);
+        Assert.assertEquals(unnamed.resolveMethod(name.signature()).declaringClass().rawClass(), Titled.class);
+    }
+
+    @Test
+    public static void test3_resolveMethod_should_skip_non_inheritable_methods() {
+        var base = (ClassInfo) ScxReflect.typeOf(Base.class);
+        var derived = (ClassInfo) ScxReflect.typeOf(Derived.class);
+        var secret = base.findMethod("secret");
+        // 当前类自身的 private 方法可以解析
+        Assert.assertSame(base.resolveMethod(secret.signature()), secret);
+        // 父类的 private 方法不可继承
+        Assert.assertNull(derived.resolveMethod(secret.signature()));
+
+        var hidden = base.findMethod("hidden");
+        var overriding = (ClassInfo) ScxReflect.typeOf(Overriding.class);
+        Assert.assertEquals(overriding.resolveMethod(hidden.signature()).declaringClass().rawClass(), Overriding.class);
+    }
+
+    @Test
+    public static void test4_resolveMethod_should_match_allMethods() {
+        for (var c : List.of(ArrayList.class, HashMap.class, ConcurrentHashMap.class, String.class, Thread.class, ServiceImpl.class, Child.class)) {
+            var classInfo = (ClassInfo) ScxReflect.typeOf(c);
+            for (var method : classInfo.allMethods()) {
+                if (method.isStatic()) {
+                    continue;
+                }
+                var resolved = classInfo.resolveMethod(method.signature());
+                if (resolved == null) {
+                    // 只有不可继承的方法 (父类的 private 方法)
+                    Assert.assertTrue(method.accessModifier() == dev.scx.reflect.AccessModifier.PRIVATE, method.toString());
+                    continue;
+                }
+                Assert.assertEquals(resolved.signature(), method.signature());
+                Assert.assertTrue(List.of(classInfo.allMethods()).contains(resolved));
+                // 具体类中分派到的方法一定有实现
+                Assert.assertFalse(resolved.isAbstract(), resolved.toString());
+            }
+        }
+    }
+
+    @Test
+    public static void test5_resolveMethod_should_not_allocate() {
+        var impl = (ClassInfo) ScxReflect.typeOf(ServiceImpl.class);
+        var signatures = new ArrayList<dev.scx.reflect.MethodSignature>();
+        for (var method : ((ClassInfo) ScxReflect.typeOf(Service.class)).methods()) {
+            if (!method.isStatic()) {
+                signatures.add(method.signature());
+            }
+        }
+        Runnable lookups = () -> {
+            for (int j = 0; j < signatures.size(); j = j + 1) {
+                Benchmarks.sink = impl.resolveMethod(signatures.get(j));
+            }
+        };
+        // 预热时 (第一次调用) 构建索引
+        var allocated = allocatedBytes(lookups, 10_000);
+        Assert.assertTrue(allocated < 1024, "allocated: " + allocated);
+    }
+
+    public interface Handler<T> {
+
+        void handle(T value);
+
+    }
+
+    public interface Service {
+
+        static Service create() {
+            return new ServiceImpl();
+        }
+
+        String echo(String value);
+
+        int add(int a, int b);
+
+        default String hello() {
+            return "hello";
+        }
+
+    }
+
+    public static class ServiceImpl implements Service, Handler<String> {
+
+        @Override
+        public String echo(String value) {
+            return value;
+        }
+
+        @Override
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        @Override
+        public String hello() {
+            return "hi";
+        }
+
+        @Override
+        public void handle(String value) {
+        }
+
+    }
+
+    public interface Named {
+
+        default String name() {
+            return "named";
+        }
+
+    }
+
+    public interface Titled {
+
+        String name();
+
+    }
+
+    public static class Parent {
+
+        public String name() {
+            return "parent";
+        }
+
+    }
+
+    public static class Child extends Parent implements Named, Titled {
+
+    }
+
+    public static class Defaulted implements Named {
+
+    }
+
+    public static abstract class Unnamed implements Titled {
+
+    }
+
+    public static class Base {
+
+        private void secret() {
+        }
+
+        void hidden() {
+        }
+
+    }
+
+    public static class Derived extends Base {
+
+    }
+
+    public static class Overriding extends Base {
+
+        @Override
+        void hidden() {
+        }
+
+    }
+
+}
@@ -0,0 +1,138 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static dev.scx.reflect.ScxReflect.typeOf;
+
+public class SignatureParserTest {
+
+    private static final ClassLoader LOADER = SignatureParserTest.class.getClassLoader();
+
+    public static void main(String[] args) {
+        test1_field_signature_should_match_type_of();
+        test2_field_signature_should_use_bindings();
+        test3_method_signature_should_match_method_info();
+        test4_descriptor();
+        test5_member_class_signature();
+        test6_invalid_signature_should_fail();
+    }
+
+    @Test
+    public static void test1_field_signature_should_match_type_of() {
+        Assert.assertSame(
+            ScxReflect.parseFieldSignature("Ljava/util/List<Ljava/lang/String;>;", null, LOADER),
+            typeOf(new TypeReference<List<String>>() {})
+        );
+        Assert.assertSame(
+            ScxReflect.parseFieldSignature("[Ljava/util/Map<Ljava/lang/String;+Ljava/lang/Number;>;", null, LOADER),
+            typeOf(new TypeReference<Map<String, ? extends Number>[]>() {})
+        );
+        Assert.assertSame(
+            ScxReflect.parseFieldSignature("Ljava/util/Map<*-Ljava/lang/Integer;>;", null, LOADER),
+            typeOf(new TypeReference<Map<?, ? super Integer>>() {})
+        );
+    }
+
+    @Test
+    public static void test2_field_signature_should_use_bindings() {
+        var holder = (ClassInfo) typeOf(new TypeReference<SigHolder<Integer>>() {});
+        var field = findField(holder, "b");
+        Assert.assertSame(
+            ScxReflect.parseFieldSignature("[Ljava/util/Map<Ljava/lang/String;Ljava/util/List<TT;>;>;", holder.allBindings(), LOADER),
+            field.fieldType()
+        );
+        Assert.assertSame(ScxReflect.parseFieldSignature("TT;", holder.allBindings(), LOADER), typeOf(Integer.class));
+    }
+
+    @Test
+    public static void test3_method_signature_should_match_method_info() {
+        var holder = (ClassInfo) typeOf(new TypeReference<SigHolder<Integer>>() {});
+        MethodInfo method = null;
+        for (var m : holder.methods()) {
+            if (m.name().equals("m")) {
+                method = m;
+            }
+        }
+        Assert.assertNotNull(method);
+        var signature = ScxReflect.parseMethodSignature(
+            "<R::Ljava/lang/Comparable<TR;>;>(Ljava/util/List<-TT;>;ITT;)TR;^Ljava/io/IOException;",
+            holder.allBindings(),
+            LOADER
+        );
+        Assert.assertSame(signature.returnType(), method.returnType());
+        var parameters = method.parameters();
+        var parameterTypes = signature.parameterTypes();
+        Assert.assertEquals(parameterTypes.length, parameters.length);
+        for (int i = 0; i < parameters.length; i = i + 1) {
+            Assert.assertSame(parameterTypes[i], parameters[i].parameterType());
+        }
+        Assert.assertEquals(signature.exceptionTypes().length, 1);
+        Assert.assertSame(signature.exceptionTypes()[0], typeOf(IOException.class));
+        Assert.assertEquals(signature.returnType().toString(), "Comparable<Comparable>");
+    }
+
+    @Test
+    public static void test4_descriptor() {
+        var signature = ScxReflect.parseMethodSignature("(ILjava/lang/String;[J)V", null, LOADER);
+        var parameterTypes = signature.parameterTypes();
+        Assert.assertSame(parameterTypes[0], typeOf(int.class));
+        Assert.assertSame(parameterTypes[1], typeOf(String.class));
+        Assert.assertSame(parameterTypes[2], typeOf(long[].class));
+        Assert.assertSame(signature.returnType(), typeOf(void.class));
+        Assert.assertSame(ScxReflect.parseFieldSignature("[[Z", null, LOADER), typeOf(boolean[][].class));
+    }
+
+    @Test
+    public static void test5_member_class_signature() {
+        Assert.assertSame(
+            ScxReflect.parseFieldSignature("Ldev/scx/reflect/test/ProgrammaticTypeTest$Outer<Ljava/lang/String;>.Inner<Ljava/lang/Integer;>;", null, LOADER),
+            typeOf(new TypeReference<ProgrammaticTypeTest.Outer<String>.Inner<Integer>>() {})
+        );
+        Assert.assertSame(
+            ScxReflect.parseFieldSignature("Ljava/util/Map$Entry<Ljava/lang/String;Ljava/lang/String;>;", null, LOADER),
+            typeOf(new TypeReference<Map.Entry<String, String>>() {})
+        );
+    }
+
+    @Test
+    public static void test6_invalid_signature_should_fail() {
+        var invalid = new String[]{
+            "", "L", "Ljava/util/List<", "Ljava/util/List;X", "TT;", "Lcom/acme/NotExists;", "Ljava/util/List<I>;", "Q",
+        };
+        for (var signature : invalid) {
+            Assert.assertThrows(IllegalArgumentException.class, () -> ScxReflect.parseFieldSignature(signature, null, LOADER));
+        }
+        Assert.assertThrows(IllegalArgumentException.class, () -> ScxReflect.parseMethodSignature("(I", null, LOADER));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ScxReflect.parseMethodSignature("(TT;)V", null, LOADER));
+    }
+
+    private static FieldInfo findField(ClassInfo classInfo, String name) {
+        for (var field : classInfo.fields()) {
+            if (field.name().equals(name)) {
+                return field;
+            }
+        }
+        throw new AssertionError(name);
+    }
+
+    public static class SigHolder<T> {
+
+        public List<String> a;
+
+        public Map<String, List<T>>[] b;
+
+        public T c;
+
+        public <R extends Comparable<R>> R m(List<? super T> x, int y, T z) throws IOException {
+            return null;
+        }
+
+    }
+
+}
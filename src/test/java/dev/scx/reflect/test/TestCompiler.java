@@ -0,0 +1,56 @@
+package dev.scx.reflect.test;
+
+import org.testng.Assert;
+
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/// 测试中在运行时编译源码的工具 (不启用注解处理).
+public final class TestCompiler {
+
+    /// 编译源码 (类名 -> 源码) 到一个临时目录.
+    public static Path compile(Map<String, String> sources) throws IOException {
+        var output = Files.createTempDirectory("reflect-test");
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var units = new ArrayList<JavaFileObject>();
+        for (var entry : sources.entrySet()) {
+            var uri = URI.create("string:///" + entry.getKey().replace('.', '/') + ".java");
+            units.add(new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return entry.getValue();
+                }
+            });
+        }
+        var options = List.of("-d", output.toString(), "-classpath", System.getProperty("java.class.path"), "-proc:none");
+        var out = new StringWriter();
+        var task = compiler.getTask(out, null, null, options, null, units);
+        Assert.assertTrue(task.call(), out.toString());
+        return output;
+    }
+
+    public static URLClassLoader loader(Path classes) throws IOException {
+        return new URLClassLoader(new URL[]{classes.toUri().toURL()}, TestCompiler.class.getClassLoader());
+    }
+
+    public static void delete(Path dir) throws IOException {
+        try (var paths = Files.walk(dir)) {
+            for (var path : paths.sorted(Collections.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+}
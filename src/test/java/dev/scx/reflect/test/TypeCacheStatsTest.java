@@ -0,0 +1,121 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ScxReflect;
+import dev.scx.reflect.TypeCacheStats;
+import dev.scx.reflect.test.BoundedTypeCacheTest.SimpleParameterizedType;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static dev.scx.reflect.TypeCacheKind.*;
+
+public class TypeCacheStatsTest {
+
+    public static void main(String[] args) throws Exception {
+        test1_class_lookups_should_be_counted();
+        test2_parameterized_type_lookups_should_be_counted();
+        test3_discarded_builds_should_be_counted();
+        test4_mbean_should_expose_stats();
+        test5_stats_to_string();
+    }
+
+    @Test
+    public static void test1_class_lookups_should_be_counted() {
+        var before = ScxReflect.stats();
+        ScxReflect.typeOf(StatsClass.class);
+        ScxReflect.typeOf(StatsClass.class);
+        var after = ScxReflect.stats();
+
+        Assert.assertTrue(after.misses(CLASS) - before.misses(CLASS) >= 1);
+        // Class 的命中次数默认不统计
+        if (Boolean.getBoolean("dev.scx.reflect.typeCache.classHitStats")) {
+            Assert.assertTrue(after.hits(CLASS) - before.hits(CLASS) >= 1);
+        } else {
+            Assert.assertEquals(after.hits(CLASS), 0);
+        }
+        Assert.assertTrue(after.builds(CLASS) - before.builds(CLASS) >= 1);
+        Assert.assertTrue(after.buildNanos(CLASS) - before.buildNanos(CLASS) > 0);
+        Assert.assertTrue(after.entries(CLASS) - before.entries(CLASS) >= 1);
+    }
+
+    @Test
+    public static void test2_parameterized_type_lookups_should_be_counted() throws Exception {
+        var type = StatsHolder.class.getDeclaredField("list").getGenericType();
+        var before = ScxReflect.stats();
+        var first = ScxReflect.typeOf(type);
+        var second = ScxReflect.typeOf(type);
+        var after = ScxReflect.stats();
+
+        Assert.assertSame(second, first);
+        Assert.assertEquals(after.misses(PARAMETERIZED_TYPE) - before.misses(PARAMETERIZED_TYPE), 1);
+        Assert.assertEquals(after.hits(PARAMETERIZED_TYPE) - before.hits(PARAMETERIZED_TYPE), 1);
+        Assert.assertEquals(after.builds(PARAMETERIZED_TYPE) - before.builds(PARAMETERIZED_TYPE), 1);
+        Assert.assertEquals(after.entries(PARAMETERIZED_TYPE) - before.entries(PARAMETERIZED_TYPE), 1);
+        // 同时写入了一个 ClassInfo 规范实例
+        Assert.assertEquals(after.entries(CLASS_INFO) - before.entries(CLASS_INFO), 1);
+    }
+
+    @Test
+    public static void test3_discarded_builds_should_be_counted() throws Exception {
+        var type = StatsHolder.class.getDeclaredField("list2").getGenericType();
+        var first = ScxReflect.typeOf(type);
+        var before = ScxReflect.stats();
+        // 另一种 ParameterizedType 实现, equals 不相等, 但推导结果相同
+        var second = ScxReflect.typeOf(new SimpleParameterizedType(List.class, StatsB.class));
+        var after = ScxReflect.stats();
+
+        Assert.assertSame(second, first);
+        Assert.assertEquals(after.discardedBuilds(CLASS_INFO) - before.discardedBuilds(CLASS_INFO), 1);
+        Assert.assertEquals(after.hits(CLASS_INFO) - before.hits(CLASS_INFO), 1);
+    }
+
+    @Test
+    public static void test4_mbean_should_expose_stats() throws Exception {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var name = new ObjectName("dev.scx.reflect:type=TypeCache");
+        ScxReflect.registerStatsMBean();
+        // 重复注册应当被忽略
+        ScxReflect.registerStatsMBean();
+        try {
+            Assert.assertTrue(server.isRegistered(name));
+            ScxReflect.typeOf(StatsA.class);
+            var misses = (TabularData) server.getAttribute(name, "Misses");
+            var row = misses.get(new Object[]{CLASS.name()});
+            Assert.assertTrue((Long) row.get("value") >= 1);
+        } finally {
+            ScxReflect.unregisterStatsMBean();
+        }
+        Assert.assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public static void test5_stats_to_string() {
+        TypeCacheStats stats = ScxReflect.stats();
+        Assert.assertTrue(stats.toString().contains("PARAMETERIZED_TYPE"));
+    }
+
+    public static class StatsClass {
+
+    }
+
+    public static class StatsA {
+
+    }
+
+    public static class StatsB {
+
+    }
+
+    public static class StatsHolder {
+
+        public List<StatsA> list;
+
+        public List<StatsB> list2;
+
+    }
+
+}
@@ -0,0 +1,187 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ScxReflect;
+import dev.scx.reflect.TypeInfo;
+import dev.scx.reflect.TypeReference;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static dev.scx.reflect.TypeCacheKind.ARRAY_TYPE_INFO;
+import static dev.scx.reflect.TypeCacheKind.CLASS_INFO;
+
+public class TypeCacheTest {
+
+    public static void main(String[] args) throws Exception {
+        test1_class_fast_path_should_return_canonical_instance();
+        test2_class_fast_path_should_agree_with_generic_array_path();
+        test3_concurrent_class_lookup_should_return_single_instance();
+        test4_concurrent_parameterized_lookup_should_return_single_instance();
+        test5_concurrent_recursive_generic_resolution_should_not_deadlock();
+        test6_repeated_member_types_should_be_built_once();
+    }
+
+    @Test
+    public static void test1_class_fast_path_should_return_canonical_instance() {
+        var t1 = ScxReflect.typeOf(CacheA.class);
+        var t2 = ScxReflect.typeOf((java.lang.reflect.Type) CacheA.class);
+
+        Assert.assertSame(t1, t2);
+    }
+
+    @Test
+    public static void test2_class_fast_path_should_agree_with_generic_array_path() throws Exception {
+        // T[] 在无上下文时退化为上界数组, 即 CacheB[] / CacheC[]
+        // 先走 GenericArrayType 路径, 再走 Class 路径
+        TypeInfo t1 = ScxReflect.typeOf(CacheArrayHolder.class.getDeclaredField("b").getGenericType());
+        TypeInfo t2 = ScxReflect.typeOf(CacheB[].class);
+        Assert.assertSame(t1, t2);
+
+        // 先走 Class 路径, 再走 GenericArrayType 路径
+        TypeInfo t3 = ScxReflect.typeOf(CacheC[].class);
+        TypeInfo t4 = ScxReflect.typeOf(CacheArrayHolder.class.getDeclaredField("c").getGenericType());
+        Assert.assertSame(t3, t4);
+    }
+
+    @Test
+    public static void test3_concurrent_class_lookup_should_return_single_instance() throws Exception {
+        var results = runConcurrently(16, () -> ScxReflect.typeOf(CacheD[][].class));
+        for (var result : results) {
+            Assert.assertSame(result, results.get(0));
+        }
+    }
+
+    @Test
+    public static void test4_concurrent_parameterized_lookup_should_return_single_instance() throws Exception {
+        var results = runConcurrently(16, () -> {
+            // 每个线程各自持有一个 equals 相等 但不是同一个实例的 ParameterizedType
+            var type = new TypeReference<Map<CacheE, List<CacheE>>>() {}.type();
+            return ScxReflect.typeOf(type);
+        });
+        for (var result : results) {
+            Assert.assertSame(result, results.get(0));
+        }
+    }
+
+    @Test(timeOut = 30_000)
+    public static void test5_concurrent_recursive_generic_resolution_should_not_deadlock() throws Exception {
+        var results = runConcurrently(16, () -> {
+            var classInfo = (ClassInfo) ScxReflect.typeOf(CacheNode.class);
+            // 触发递归泛型的解析
+            for (var field : classInfo.allFields()) {
+                field.fieldType();
+            }
+            return classInfo.fields()[0].fieldType();
+        });
+        for (var result : results) {
+            Assert.assertSame(result, results.get(0));
+        }
+    }
+
+    /// 让 threadCount 个线程尽可能同时执行 task.
+    public static <T> List<T> runConcurrently(int threadCount, Callable<T> task) throws Exception {
+        var pool = Executors.newFixedThreadPool(threadCount);
+        try {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<T>>();
+            for (int i = 0; i < threadCount; i = i + 1) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            var results = new ArrayList<T>();
+            for (var future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static class CacheA {
+
+    }
+
+    static class CacheB {
+
+    }
+
+    static class CacheC {
+
+    }
+
+    static class CacheE {
+
+    }
+
+    static class CacheNode<T extends CacheNode<T>> {
+        CacheNode<? extends CacheNode<T>> next;
+        Map<T, List<CacheNode<T>>> children;
+    }
+
+    static class CacheArrayHolder<B extends CacheB, C extends CacheC> {
+        B[] b;
+        C[] c;
+    }
+
+    @Test
+    public static void test6_repeated_member_types_should_be_built_once() {
+        var classInfo = (ClassInfo) ScxReflect.typeOf(new TypeReference<CacheMemo<String>>() {});
+        var before = ScxReflect.stats();
+        var fields = classInfo.fields();
+        var methods = classInfo.methods();
+        var after = ScxReflect.stats();
+
+        // 字段, getter, setter 上的 List<T> 和 List<T>[] 只需要各构建一次
+        Assert.assertEquals(after.builds(CLASS_INFO) - before.builds(CLASS_INFO), 1);
+        Assert.assertEquals(after.builds(ARRAY_TYPE_INFO) - before.builds(ARRAY_TYPE_INFO), 1);
+
+        var listOfString = ScxReflect.typeOf(new TypeReference<List<String>>() {});
+        for (var field : fields) {
+            if (field.name().startsWith("list")) {
+                Assert.assertSame(field.fieldType(), listOfString);
+            }
+        }
+        for (var method : methods) {
+            if (method.name().equals("getList")) {
+                Assert.assertSame(method.returnType(), listOfString);
+            }
+            if (method.name().equals("setList")) {
+                Assert.assertSame(method.parameters()[0].parameterType(), listOfString);
+            }
+        }
+    }
+
+    static class CacheD {
+        List<String> list;
+    }
+
+    static class CacheMemo<T> {
+
+        List<T> list1;
+        List<T> list2;
+        List<T>[] array1;
+        List<T>[] array2;
+
+        List<T> getList() {
+            return list1;
+        }
+
+        void setList(List<T> list) {
+            this.list1 = list;
+        }
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ScxReflect;
+import dev.scx.reflect.TypeInfo;
+import dev.scx.reflect.TypeReference;
+
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static dev.scx.reflect.test.Benchmarks.sink;
+
+/// 对比 ScxReflect.typeOf(Class) 的 ClassValue 快速层 和 原先共享 ConcurrentHashMap 的查找方式.
+public class TypeOfClassBenchmark {
+
+    public static final Class<?>[] CLASSES = {
+        String.class, Integer.class, Long.class, ArrayList.class, HashMap.class,
+        LinkedList.class, TreeMap.class, Optional.class, int[].class, String[].class,
+        Object.class, Thread.class, StringBuilder.class, Double.class, UUID.class, BitSet.class,
+    };
+
+    public static void main(String[] args) {
+        // 原先的 TYPE_CACHE 中同时存在 ParameterizedType, GenericArrayType, ClassInfo 等 key, 这里模拟同样的 "被污染" 的 Map.
+        var sharedCache = new ConcurrentHashMap<Object, TypeInfo>();
+        for (var c : CLASSES) {
+            sharedCache.put(c, ScxReflect.typeOf(c));
+        }
+        var pollution = List.<Type>of(
+            new TypeReference<List<String>>() {}.type(),
+            new TypeReference<Map<String, Integer>>() {}.type(),
+            new TypeReference<List<String>[]>() {}.type(),
+            new TypeReference<Optional<Long>>() {}.type()
+        );
+        for (var type : pollution) {
+            var typeInfo = ScxReflect.typeOf(type);
+            sharedCache.put(type, typeInfo);
+            sharedCache.put(typeInfo, typeInfo);
+        }
+
+        var mask = CLASSES.length - 1;
+
+        Benchmarks.run("ConcurrentHashMap (TYPE_CACHE 模拟)", 10_000_000, i -> sink = sharedCache.get(CLASSES[i & mask]));
+        Benchmarks.run("ScxReflect.typeOf(Class) (ClassValue)", 10_000_000, i -> sink = ScxReflect.typeOf(CLASSES[i & mask]));
+    }
+
+}
@@ -0,0 +1,30 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ScxReflect;
+
+import static dev.scx.reflect.test.Benchmarks.sink;
+
+/// ScxReflect.parse 在 重复字符串 (命中缓存) 和 唯一字符串 (每次都需要完整解析) 下的开销.
+///
+/// 唯一字符串的数量超过默认缓存容量, 所以大部分调用都不会命中缓存.
+public class TypeParserBenchmark {
+
+    public static void main(String[] args) {
+        var loader = TypeParserBenchmark.class.getClassLoader();
+        var names = new String[TypeOfClassBenchmark.CLASSES.length];
+        for (int i = 0; i < names.length; i = i + 1) {
+            names[i] = TypeOfClassBenchmark.CLASSES[i].getTypeName();
+        }
+        var repeated = "java.util.Map<java.lang.String, java.util.List<java.lang.Integer>>[]";
+        var unique = new String[names.length * names.length * 8];
+        for (int i = 0; i < unique.length; i = i + 1) {
+            var a = names[i % names.length];
+            var b = names[(i / names.length) % names.length];
+            // 组合用完之后通过额外的空白区分, 字符串唯一但解析结果会重复
+            unique[i] = "java.util.Map<" + a + "," + " ".repeat(i / (names.length * names.length)) + "java.util.List<" + b + ">>";
+        }
+        Benchmarks.run("parse (repeated)", 5_000_000, i -> sink = ScxReflect.parse(repeated, loader));
+        Benchmarks.run("parse (unique, " + unique.length + " strings)", 200_000, i -> sink = ScxReflect.parse(unique[i % unique.length], loader));
+    }
+
+}
@@ -0,0 +1,106 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ScxReflect;
+import dev.scx.reflect.TypeReference;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Map;
+
+import static dev.scx.reflect.ScxReflect.typeOf;
+
+public class TypeParserTest {
+
+    private static final ClassLoader LOADER = TypeParserTest.class.getClassLoader();
+
+    public static void main(String[] args) throws Exception {
+        test1_parse_should_match_type_of();
+        test2_parse_primitive_and_array();
+        test3_parse_member_class();
+        test4_parse_wildcard();
+        test5_parse_should_be_cached();
+        test6_parse_should_respect_class_loader();
+        test7_invalid_text_should_fail();
+    }
+
+    @Test
+    public static void test1_parse_should_match_type_of() {
+        Assert.assertSame(
+            ScxReflect.parse("java.util.Map<java.lang.String, java.util.List<java.lang.Integer>>[]", LOADER),
+            typeOf(new TypeReference<Map<String, List<Integer>>[]>() {})
+        );
+        // 省略 java.lang 以及 任意空白
+        Assert.assertSame(
+            ScxReflect.parse("  java.util.Map < String ,java.util.List<Integer> > [ ] ", LOADER),
+            typeOf(new TypeReference<Map<String, List<Integer>>[]>() {})
+        );
+        Assert.assertSame(ScxReflect.parse("java.util.List", LOADER), typeOf(List.class));
+    }
+
+    @Test
+    public static void test2_parse_primitive_and_array() {
+        Assert.assertSame(ScxReflect.parse("int", LOADER), typeOf(int.class));
+        Assert.assertSame(ScxReflect.parse("int[][]", LOADER), typeOf(int[][].class));
+        Assert.assertSame(ScxReflect.parse("String[]", LOADER), typeOf(String[].class));
+    }
+
+    @Test
+    public static void test3_parse_member_class() {
+        Assert.assertSame(ScxReflect.parse("java.util.Map.Entry<String, Integer>", LOADER), typeOf(new TypeReference<Map.Entry<String, Integer>>() {}));
+        Assert.assertSame(ScxReflect.parse("java.util.Map$Entry<String, Integer>", LOADER), typeOf(new TypeReference<Map.Entry<String, Integer>>() {}));
+        Assert.assertSame(
+            ScxReflect.parse("dev.scx.reflect.test.ProgrammaticTypeTest.Outer<String>.Inner<Integer>", LOADER),
+            typeOf(new TypeReference<ProgrammaticTypeTest.Outer<String>.Inner<Integer>>() {})
+        );
+        Assert.assertSame(
+            ScxReflect.parse("dev.scx.reflect.test.ProgrammaticTypeTest$Outer<String>.Plain[]", LOADER),
+            typeOf(new TypeReference<ProgrammaticTypeTest.Outer<String>.Plain[]>() {})
+        );
+    }
+
+    @Test
+    public static void test4_parse_wildcard() {
+        Assert.assertSame(ScxReflect.parse("java.util.List<? extends Number>", LOADER), typeOf(new TypeReference<List<? extends Number>>() {}));
+        Assert.assertSame(ScxReflect.parse("java.util.List<? super Number>", LOADER), typeOf(new TypeReference<List<? super Number>>() {}));
+        Assert.assertSame(ScxReflect.parse("java.util.List<?>", LOADER), typeOf(new TypeReference<List<?>>() {}));
+    }
+
+    @Test
+    public static void test5_parse_should_be_cached() {
+        var text = "java.util.Map<String, " + TypeParserTest.class.getName() + ">";
+        Assert.assertSame(ScxReflect.parse(text, LOADER), ScxReflect.parse(new String(text), LOADER));
+    }
+
+    @Test
+    public static void test6_parse_should_respect_class_loader() throws Exception {
+        var classFolder = IsolatedClassLoader.testClassFolder();
+        try (var loader = new URLClassLoader(new URL[]{classFolder.toUri().toURL()}, ClassLoader.getPlatformClassLoader())) {
+            var text = "java.util.List<dev.scx.reflect.test.plugin.PluginItem>";
+            var a = ScxReflect.parse(text, LOADER);
+            var b = ScxReflect.parse(text, loader);
+            Assert.assertNotSame(a, b);
+            Assert.assertSame(ScxReflect.parse(text, loader), b);
+            Assert.assertSame(ScxReflect.parse(text, LOADER), a);
+            Assert.assertSame(((ClassInfo) b).bindings().get(0).rawClass().getClassLoader(), loader);
+            // bootstrap 类加载器无法加载测试类
+            Assert.assertThrows(IllegalArgumentException.class, () -> ScxReflect.parse(text, null));
+            Assert.assertSame(ScxReflect.parse("java.util.List<String>", null), typeOf(new TypeReference<List<String>>() {}));
+        }
+    }
+
+    @Test
+    public static void test7_invalid_text_should_fail() {
+        var invalid = new String[]{
+            "", "java.util.List<", "java.util.List<String", "java.util.List<String>>", "java.util.List<int>",
+            "java.util.Map<String>", "com.acme.NotExists", "int[", "void[]", "java.util.List<String,>", "1abc",
+        };
+        for (var text : invalid) {
+            Assert.assertThrows(IllegalArgumentException.class, () -> ScxReflect.parse(text, LOADER));
+        }
+    }
+
+}
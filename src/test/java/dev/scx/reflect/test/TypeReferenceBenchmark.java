@@ -0,0 +1,19 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ScxReflect;
+import dev.scx.reflect.TypeReference;
+
+import java.util.List;
+import java.util.Map;
+
+import static dev.scx.reflect.test.Benchmarks.sink;
+
+/// 在热路径中反复创建匿名 TypeReference 并解析的开销.
+public class TypeReferenceBenchmark {
+
+    public static void main(String[] args) {
+        Benchmarks.run("new TypeReference<...>() {}", 5_000_000, i -> sink = new TypeReference<Map<String, List<Integer>>>() {});
+        Benchmarks.run("ScxReflect.typeOf(new TypeReference<...>() {})", 5_000_000, i -> sink = ScxReflect.typeOf(new TypeReference<Map<String, List<Integer>>>() {}));
+    }
+
+}
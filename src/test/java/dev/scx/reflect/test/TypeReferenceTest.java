@@ -0,0 +1,55 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ScxReflect;
+import dev.scx.reflect.TypeInfo;
+import dev.scx.reflect.TypeReference;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class TypeReferenceTest {
+
+    public static void main(String[] args) {
+        test1_same_subclass_should_share_type_and_type_info();
+        test2_different_subclasses_should_resolve_to_same_type_info();
+        test3_raw_subclass_should_fail();
+    }
+
+    @Test
+    public static void test1_same_subclass_should_share_type_and_type_info() {
+        TypeReference<?> first = null;
+        for (int i = 0; i < 3; i = i + 1) {
+            var ref = new TypeReference<Map<String, List<Integer>>>() {};
+            if (first == null) {
+                first = ref;
+            }
+            Assert.assertSame(ref.type(), first.type());
+            Assert.assertSame(ref.typeInfo(), first.typeInfo());
+            Assert.assertSame(ScxReflect.typeOf(ref), first.typeInfo());
+        }
+        Assert.assertSame(first.typeInfo(), ScxReflect.typeOf(first.type()));
+        Assert.assertEquals(first.typeInfo().toString(), "Map<String, List<Integer>>");
+    }
+
+    @Test
+    public static void test2_different_subclasses_should_resolve_to_same_type_info() {
+        TypeInfo a = new TypeReference<List<String>>() {}.typeInfo();
+        TypeInfo b = new TypeReference<List<String>>() {}.typeInfo();
+        Assert.assertSame(a, b);
+    }
+
+    @Test
+    public static void test3_raw_subclass_should_fail() {
+        Assert.assertThrows(IllegalArgumentException.class, RawTypeReference::new);
+        // 失败不会被缓存, 每次都应当抛出异常
+        Assert.assertThrows(IllegalArgumentException.class, RawTypeReference::new);
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static class RawTypeReference extends TypeReference {
+
+    }
+
+}
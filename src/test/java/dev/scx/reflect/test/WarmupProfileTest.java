@@ -0,0 +1,161 @@
+package dev.scx.reflect.test;
+
+import dev.scx.reflect.ClassInfo;
+import dev.scx.reflect.ScxReflect;
+import dev.scx.reflect.TypeReference;
+import dev.scx.reflect.WarmupProfile;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+public class WarmupProfileTest {
+
+    public static void main(String[] args) throws Exception {
+        test1_recorded_types_should_round_trip();
+        test2_replay_should_resolve_recorded_types();
+        test3_missing_types_should_be_reported();
+        test4_members_computed_before_recording_should_be_recorded();
+    }
+
+    @Test
+    public static void test1_recorded_types_should_round_trip() throws Exception {
+        ScxReflect.startWarmupRecording();
+        WarmupProfile profile;
+        try {
+            ((ClassInfo) ScxReflect.typeOf(WarmupA.class)).allFields();
+            ScxReflect.typeOf(new TypeReference<Map<String, WarmupA>[]>() {});
+            ScxReflect.typeOf(new TypeReference<WarmupOuter<WarmupA>.Inner<Integer>>() {});
+            // 隐藏类不会被记录
+            Runnable lambda = () -> {};
+            ScxReflect.typeOf(lambda.getClass());
+        } finally {
+            profile = ScxReflect.stopWarmupRecording();
+        }
+        var a = WarmupA.class.getName();
+        var outer = WarmupOuter.class.getName();
+        Assert.assertTrue(profile.typeNames().contains(a));
+        Assert.assertTrue(profile.typeNames().contains("java.util.Map<java.lang.String, " + a + ">[]"));
+        Assert.assertTrue(profile.typeNames().contains(outer + "<" + a + ">.Inner<java.lang.Integer>"));
+        for (var name : profile.typeNames()) {
+            Assert.assertFalse(name.contains("$$Lambda"), name);
+        }
+
+        var file = Files.createTempFile("warmup", ".txt");
+        try {
+            profile.write(file);
+            var lines = Files.readAllLines(file);
+            Assert.assertTrue(lines.contains(a + "\tsifF"), lines.toString());
+            var read = WarmupProfile.read(file);
+            Assert.assertEquals(read.typeNames(), profile.typeNames());
+        } finally {
+            Files.delete(file);
+        }
+
+        // 每个名称都可以解析回同一个 TypeInfo
+        Assert.assertSame(
+            ScxReflect.parse(outer + "<" + a + ">.Inner<java.lang.Integer>", WarmupProfileTest.class.getClassLoader()),
+            ScxReflect.typeOf(new TypeReference<WarmupOuter<WarmupA>.Inner<Integer>>() {})
+        );
+    }
+
+    @Test
+    public static void test2_replay_should_resolve_recorded_types() throws Exception {
+        var classFolder = IsolatedClassLoader.testClassFolder();
+        var prefix = "dev.scx.reflect.test.p1.";
+        var names = IsolatedClassLoader.listClassNames(classFolder, prefix);
+
+        // 在一个类加载器中记录
+        var loader1 = new IsolatedClassLoader(classFolder, prefix, WarmupProfileTest.class.getClassLoader());
+        ScxReflect.startWarmupRecording();
+        WarmupProfile profile;
+        try {
+            for (var name : names) {
+                ((ClassInfo) ScxReflect.typeOf(Class.forName(name, false, loader1))).allMethods();
+            }
+        } finally {
+            profile = ScxReflect.stopWarmupRecording();
+        }
+        Assert.assertTrue(profile.size() >= names.size());
+
+        // 在另一个类加载器中重放, 模拟下一次启动
+        var loader2 = new IsolatedClassLoader(classFolder, prefix, WarmupProfileTest.class.getClassLoader());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var report = profile.replay(executor, loader2);
+            Assert.assertTrue(report.failures().isEmpty(), report.failures().toString());
+            Assert.assertEquals(report.requestedCount(), profile.size());
+            for (var name : names) {
+                var classInfo = (ClassInfo) ScxReflect.typeOf(Class.forName(name, false, loader2));
+                Assert.assertTrue(report.timings().containsKey(classInfo), name);
+            }
+        }
+    }
+
+    @Test
+    public static void test3_missing_types_should_be_reported() throws Exception {
+        var file = Files.createTempFile("warmup", ".txt");
+        try {
+            Files.write(file, List.of("# scx-reflect warmup profile v1", "com.acme.Missing\tF", WarmupA.class.getName() + "\tM"));
+            var report = WarmupProfile.read(file).replay(Runnable::run, WarmupProfileTest.class.getClassLoader());
+            Assert.assertEquals(report.failures().keySet(), Set.of("com.acme.Missing"));
+            Assert.assertTrue(report.timings().containsKey(ScxReflect.typeOf(WarmupA.class)));
+
+            Files.write(file, List.of("not a profile"));
+            Assert.assertThrows(IOException.class, () -> WarmupProfile.read(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public static void test4_members_computed_before_recording_should_be_recorded() throws Exception {
+        // 在开始记录之前计算成员
+        var classInfo = (ClassInfo) ScxReflect.typeOf(WarmupB.class);
+        classInfo.methods();
+        ScxReflect.startWarmupRecording();
+        WarmupProfile profile;
+        try {
+            classInfo.methods();
+            classInfo.fields();
+        } finally {
+            profile = ScxReflect.stopWarmupRecording();
+        }
+        var file = Files.createTempFile("warmup", ".txt");
+        try {
+            profile.write(file);
+            Assert.assertTrue(Files.readAllLines(file).contains(WarmupB.class.getName() + "\tfm"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    public static class WarmupA {
+
+        public String name;
+
+    }
+
+    public static class WarmupB {
+
+        public int value;
+
+        public void run() {
+
+        }
+
+    }
+
+    public static class WarmupOuter<T> {
+
+        public class Inner<U> {
+
+        }
+
+    }
+
+}
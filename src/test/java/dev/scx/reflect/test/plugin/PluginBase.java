@@ -0,0 +1,15 @@
+package dev.scx.reflect.test.plugin;
+
+import java.util.List;
+
+public abstract class PluginBase<T> {
+
+    public T value;
+    public List<T> values;
+    public T[] array;
+
+    public T first(List<? extends T> list) {
+        return list.get(0);
+    }
+
+}
@@ -0,0 +1,31 @@
+package dev.scx.reflect.test.plugin;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/// 插件中的实体类, 只引用 JDK 中的类型, 以便可以单独通过一个只以 platform 类加载器为父的类加载器加载.
+public class PluginEntity extends PluginBase<PluginItem> implements Comparable<PluginEntity> {
+
+    public String name;
+    public List<PluginItem> items;
+    public Map<String, List<PluginEntity>> children;
+    public Optional<PluginItem>[] optionalItems;
+    public PluginItem[] itemArray;
+    public Inner<String> inner;
+
+    public List<? extends PluginItem> find(Map<String, PluginItem> filter) {
+        return null;
+    }
+
+    @Override
+    public int compareTo(PluginEntity o) {
+        return 0;
+    }
+
+    public class Inner<T> {
+        public T value;
+        public PluginEntity owner;
+    }
+
+}
@@ -0,0 +1,5 @@
+package dev.scx.reflect.test.plugin;
+
+public record PluginItem(String id, int count) {
+
+}